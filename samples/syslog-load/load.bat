@@ -0,0 +1,2 @@
+set MAINCLASS=com.jkoolcloud.tnt4j.streams.utils.SyslogLoadGenerator
+..\..\bin\tnt4j-streams.bat -protocol:tcp -host:127.0.0.1 -port:5140 -threads:4 -rate:10000 -duration:60 %*
\ No newline at end of file
@@ -0,0 +1 @@
+..\..\bin\tnt4j-streams.bat -f:tnt-data-source.xml
\ No newline at end of file
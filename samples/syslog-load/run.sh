@@ -0,0 +1,2 @@
+#! /bin/bash
+../../bin/tnt4j-streams.sh -f:tnt-data-source.xml
\ No newline at end of file
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks handoff of received Syslog events from receiver thread to parsing thread using {@link SyslogRingBuffer}
+ * with different wait strategies and blocking queue used by buffered streams. Average time of producer and consumer
+ * operations shows handoff cost per event.
+ *
+ * @version 1.0
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyslogHandoffBenchmark {
+	private static final Object EVENT = new Object();
+
+	@Param({ SyslogRingBuffer.WAIT_BUSY_SPIN, SyslogRingBuffer.WAIT_YIELD, SyslogRingBuffer.WAIT_PARK })
+	public String waitStrategy;
+
+	@Param({ "1024" })
+	public int capacity;
+
+	private SyslogRingBuffer<Object> ring;
+	private BlockingQueue<Object> queue;
+
+	@Setup
+	public void setup() {
+		ring = new SyslogRingBuffer<>(capacity, true, waitStrategy);
+		queue = new ArrayBlockingQueue<>(capacity, true);
+	}
+
+	@Benchmark
+	@Group("ring")
+	@GroupThreads(1)
+	public boolean ringOffer() {
+		return ring.offer(EVENT);
+	}
+
+	@Benchmark
+	@Group("ring")
+	@GroupThreads(1)
+	public Object ringPoll() throws InterruptedException {
+		return ring.poll(1, TimeUnit.MILLISECONDS);
+	}
+
+	@Benchmark
+	@Group("queue")
+	@GroupThreads(1)
+	public boolean queueOffer() {
+		return queue.offer(EVENT);
+	}
+
+	@Benchmark
+	@Group("queue")
+	@GroupThreads(1)
+	public Object queuePoll() throws InterruptedException {
+		return queue.poll(1, TimeUnit.MILLISECONDS);
+	}
+}
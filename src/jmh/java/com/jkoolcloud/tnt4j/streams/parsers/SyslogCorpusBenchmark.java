@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks Syslog line and event parsers throughput (messages per second) of every {@link SyslogCorpus} vendor
+ * corpus. Every benchmark operation parses next vendor corpus message in round-robin manner, so vendor specific slow
+ * parsing paths show up as lower vendor throughput.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyslogCorpusBenchmark {
+
+	@Param({ "cisco", "juniper", "f5", "rsyslog", "zos", "windows" })
+	public String vendor;
+
+	@Param({ SyslogCorpus.LINE, SyslogCorpus.EVENT })
+	public String parserType;
+
+	private AbstractSyslogParser parser;
+	private Object[] items;
+	private int next;
+
+	@Setup
+	public void setup() throws Exception {
+		List<SyslogCorpus.Sample> samples = SyslogCorpus.load(vendor);
+		// syslog4j events are parsed on construction: pre-create them, so only parser is measured
+		items = new Object[samples.size()];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = samples.get(i).toData(parserType);
+		}
+		parser = SyslogCorpus.newParser(parserType);
+	}
+
+	@Benchmark
+	public Map<String, ?> parse() {
+		Object item = items[next];
+		next = next + 1 == items.length ? 0 : next + 1;
+		return parser.getDataMap(item);
+	}
+}
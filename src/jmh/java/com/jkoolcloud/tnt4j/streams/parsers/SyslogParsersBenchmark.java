@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+import org.openjdk.jmh.annotations.*;
+
+import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+
+/**
+ * Benchmarks Syslog line and event parsers data map resolution for RFC 3164 and RFC 5424 messages. Contended
+ * benchmarks share single parser instance between several threads, the same way stream parsing threads do.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyslogParsersBenchmark {
+	static final String RFC3164_MSG = "<34>Oct 11 22:14:15 mymachine su[4123]: 'su root' failed for lonvick on /dev/pts/8 user=lonvick tty=pts/8"; // NON-NLS
+	static final String RFC5424_MSG = "<194>1 2018-05-07T14:36:54.199084Z SVSCPLEX-S0W1 CICSTS51 STC03822 HASP893 [zXpert@1796 SYSID=\"S0W1\" TYPE=\"CONSOLE\" SUBTYPE=\"JES2\" RESOURCE=\"HASP893\" MSG_DATE=\"18122\" MSG_TIME=\"14.35.16\" SEQID=\"55\" SEQNO=\"00015547\" ASIDX=\"001E\" MSGTYPE=\"WTO\"]    $HASP893 VOLUME(VPSPOL) STATUS=ACTIVE,PERCENT=100"; // NON-NLS
+
+	@Param({ "RFC3164", "RFC5424" })
+	public String format;
+
+	@Param({ "0", "-1" })
+	public String suppressLevel;
+
+	private String line;
+	private SyslogServerEventIF event;
+	private ActivitySyslogLineParser lineParser;
+	private ActivitySyslogEventParser eventParser;
+
+	@Setup
+	public void setup() throws Exception {
+		InetAddress address = InetAddress.getLoopbackAddress();
+		if ("RFC5424".equals(format)) {
+			line = RFC5424_MSG;
+			event = new StructuredSyslogServerEvent(line, address);
+		} else {
+			line = RFC3164_MSG;
+			byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+			event = new SyslogServerEvent(bytes, bytes.length, address);
+		}
+
+		Map<String, String> props = Collections.singletonMap(SyslogParserProperties.PROP_SUPPRESS_LEVEL,
+				suppressLevel);
+		lineParser = new ActivitySyslogLineParser();
+		lineParser.setProperties(props.entrySet());
+		eventParser = new ActivitySyslogEventParser();
+		eventParser.setProperties(props.entrySet());
+	}
+
+	@Benchmark
+	public Map<String, ?> lineParser() {
+		return lineParser.getDataMap(line);
+	}
+
+	@Benchmark
+	public Map<String, ?> eventParser() {
+		return eventParser.getDataMap(event);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Map<String, ?> lineParserContended() {
+		return lineParser.getDataMap(line);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Map<String, ?> eventParserContended() {
+		return eventParser.getDataMap(event);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+
+/**
+ * Benchmarks {@link AbstractSyslogParser#suppress(Map)} with suppression disabled and enabled, for both repeating and
+ * distinct messages, on single and several contending threads.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyslogSuppressBenchmark {
+
+	@Param({ "0", "-1", "10" })
+	public String suppressLevel;
+
+	@Param({ "1", "1000" })
+	public int distinctMessages;
+
+	private AbstractSyslogParser parser;
+	private Map<String, Object>[] dataMaps;
+
+	@Setup
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void setup() {
+		ActivitySyslogLineParser mapsParser = new ActivitySyslogLineParser();
+		dataMaps = new Map[distinctMessages];
+		for (int i = 0; i < distinctMessages; i++) {
+			dataMaps[i] = mapsParser.getDataMap(SyslogParsersBenchmark.RFC3164_MSG.replace("4123", String.valueOf(i)));
+		}
+
+		parser = new ActivitySyslogLineParser();
+		parser.setProperties(Collections.singletonMap(SyslogParserProperties.PROP_SUPPRESS_LEVEL, suppressLevel)
+				.entrySet());
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int idx;
+	}
+
+	@Benchmark
+	public Map<String, Object> suppress(Cursor cursor) {
+		return parser.suppress(dataMaps[cursor.idx++ % dataMaps.length]);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Map<String, Object> suppressContended(Cursor cursor) {
+		return parser.suppress(dataMaps[cursor.idx++ % dataMaps.length]);
+	}
+}
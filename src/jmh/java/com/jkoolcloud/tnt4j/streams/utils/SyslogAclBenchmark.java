@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks {@link SyslogAcl} sender address check and underlying {@link CidrTrie} longest range lookup for ACLs of
+ * different size. Average time shows per message cost of senders ACL in stream receiver thread.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyslogAclBenchmark {
+	private static final int ADDRESSES = 1024;
+
+	@Param({ "16", "1024" })
+	public int rules;
+
+	private Path file;
+	private SyslogAcl acl;
+	private CidrTrie<Boolean> trie;
+	private InetAddress[] addresses;
+	private int[] addressValues;
+	private int next;
+
+	@Setup
+	public void setup() throws Exception {
+		Random rnd = new Random(42);
+		List<String> lines = new ArrayList<>(rules);
+		trie = new CidrTrie<>();
+		for (int i = 0; i < rules; i++) {
+			int prefix = 8 + rnd.nextInt(25);
+			String range = (10 + rnd.nextInt(4)) + "." + rnd.nextInt(256) + "." + rnd.nextInt(256) + "." // NON-NLS
+					+ rnd.nextInt(256) + "/" + prefix; // NON-NLS
+			boolean allow = rnd.nextBoolean();
+			lines.add((allow ? SyslogAcl.ALLOW : SyslogAcl.DENY) + " " + range); // NON-NLS
+			trie.put(range, allow);
+		}
+		file = Files.createTempFile("syslog", ".acl"); // NON-NLS
+		Files.write(file, lines);
+		acl = new SyslogAcl(file.toString(), SyslogAcl.DENY);
+		acl.reload();
+
+		addresses = new InetAddress[ADDRESSES];
+		addressValues = new int[ADDRESSES];
+		for (int i = 0; i < ADDRESSES; i++) {
+			byte[] bytes = { (byte) (10 + rnd.nextInt(4)), (byte) rnd.nextInt(256), (byte) rnd.nextInt(256),
+					(byte) rnd.nextInt(256) };
+			addresses[i] = InetAddress.getByAddress(bytes);
+			addressValues[i] = (int) CidrTrie.parseIPv4(addresses[i].getHostAddress());
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public boolean aclAccept() {
+		next = (next + 1) & (ADDRESSES - 1);
+		return acl.accept(addresses[next]);
+	}
+
+	@Benchmark
+	public Boolean trieGet() {
+		next = (next + 1) & (ADDRESSES - 1);
+		return trie.get(addressValues[next]);
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks Syslog message variables resolution for messages with no, few and many variables.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyslogUtilsBenchmark {
+
+	@Param({ "none", "few", "many" })
+	public String variables;
+
+	private String message;
+
+	@Setup
+	public void setup() {
+		switch (variables) {
+		case "none":
+			message = "Connection closed by authenticating user root 10.0.0.1 port 52144 [preauth]"; // NON-NLS
+			break;
+		case "few":
+			message = "'su root' failed for lonvick on /dev/pts/8 user=lonvick tty=pts/8"; // NON-NLS
+			break;
+		default:
+			message = "$HASP603 RDR1 UNIT=000A,STATUS=DRAINED,AUTH=(DEVICE=YES, JOB=YES,SYSTEM=YES),CLASS=A,HOLD=NO,MSGCLASS=A, PRIOINC=1,PRIOLIM=15,PRTDEST=LOCAL,PUNDEST=LOCAL, SYSAFF=(ANY),TRACE=NO,XEQDEST=LOCAL ccc(yyy_) rerer=\"rerere\""; // NON-NLS
+		}
+	}
+
+	@Benchmark
+	public Map<String, Object> parseVariables() {
+		return SyslogUtils.parseVariables(message);
+	}
+
+	@Benchmark
+	public Map<String, Object> extractVariables() {
+		return SyslogUtils.extractVariables(message, new HashMap<>(16));
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Map<String, Object> parseVariablesContended() {
+		return SyslogUtils.parseVariables(message);
+	}
+}
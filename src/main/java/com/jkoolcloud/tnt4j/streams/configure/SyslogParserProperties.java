@@ -54,4 +54,79 @@ public interface SyslogParserProperties extends ParserProperties {
 	 * Constant for name of built-in parser {@value} property.
 	 */
 	String PROP_FLATTEN_STRUCTURED_DATA = "FlattenStructuredData"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_ELAPSED_TIME_CACHE_SIZE = "ElapsedTimeCacheSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_SOURCE_STATISTICS = "SourceStatistics"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_SOURCE_STATISTICS_MAX_SOURCES = "SourceStatisticsMaxSources"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_SOURCE_STATISTICS_TOP_COUNT = "SourceStatisticsTopCount"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_SOURCE_STATISTICS_DUMP_INTERVAL = "SourceStatisticsDumpInterval"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_PRE_FILTER = "PreFilter"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_SAMPLING_RATES = "SamplingRates"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_SAMPLING_MODE = "SamplingMode"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_RESOLVE_HOST_NAMES = "ResolveHostNames"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_HOST_NAMES_CACHE_SIZE = "HostNamesCacheSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_HOST_NAMES_TTL = "HostNamesTTL"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_HOST_NAMES_NEGATIVE_TTL = "HostNamesNegativeTTL"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_HOST_NAMES_RESOLVER_THREADS = "HostNamesResolverThreads"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_ASSET_FILE = "AssetFile"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in parser {@value} property.
+	 */
+	String PROP_ASSET_RELOAD_INTERVAL = "AssetReloadInterval"; // NON-NLS
 }
@@ -44,4 +44,169 @@ public interface SyslogStreamProperties extends StreamProperties {
 	 * Constant for name of built-in stream {@value} property.
 	 */
 	String PROP_LEVEL = "Level"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_READ_MODE = "ReadMode"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_PARALLELISM = "Parallelism"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_CHUNK_SIZE = "ChunkSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_PRESERVE_ORDER = "PreserveOrder"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_PROGRESS_INTERVAL = "ProgressReportInterval"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_COMPRESSION = "Compression"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_READ_AHEAD_BUFFER_SIZE = "ReadAheadBufferSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_READ_AHEAD_BUFFERS = "ReadAheadBuffers"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_REPLAY_SPEED = "ReplaySpeed"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_FOLLOW = "Follow"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_FOLLOW_POLL_INTERVAL = "FollowPollInterval"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_OFFSET_FILE = "OffsetFile"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_CHECKPOINT_INTERVAL = "CheckpointInterval"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_MAX_FIELD_SIZE = "MaxFieldSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_FILE_PARALLELISM = "FileParallelism"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_LATENCY_TRACKING = "LatencyTracking"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_LATENCY_REPORT_INTERVAL = "LatencyReportInterval"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_MONITORING_INTERVAL = "MonitoringInterval"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_PRE_FILTER = "PreFilter"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ROUTES = "Routes"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ROUTE_WORKERS = "RouteWorkers"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ROUTE_BUFFER_SIZE = "RouteBufferSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_PRIORITY_BUFFER = "PriorityBuffer"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_EXPRESS_SEVERITY = "ExpressSeverity"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_EXPRESS_BUFFER_SIZE = "ExpressBufferSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_EXPRESS_BURST = "ExpressBurst"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_OFF_HEAP_BUFFER_BYTES = "OffHeapBufferBytes"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_OFF_HEAP_SLAB_SIZE = "OffHeapSlabSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_RING_BUFFER_SIZE = "RingBufferSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_RING_BUFFER_WAIT_STRATEGY = "RingBufferWaitStrategy"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ACL_FILE = "AclFile"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ACL_DEFAULT_ACTION = "AclDefaultAction"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ACL_RELOAD_INTERVAL = "AclReloadInterval"; // NON-NLS
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+
+/**
+ * Reads Syslog file by memory mapping it and splitting into newline aligned chunks. Chunks are decoded and resolved
+ * into {@link SyslogFileRecord}s in parallel using {@link ForkJoinPool}, while resolved records are passed to handler
+ * sequentially from calling thread. Lines are decoded directly from mapped file region, without copying chunk bytes
+ * to heap.
+ * <p>
+ * Only lines splitting, decoding and records resolution is parallelized: records handling (e.g. sending them over
+ * Syslog client) is done by single calling thread, so overall throughput is bound by handler.
+ * <p>
+ * When order preservation is enabled, chunks records are passed to handler in same order as chunks appear in file.
+ * Otherwise, chunks records are passed in chunks processing completion order, but order of records within single
+ * chunk is always preserved.
+ * <p>
+ * To bound memory usage, there are no more than {@code 2 * parallelism} chunks being processed at any time.
+ *
+ * @version $Revision: 1 $
+ */
+public class MappedSyslogFileReader {
+	/**
+	 * Constant for default chunk size in bytes - 4MB.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private static final int LINE_END_SCAN_SIZE = 8 * 1024;
+
+	private final Path file;
+	private final Charset charset;
+	private final int chunkSize;
+	private final int parallelism;
+	private final boolean preserveOrder;
+
+	/**
+	 * Constructs a new MappedSyslogFileReader.
+	 *
+	 * @param file
+	 *            path of file to read
+	 * @param charset
+	 *            file contents charset
+	 * @param chunkSize
+	 *            approximate size of single file chunk in bytes
+	 * @param parallelism
+	 *            number of threads used to process file chunks
+	 * @param preserveOrder
+	 *            flag indicating whether records shall be passed to handler in same order as found in file
+	 */
+	public MappedSyslogFileReader(Path file, Charset charset, int chunkSize, int parallelism, boolean preserveOrder) {
+		this.file = file;
+		this.charset = charset;
+		this.chunkSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+		this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+		this.preserveOrder = preserveOrder;
+	}
+
+	/**
+	 * Reads file and passes resolved records to provided handler.
+	 *
+	 * @param handler
+	 *            records handler
+	 * @param progress
+	 *            file processing progress tracker, can be {@code null}
+	 * @return number of read records
+	 *
+	 * @throws Exception
+	 *             if file reading, chunk processing or records handling fails
+	 */
+	public long read(SyslogFileRecord.Handler handler, SyslogFileProgress progress) throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		long recordsCount = 0;
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			int maxInFlight = parallelism * 2;
+			Deque<Future<Chunk>> inFlight = new ArrayDeque<>(maxInFlight);
+			BlockingQueue<Future<Chunk>> completed = new LinkedBlockingQueue<>();
+			CompletionService<Chunk> completionService = new ExecutorCompletionService<>(pool, completed);
+
+			long start = 0;
+			while (start < size || !inFlight.isEmpty()) {
+				if (start < size && inFlight.size() < maxInFlight) {
+					long end = findLineEnd(channel, Math.min(start + chunkSize, size), size);
+					ChunkTask task = new ChunkTask(channel, start, end);
+					inFlight.add(preserveOrder ? pool.submit(task) : completionService.submit(task));
+					start = end;
+					continue;
+				}
+
+				Future<Chunk> next;
+				if (preserveOrder) {
+					next = inFlight.poll();
+				} else {
+					next = completionService.take();
+					inFlight.remove(next);
+				}
+
+				Chunk chunk = getChunk(next);
+				for (SyslogFileRecord record : chunk.records) {
+					handler.handle(record);
+				}
+				recordsCount += chunk.records.size();
+
+				if (progress != null) {
+					progress.update(chunk.length, chunk.records.size());
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return recordsCount;
+	}
+
+	private static Chunk getChunk(Future<Chunk> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException exc) {
+			Throwable cause = exc.getCause();
+			throw cause instanceof Exception ? (Exception) cause : exc;
+		}
+	}
+
+	/**
+	 * Finds position right after first new line character found starting from provided position.
+	 *
+	 * @param channel
+	 *            file channel
+	 * @param from
+	 *            position to start search
+	 * @param size
+	 *            file size
+	 * @return position after line end, or file size if there is no new line characters till end of file
+	 *
+	 * @throws IOException
+	 *             if file reading fails
+	 */
+	static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(LINE_END_SCAN_SIZE);
+		long pos = from;
+		while (pos < size) {
+			buffer.clear();
+			int read = channel.read(buffer, pos);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == SyslogStreamConstants.NL) {
+					return pos + i + 1;
+				}
+			}
+			pos += read;
+		}
+
+		return size;
+	}
+
+	private class ChunkTask implements Callable<Chunk> {
+		private final FileChannel channel;
+		private final long start;
+		private final long end;
+
+		ChunkTask(FileChannel channel, long start, long end) {
+			this.channel = channel;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Chunk call() throws Exception {
+			int length = (int) (end - start);
+			MappedByteBuffer mbb = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+			ByteBuffer line = mbb.duplicate();
+			CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+			List<SyslogFileRecord> records = new ArrayList<>();
+			int lineStart = 0;
+			for (int i = 0; i <= length; i++) {
+				if (i == length || mbb.get(i) == SyslogStreamConstants.NL) {
+					int lineEnd = i;
+					if (lineEnd > lineStart && mbb.get(lineEnd - 1) == SyslogStreamConstants.RC) {
+						lineEnd--;
+					}
+					if (lineEnd > lineStart) {
+						line.limit(lineEnd).position(lineStart);
+						records.add(SyslogFileRecord.parse(decoder.decode(line).toString()));
+					}
+					lineStart = i + 1;
+				}
+			}
+
+			return new Chunk(length, records);
+		}
+	}
+
+	private static class Chunk {
+		private final long length;
+		private final List<SyslogFileRecord> records;
+
+		Chunk(long length, List<SyslogFileRecord> records) {
+			this.length = length;
+			this.records = records;
+		}
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.streams.utils.ReadAheadInputStream;
+
+/**
+ * Opens Syslog files for reading, transparently decompressing compressed files, and expands files glob patterns.
+ * <p>
+ * Supported compression types:
+ * <ul>
+ * <li>{@value #COMPRESSION_GZIP} - GZIP compressed file. Files having multiple concatenated GZIP members (e.g.
+ * concatenated rotations) are read as single stream</li>
+ * <li>{@value #COMPRESSION_ZIP} - ZIP archive, all archive entries are read one after another</li>
+ * <li>{@value #COMPRESSION_DEFLATE} - ZLIB (deflate) compressed file</li>
+ * <li>{@value #COMPRESSION_NONE} - uncompressed file</li>
+ * <li>{@value #COMPRESSION_AUTO} - compression type is detected by file header (GZIP and ZIP) or file extension
+ * ({@code .deflate} and {@code .zz})</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ */
+public final class SyslogFileInputs {
+	/**
+	 * Constant for automatically detected compression type.
+	 */
+	public static final String COMPRESSION_AUTO = "auto"; // NON-NLS
+	/**
+	 * Constant for uncompressed file.
+	 */
+	public static final String COMPRESSION_NONE = "none"; // NON-NLS
+	/**
+	 * Constant for GZIP compression type.
+	 */
+	public static final String COMPRESSION_GZIP = "gzip"; // NON-NLS
+	/**
+	 * Constant for ZIP compression type.
+	 */
+	public static final String COMPRESSION_ZIP = "zip"; // NON-NLS
+	/**
+	 * Constant for ZLIB (deflate) compression type.
+	 */
+	public static final String COMPRESSION_DEFLATE = "deflate"; // NON-NLS
+
+	private static final int FILE_BUFFER_SIZE = 64 * 1024;
+	private static final char[] GLOB_CHARS = { '*', '?', '[', '{' };
+
+	private SyslogFileInputs() {
+	}
+
+	/**
+	 * Checks whether provided compression type name is supported.
+	 *
+	 * @param compression
+	 *            compression type name
+	 * @return {@code true} if compression type is supported, {@code false} - otherwise
+	 */
+	public static boolean isSupported(String compression) {
+		return COMPRESSION_AUTO.equalsIgnoreCase(compression) || COMPRESSION_NONE.equalsIgnoreCase(compression)
+				|| COMPRESSION_GZIP.equalsIgnoreCase(compression) || COMPRESSION_ZIP.equalsIgnoreCase(compression)
+				|| COMPRESSION_DEFLATE.equalsIgnoreCase(compression);
+	}
+
+	/**
+	 * Resolves actual file compression type. If provided compression type is {@value #COMPRESSION_AUTO}, then type is
+	 * detected from file header or file extension.
+	 *
+	 * @param file
+	 *            file path
+	 * @param compression
+	 *            configured compression type
+	 * @return resolved compression type
+	 *
+	 * @throws IOException
+	 *             if file header can't be read
+	 */
+	public static String resolveCompression(Path file, String compression) throws IOException {
+		if (!COMPRESSION_AUTO.equalsIgnoreCase(compression)) {
+			return compression.toLowerCase();
+		}
+
+		byte[] header = new byte[4];
+		int n;
+		try (InputStream is = Files.newInputStream(file)) {
+			n = is.readNBytes(header, 0, header.length);
+		}
+		if (n >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+			return COMPRESSION_GZIP;
+		}
+		if (n >= 4 && header[0] == 'P' && header[1] == 'K' && header[2] == 3 && header[3] == 4) {
+			return COMPRESSION_ZIP;
+		}
+		String name = file.getFileName().toString().toLowerCase();
+		if (name.endsWith(".deflate") || name.endsWith(".zz")) { // NON-NLS
+			return COMPRESSION_DEFLATE;
+		}
+
+		return COMPRESSION_NONE;
+	}
+
+	/**
+	 * Opens file input stream, decompressing file contents if file is compressed. If {@code readAheadBuffers} is
+	 * positive, file is read and decompressed by dedicated thread ahead of stream consumer.
+	 *
+	 * @param file
+	 *            file path
+	 * @param compression
+	 *            compression type
+	 * @param readAheadBufferSize
+	 *            size of single read ahead buffer in bytes
+	 * @param readAheadBuffers
+	 *            number of read ahead buffers, {@code 0} disables read ahead
+	 * @return file input stream
+	 *
+	 * @throws IOException
+	 *             if file can't be opened
+	 */
+	public static InputStream open(Path file, String compression, int readAheadBufferSize, int readAheadBuffers)
+			throws IOException {
+		String type = resolveCompression(file, compression);
+		InputStream is = new BufferedInputStream(Files.newInputStream(file), FILE_BUFFER_SIZE);
+
+		try {
+			if (COMPRESSION_GZIP.equals(type)) {
+				is = new GZIPInputStream(is, FILE_BUFFER_SIZE);
+			} else if (COMPRESSION_ZIP.equals(type)) {
+				is = new ZipEntriesInputStream(new ZipInputStream(is));
+			} else if (COMPRESSION_DEFLATE.equals(type)) {
+				is = new InflaterInputStream(is);
+			}
+		} catch (IOException exc) {
+			is.close();
+			throw exc;
+		}
+
+		if (readAheadBuffers > 0) {
+			is = new ReadAheadInputStream(is, readAheadBufferSize, readAheadBuffers);
+		}
+
+		return is;
+	}
+
+	/**
+	 * Checks whether provided file name is a glob pattern, e.g. {@code /logs/*}{@code /syslog*}.
+	 *
+	 * @param fileName
+	 *            file name to check
+	 * @return {@code true} if file name contains glob pattern special characters, {@code false} - otherwise
+	 */
+	public static boolean isGlob(String fileName) {
+		return StringUtils.containsAny(fileName, GLOB_CHARS);
+	}
+
+	/**
+	 * Expands glob pattern into list of matching regular files. Only the directory tree under the longest pattern
+	 * prefix not containing glob special characters is walked, and walk depth is limited to pattern path depth, unless
+	 * pattern contains {@code **}.
+	 *
+	 * @param pattern
+	 *            files glob pattern
+	 * @return sorted list of matching files
+	 *
+	 * @throws IOException
+	 *             if files tree walk fails
+	 */
+	public static List<Path> expandGlob(String pattern) throws IOException {
+		String normalized = pattern.replace('\\', '/');
+		String[] segments = normalized.split("/", -1);
+		int globIdx = 0;
+		while (globIdx < segments.length && !isGlob(segments[globIdx])) {
+			globIdx++;
+		}
+
+		String baseStr = String.join("/", Arrays.copyOfRange(segments, 0, globIdx)); // NON-NLS
+		if (baseStr.isEmpty()) {
+			baseStr = normalized.startsWith("/") ? "/" : "."; // NON-NLS
+		}
+		Path base = Paths.get(baseStr).toAbsolutePath().normalize();
+		String rest = String.join("/", Arrays.copyOfRange(segments, globIdx, segments.length)); // NON-NLS
+		int maxDepth = rest.contains("**") ? Integer.MAX_VALUE : segments.length - globIdx; // NON-NLS
+
+		String basePattern = base.toString().replace('\\', '/');
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" // NON-NLS
+				+ (basePattern.endsWith("/") ? basePattern : basePattern + "/") + rest); // NON-NLS
+
+		List<Path> files = new ArrayList<>();
+		if (!Files.isDirectory(base)) {
+			return files;
+		}
+		Files.walkFileTree(base, EnumSet.of(FileVisitOption.FOLLOW_LINKS), maxDepth, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (attrs.isRegularFile() && matcher.matches(file)) {
+					files.add(file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException exc) {
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		Collections.sort(files);
+
+		return files;
+	}
+
+	/**
+	 * Reads all ZIP archive file entries one after another as single stream.
+	 */
+	private static class ZipEntriesInputStream extends InputStream {
+		private final ZipInputStream zis;
+		private boolean inEntry;
+
+		ZipEntriesInputStream(ZipInputStream zis) {
+			this.zis = zis;
+		}
+
+		private boolean nextEntry() throws IOException {
+			ZipEntry entry;
+			while ((entry = zis.getNextEntry()) != null) {
+				if (!entry.isDirectory()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			int n = read(b, 0, 1);
+			return n < 0 ? -1 : b[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			while (true) {
+				if (!inEntry) {
+					if (!nextEntry()) {
+						return -1;
+					}
+					inEntry = true;
+				}
+				int n = zis.read(b, off, len);
+				if (n >= 0) {
+					return n;
+				}
+				inEntry = false;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			zis.close();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.concurrent.TimeUnit;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+
+/**
+ * Tracks and periodically logs Syslog file processing progress: processed bytes count and processing rate in bytes per
+ * second.
+ * <p>
+ * Progress updates are expected to be made by single thread.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogFileProgress {
+	private static final double MB = 1024.0 * 1024.0;
+
+	private final EventSink logger;
+	private final String fileName;
+	private final long totalBytes;
+	private final long reportIntervalNanos;
+
+	private final long startTime;
+	private long lastReportTime;
+	private long lastReportBytes;
+	private long bytes;
+	private long records;
+
+	/**
+	 * Constructs a new SyslogFileProgress.
+	 *
+	 * @param logger
+	 *            logger used to report progress
+	 * @param fileName
+	 *            processed file name
+	 * @param totalBytes
+	 *            total file size in bytes, or {@code -1} if unknown
+	 * @param reportInterval
+	 *            progress reporting interval in seconds, {@code 0} or negative value disables reporting
+	 */
+	public SyslogFileProgress(EventSink logger, String fileName, long totalBytes, long reportInterval) {
+		this.logger = logger;
+		this.fileName = fileName;
+		this.totalBytes = totalBytes;
+		this.reportIntervalNanos = TimeUnit.SECONDS.toNanos(reportInterval);
+
+		this.startTime = System.nanoTime();
+		this.lastReportTime = startTime;
+	}
+
+	/**
+	 * Adds processed bytes and records counts. Logs progress if reporting interval has elapsed since last report.
+	 *
+	 * @param bytesCount
+	 *            processed bytes count
+	 * @param recordsCount
+	 *            processed records count
+	 */
+	public void update(long bytesCount, long recordsCount) {
+		bytes += bytesCount;
+		records += recordsCount;
+
+		if (reportIntervalNanos > 0) {
+			long now = System.nanoTime();
+			if (now - lastReportTime >= reportIntervalNanos) {
+				double rate = rate(bytes - lastReportBytes, now - lastReportTime);
+				lastReportTime = now;
+				lastReportBytes = bytes;
+
+				logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+						"SyslogdFileStream.file.progress", fileName, bytes, totalBytes < 0 ? "?" : totalBytes,
+						percent(), records, String.format("%.2f", rate / MB)); // NON-NLS
+			}
+		}
+	}
+
+	/**
+	 * Logs file processing completion summary.
+	 */
+	public void complete() {
+		long elapsed = System.nanoTime() - startTime;
+
+		logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdFileStream.file.complete", fileName, bytes, records, TimeUnit.NANOSECONDS.toMillis(elapsed),
+				String.format("%.2f", rate(bytes, elapsed) / MB)); // NON-NLS
+	}
+
+	/**
+	 * Returns processed bytes count.
+	 *
+	 * @return processed bytes count
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Returns processed records count.
+	 *
+	 * @return processed records count
+	 */
+	public long getRecords() {
+		return records;
+	}
+
+	private String percent() {
+		return totalBytes <= 0 ? "?" : String.format("%.1f", bytes * 100.0 / totalBytes); // NON-NLS
+	}
+
+	private static double rate(long bytesCount, long nanos) {
+		return nanos <= 0 ? 0 : bytesCount * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.jkoolcloud.tnt4j.streams.utils.JsonFieldsReader;
+
+/**
+ * Syslog file entry prepared to be sent to Syslog server. Entry is either a plain Syslog log line, or set of fields
+ * resolved from JSON formatted line.
+ * <p>
+ * Resolving entry fields is done once, when entry is read from file, so it can be performed in parallel with other
+ * entries while sending remains sequential. JSON lines are read in single pass picking only used fields, without
+ * building JSON document tree.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogFileRecord {
+	private final String line;
+	private final boolean json;
+
+	private long offsetUsec = -1;
+	private String facility;
+	private String level;
+	private String message;
+	private String appl;
+	private String pid;
+
+	private SyslogFileRecord(String line, boolean json) {
+		this.line = line;
+		this.json = json;
+	}
+
+	/**
+	 * Resolves Syslog file entry from provided file line. Lines starting with <code>{</code> are treated as JSON
+	 * formatted entries.
+	 *
+	 * @param line
+	 *            Syslog file line
+	 * @return Syslog file entry instance
+	 *
+	 * @throws IllegalArgumentException
+	 *             if JSON formatted line is malformed
+	 */
+	public static SyslogFileRecord parse(String line) {
+		if (!line.startsWith("{")) {
+			return new SyslogFileRecord(line, false);
+		}
+
+		SyslogFileRecord record = new SyslogFileRecord(line, true);
+		JsonFieldsReader.read(line, record::setField);
+
+		return record;
+	}
+
+	private void setField(String key, String value) {
+		switch (key) {
+		case "offset.usec": // NON-NLS
+			// fractional offsets are truncated, non numeric ones are treated as undefined
+			offsetUsec = (long) NumberUtils.toDouble(value, -1);
+			break;
+		case "facility": // NON-NLS
+			facility = value;
+			break;
+		case "level": // NON-NLS
+			level = value;
+			break;
+		case "msg": // NON-NLS
+			message = value;
+			break;
+		case "appl": // NON-NLS
+			appl = value;
+			break;
+		case "pid": // NON-NLS
+			pid = value;
+			break;
+		default:
+		}
+	}
+
+	/**
+	 * Returns original file line this entry was resolved from.
+	 *
+	 * @return original file line
+	 */
+	public String getLine() {
+		return line;
+	}
+
+	/**
+	 * Checks whether this entry was resolved from JSON formatted line.
+	 *
+	 * @return {@code true} if entry was resolved from JSON formatted line, {@code false} - otherwise
+	 */
+	public boolean isJson() {
+		return json;
+	}
+
+	/**
+	 * Returns JSON entry defined {@code "offset.usec"} value.
+	 *
+	 * @return JSON entry offset in microseconds, or {@code -1} if entry is not JSON or offset is undefined or not
+	 *         numeric
+	 */
+	public long getOffsetUsec() {
+		return offsetUsec;
+	}
+
+	/**
+	 * Returns JSON entry defined Syslog facility name.
+	 *
+	 * @return JSON entry facility name
+	 */
+	public String getFacility() {
+		return facility;
+	}
+
+	/**
+	 * Returns JSON entry defined Syslog level name.
+	 *
+	 * @return JSON entry level name
+	 */
+	public String getLevel() {
+		return level;
+	}
+
+	/**
+	 * Returns JSON entry defined Syslog message.
+	 *
+	 * @return JSON entry message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Returns JSON entry defined application name.
+	 *
+	 * @return JSON entry application name
+	 */
+	public String getAppl() {
+		return appl;
+	}
+
+	/**
+	 * Returns JSON entry defined process identifier.
+	 *
+	 * @return JSON entry process identifier
+	 */
+	public String getPid() {
+		return pid;
+	}
+
+	/**
+	 * Handler of Syslog file entries read from file.
+	 */
+	public interface Handler {
+		/**
+		 * Handles Syslog file entry.
+		 *
+		 * @param record
+		 *            Syslog file entry
+		 * @throws Exception
+		 *             if entry handling fails
+		 */
+		void handle(SyslogFileRecord record) throws Exception;
+	}
+}
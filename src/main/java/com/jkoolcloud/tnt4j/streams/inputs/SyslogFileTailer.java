@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Follows (tails) growing Syslog file and passes appended lines to records handler.
+ * <p>
+ * File changes are awaited using {@link WatchService} on file parent directory. Since watch events may be delayed or
+ * not available at all (e.g. on network file systems), file is also polled every poll interval.
+ * <p>
+ * File rotation is detected by file key (inode) change: rest of rotated file is read to the end and then new file is
+ * followed from the beginning, so no lines written before rotation are lost. File truncation (e.g. {@code copytruncate}
+ * rotation) is detected by file size dropping below read offset, and then file is followed from the beginning.
+ * <p>
+ * File is read using large NIO buffer, so single read covers many lines. Line exceeding buffer size is split into
+ * several buffer sized lines.
+ * <p>
+ * If offset file is defined, file key and offset of last handled line are periodically checkpointed to it, so
+ * restarted tailer continues from last checkpointed offset instead of rereading file. Checkpoint is written to
+ * temporary file and then atomically moved to offset file, so crash never leaves corrupted checkpoint.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogFileTailer {
+	private final EventSink logger;
+	private final Path file;
+	private final Charset charset;
+	private final ByteBuffer buffer;
+	private final byte[] lineBytes;
+	private final long pollIntervalMs;
+	private final Path offsetFile;
+	private final long checkpointIntervalMs;
+
+	private FileChannel channel;
+	private Object fileKey;
+	private long offset;
+	private long lastCheckpointTime;
+	private long checkpointedOffset = -1;
+
+	/**
+	 * Constructs a new SyslogFileTailer.
+	 *
+	 * @param logger
+	 *            logger used to report tailing state changes
+	 * @param file
+	 *            Syslog file path
+	 * @param charset
+	 *            file charset
+	 * @param bufferSize
+	 *            file read buffer size in bytes
+	 * @param pollIntervalMs
+	 *            file changes polling interval in milliseconds
+	 * @param offsetFile
+	 *            file to checkpoint read offset, {@code null} disables checkpointing
+	 * @param checkpointIntervalMs
+	 *            read offset checkpointing interval in milliseconds
+	 */
+	public SyslogFileTailer(EventSink logger, Path file, Charset charset, int bufferSize, long pollIntervalMs,
+			Path offsetFile, long checkpointIntervalMs) {
+		this.logger = logger;
+		this.file = file;
+		this.charset = charset;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.lineBytes = new byte[bufferSize];
+		this.pollIntervalMs = pollIntervalMs;
+		this.offsetFile = offsetFile;
+		this.checkpointIntervalMs = checkpointIntervalMs;
+	}
+
+	/**
+	 * Follows file until provided halt condition is met. Every file line is passed to provided handler.
+	 *
+	 * @param handler
+	 *            Syslog file records handler
+	 * @param halted
+	 *            tailing halt condition
+	 *
+	 * @throws Exception
+	 *             if file reading or record handling fails
+	 */
+	public void tail(SyslogFileRecord.Handler handler, BooleanSupplier halted) throws Exception {
+		WatchService watcher = openWatcher();
+		try {
+			open(readCheckpoint());
+			while (!halted.getAsBoolean()) {
+				if (readAvailable(handler) > 0) {
+					checkpoint(false);
+					continue;
+				}
+
+				BasicFileAttributes attrs = readAttributes(file);
+				if (attrs == null || !fileKey.equals(getFileKey(attrs))) {
+					if (attrs != null) {
+						// drain rotated file: lines could be appended after last read
+						readAvailable(handler);
+						flushPartialLine(handler);
+						logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+								"SyslogdFileStream.follow.rotated", file, offset);
+						open(0);
+						continue;
+					}
+				} else if (attrs.size() < offset) {
+					logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogdFileStream.follow.truncated", file, attrs.size(), offset);
+					buffer.clear();
+					offset = 0;
+					channel.position(0);
+					continue;
+				}
+
+				checkpoint(false);
+				awaitChange(watcher);
+			}
+		} finally {
+			checkpoint(true);
+			Utils.close(channel);
+			Utils.close(watcher);
+		}
+	}
+
+	private WatchService openWatcher() {
+		Path dir = file.toAbsolutePath().getParent();
+		WatchService watcher = null;
+		try {
+			watcher = dir.getFileSystem().newWatchService();
+			dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			return watcher;
+		} catch (Exception exc) {
+			Utils.close(watcher);
+			logger.log(OpLevel.WARNING, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdFileStream.follow.watch.unavailable", dir, exc);
+			return null;
+		}
+	}
+
+	private void awaitChange(WatchService watcher) throws InterruptedException {
+		if (watcher == null) {
+			Thread.sleep(pollIntervalMs);
+			return;
+		}
+
+		WatchKey key = watcher.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+		if (key != null) {
+			// only wake up is needed: file state is checked on next loop iteration
+			key.pollEvents();
+			key.reset();
+		}
+	}
+
+	private void open(long startOffset) throws IOException, InterruptedException {
+		Utils.close(channel);
+		channel = null;
+		buffer.clear();
+
+		while (true) {
+			try {
+				channel = FileChannel.open(file, StandardOpenOption.READ);
+				break;
+			} catch (NoSuchFileException exc) {
+				// file is being rotated and new one is not created yet
+				Thread.sleep(pollIntervalMs);
+			}
+		}
+
+		fileKey = getFileKey(Files.readAttributes(file, BasicFileAttributes.class));
+		offset = startOffset <= channel.size() ? startOffset : 0;
+		channel.position(offset);
+
+		logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdFileStream.follow.start", file, fileKey, offset);
+	}
+
+	/**
+	 * Reads file until current end and passes all complete lines to handler. Incomplete trailing line remains in
+	 * buffer.
+	 *
+	 * @return number of bytes read
+	 */
+	private long readAvailable(SyslogFileRecord.Handler handler) throws Exception {
+		long total = 0;
+		int n;
+		while ((n = channel.read(buffer)) > 0) {
+			total += n;
+			buffer.flip();
+			int lineStart = 0;
+			for (int i = 0; i < buffer.limit(); i++) {
+				if (buffer.get(i) == '\n') {
+					handleLine(handler, lineStart, i);
+					lineStart = i + 1;
+				}
+			}
+			if (lineStart == 0 && buffer.limit() == buffer.capacity()) {
+				// line longer than buffer: pass it in parts
+				handleLine(handler, 0, buffer.limit());
+				lineStart = buffer.limit();
+			}
+			buffer.position(lineStart);
+			buffer.compact();
+		}
+		return total;
+	}
+
+	private void flushPartialLine(SyslogFileRecord.Handler handler) throws Exception {
+		if (buffer.position() > 0) {
+			buffer.flip();
+			handleLine(handler, 0, buffer.limit());
+			buffer.clear();
+		}
+	}
+
+	private void handleLine(SyslogFileRecord.Handler handler, int start, int end) throws Exception {
+		int length = end - start;
+		offset += end < buffer.limit() ? length + 1 : length;
+		if (length > 0 && buffer.get(end - 1) == '\r') {
+			length--;
+		}
+		if (length == 0) {
+			return;
+		}
+		buffer.position(start);
+		buffer.get(lineBytes, 0, length);
+		handler.handle(SyslogFileRecord.parse(new String(lineBytes, 0, length, charset)));
+	}
+
+	private static BasicFileAttributes readAttributes(Path file) throws IOException {
+		try {
+			return Files.readAttributes(file, BasicFileAttributes.class);
+		} catch (NoSuchFileException exc) {
+			return null;
+		}
+	}
+
+	private static Object getFileKey(BasicFileAttributes attrs) {
+		Object key = attrs.fileKey();
+		// file systems not having inodes: creation time changes when file is recreated
+		return key == null ? attrs.creationTime() : key;
+	}
+
+	private long readCheckpoint() {
+		if (offsetFile == null || !Files.exists(offsetFile)) {
+			return 0;
+		}
+		try {
+			List<String> lines = Files.readAllLines(offsetFile, StandardCharsets.UTF_8);
+			BasicFileAttributes attrs = readAttributes(file);
+			if (lines.size() >= 2 && attrs != null && lines.get(0).equals(String.valueOf(getFileKey(attrs)))) {
+				return Long.parseLong(lines.get(1).trim());
+			}
+			// checkpointed file has been rotated while stream was stopped
+			return 0;
+		} catch (Exception exc) {
+			logger.log(OpLevel.WARNING, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdFileStream.follow.checkpoint.failed", offsetFile, exc);
+			return 0;
+		}
+	}
+
+	private void checkpoint(boolean force) {
+		long now = System.currentTimeMillis();
+		if (offsetFile == null || offset == checkpointedOffset
+				|| (!force && now - lastCheckpointTime < checkpointIntervalMs)) {
+			return;
+		}
+
+		try {
+			Path tmp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp"); // NON-NLS
+			Files.write(tmp, (fileKey + "\n" + offset + "\n").getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			try {
+				Files.move(tmp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException exc) {
+				Files.move(tmp, offsetFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+			checkpointedOffset = offset;
+			lastCheckpointTime = now;
+		} catch (IOException exc) {
+			logger.log(OpLevel.WARNING, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdFileStream.follow.checkpoint.failed", offsetFile, exc);
+		}
+	}
+
+	/**
+	 * Returns offset of file bytes already passed to records handler.
+	 *
+	 * @return file read offset
+	 */
+	public long getOffset() {
+		return offset;
+	}
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static com.jkoolcloud.tnt4j.streams.fields.StreamFieldType.*;
+import static com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants.*;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.jkoolcloud.tnt4j.streams.utils.SyslogUtils;
+
+/**
+ * Reads systemd journal export format ({@code journalctl -o export}) entries and resolves them into data maps having
+ * same keys as {@link com.jkoolcloud.tnt4j.streams.parsers.ActivitySyslogLineParser} resolved data maps.
+ * <p>
+ * Export format entry is a set of fields, one field per line, and entries are separated by empty line. Text field is
+ * written as {@code NAME=value}. Binary field (containing newlines or non-printable characters) is written as field
+ * name followed by newline, 64-bit little endian value length, value bytes and newline.
+ * <p>
+ * Journal fields are mapped this way:
+ * <ul>
+ * <li>{@code PRIORITY} - 'level', 'Severity'</li>
+ * <li>{@code SYSLOG_FACILITY} - 'facility', 'EventName'</li>
+ * <li>{@code _HOSTNAME} - 'hostname', 'Location', 'ServerName'</li>
+ * <li>{@code SYSLOG_IDENTIFIER} (or {@code _COMM} if missing) - 'ApplName', 'ResourceName'</li>
+ * <li>{@code _PID} (or {@code SYSLOG_PID} if missing) - 'ProcessId', 'ThreadId'</li>
+ * <li>{@code MESSAGE} - 'Message' and 'SyslogVars' of message contained variables</li>
+ * <li>{@code __REALTIME_TIMESTAMP} - 'EndTime'</li>
+ * <li>all other fields - 'SyslogMap' sub-map named {@value #JOURNAL_STRUCT_ID}</li>
+ * </ul>
+ * <p>
+ * Entries are read in streaming manner using fixed size buffer. Field values longer than maximal field size are
+ * truncated, so reader memory use is bounded regardless of input size.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogJournalReader implements Closeable {
+	/**
+	 * Constant for default maximal journal field value size in bytes - 64KB.
+	 */
+	public static final int DEFAULT_MAX_FIELD_SIZE = 64 * 1024;
+	/**
+	 * Constant for name of 'SyslogMap' sub-map containing not mapped journal fields.
+	 */
+	public static final String JOURNAL_STRUCT_ID = "journal"; // NON-NLS
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_NAME_SIZE = 256;
+
+	private final InputStream in;
+	private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+	private final byte[] name = new byte[MAX_NAME_SIZE];
+	private final byte[] value;
+	private int pos;
+	private int limit;
+	private boolean eof;
+	private int nameTerminator;
+
+	/**
+	 * Constructs a new SyslogJournalReader.
+	 *
+	 * @param in
+	 *            journal export format input stream
+	 * @param maxFieldSize
+	 *            maximal field value size in bytes
+	 */
+	public SyslogJournalReader(InputStream in, int maxFieldSize) {
+		this.in = in;
+		this.value = new byte[maxFieldSize > 0 ? maxFieldSize : DEFAULT_MAX_FIELD_SIZE];
+	}
+
+	/**
+	 * Reads next journal entry and resolves it into data map.
+	 *
+	 * @return resolved journal entry data map, or {@code null} if end of input has been reached
+	 *
+	 * @throws IOException
+	 *             if input can't be read or is not valid journal export format
+	 */
+	public Map<String, Object> next() throws IOException {
+		Map<String, String> fields = readFields();
+		return fields == null ? null : toDataMap(fields);
+	}
+
+	/**
+	 * Reads next journal entry raw fields.
+	 *
+	 * @return journal entry fields map, or {@code null} if end of input has been reached
+	 *
+	 * @throws IOException
+	 *             if input can't be read or is not valid journal export format
+	 */
+	public Map<String, String> readFields() throws IOException {
+		Map<String, String> fields = null;
+
+		while (true) {
+			int b = read();
+			if (b < 0 || b == NL) {
+				if (fields != null || b < 0) {
+					return fields;
+				}
+				// skip redundant entry separators
+				continue;
+			}
+
+			String name = readName(b);
+			if (fields == null) {
+				fields = new HashMap<>(32);
+			}
+			if (nameTerminator == EQ) {
+				fields.put(name, readTextValue());
+			} else {
+				fields.put(name, readBinaryValue());
+			}
+		}
+	}
+
+	private String readName(int first) throws IOException {
+		int length = 0;
+		int b = first;
+		while (b != EQ && b != NL) {
+			if (b < 0) {
+				throw new EOFException();
+			}
+			if (length < name.length) {
+				name[length++] = (byte) b;
+			}
+			b = read();
+		}
+		nameTerminator = b;
+		return new String(name, 0, length, StandardCharsets.US_ASCII);
+	}
+
+	private String readTextValue() throws IOException {
+		int length = 0;
+		int b;
+		while ((b = read()) != NL && b >= 0) {
+			if (length < value.length) {
+				value[length++] = (byte) b;
+			}
+		}
+		return new String(value, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private String readBinaryValue() throws IOException {
+		long size = 0;
+		for (int i = 0; i < Long.BYTES; i++) {
+			int b = read();
+			if (b < 0) {
+				throw new EOFException();
+			}
+			size |= (long) b << (8 * i);
+		}
+		if (size < 0) {
+			throw new IOException(String.valueOf(size));
+		}
+
+		int length = 0;
+		long remaining = size;
+		while (remaining > 0) {
+			if (pos == limit && !fill()) {
+				throw new EOFException();
+			}
+			int n = (int) Math.min(limit - pos, remaining);
+			int copy = Math.min(n, value.length - length);
+			if (copy > 0) {
+				System.arraycopy(buffer, pos, value, length, copy);
+				length += copy;
+			}
+			pos += n;
+			remaining -= n;
+		}
+		read(); // value terminating newline
+
+		return new String(value, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private int read() throws IOException {
+		if (pos == limit && !fill()) {
+			return -1;
+		}
+		return buffer[pos++] & 0xFF;
+	}
+
+	private boolean fill() throws IOException {
+		if (eof) {
+			return false;
+		}
+		int n = in.read(buffer, 0, buffer.length);
+		if (n <= 0) {
+			eof = true;
+			return false;
+		}
+		pos = 0;
+		limit = n;
+		return true;
+	}
+
+	/**
+	 * Resolves journal entry fields into data map having same keys as Syslog line parser resolved data map.
+	 *
+	 * @param fields
+	 *            journal entry fields
+	 * @return resolved data map
+	 */
+	static Map<String, Object> toDataMap(Map<String, String> fields) {
+		Map<String, Object> map = new HashMap<>(24);
+
+		String levelStr = fields.remove("PRIORITY"); // NON-NLS
+		String facilityNum = fields.remove("SYSLOG_FACILITY"); // NON-NLS
+		int level = NumberUtils.toInt(levelStr, DEFAULT_LEVEL);
+		int facility = NumberUtils.toInt(facilityNum, DEFAULT_FACILITY);
+		String facilityStr = SyslogUtils.getFacilityString(facility);
+		String hostName = fields.remove("_HOSTNAME"); // NON-NLS
+		String appName = fields.remove("SYSLOG_IDENTIFIER"); // NON-NLS
+		if (appName == null) {
+			appName = fields.get("_COMM"); // NON-NLS
+		}
+		String pid = fields.remove("_PID"); // NON-NLS
+		if (pid == null) {
+			pid = fields.get("SYSLOG_PID"); // NON-NLS
+		}
+		String appMsg = fields.remove("MESSAGE"); // NON-NLS
+		long timestamp = NumberUtils.toLong(fields.get("__REALTIME_TIMESTAMP"), -1); // NON-NLS
+
+		map.put(EventName.name(), facilityStr);
+		map.put(ResourceName.name(), appName);
+		map.put(Location.name(), hostName);
+		map.put(Tag.name(), new String[] { hostName, appName });
+		map.put(FIELD_FACILITY, facilityStr);
+		map.put(Severity.name(), SyslogUtils.getOpLevel(level));
+		map.put(FIELD_LEVEL, level);
+		if (levelStr != null && facilityNum != null) {
+			map.put(FIELD_PRIORITY, facility * 8 + level);
+		}
+		SyslogUtils.assignPid(pid, map);
+		map.put(Message.name(), appMsg);
+		map.put(FIELD_HOSTNAME, hostName);
+		map.put(ApplName.name(), appName);
+		map.put(ServerName.name(), hostName);
+		if (timestamp >= 0) {
+			map.put(EndTime.name(), timestamp);
+		}
+		if (!fields.isEmpty()) {
+			Map<String, Object> journalMap = new HashMap<>(fields);
+			Map<String, Map<String, Object>> structuredData = new HashMap<>(2);
+			structuredData.put(JOURNAL_STRUCT_ID, journalMap);
+			map.put(FIELD_SYSLOG_MAP, structuredData);
+		}
+
+		SyslogUtils.extractVariables(appMsg, map);
+
+		return map;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.configure.SyslogStreamProperties;
+import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Implements systemd journal export format ({@code journalctl -o export}) file activities stream, where each journal
+ * entry is assumed to represent a single activity or event which should be recorded. Journal entries are resolved into
+ * data maps having same keys as {@link com.jkoolcloud.tnt4j.streams.parsers.ActivitySyslogLineParser} resolved data
+ * maps, see {@link SyslogJournalReader} for fields mapping.
+ * <p>
+ * This activity stream requires parsers that can support {@link Map} data.
+ * <p>
+ * This activity stream supports the following properties (in addition to those supported by
+ * {@link AbstractBufferedStream}):
+ * <ul>
+ * <li>FileName - journal export format file to read. If not defined, journal entries are read from standard input, e.g.
+ * piped from {@code journalctl -o export -f}. (Optional)</li>
+ * <li>Compression - journal file compression type: one of 'auto', 'none', 'gzip', 'zip' or 'deflate'. Default value -
+ * 'auto'. (Optional)</li>
+ * <li>MaxFieldSize - maximal journal field value size in bytes. Longer values are truncated. Default value - '65536'
+ * (64KB). (Optional)</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
+ */
+public class SyslogJournalStream extends AbstractBufferedStream<Map<String, Object>> {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogJournalStream.class);
+
+	// Stream properties
+	private String fileName = null;
+	private String compression = SyslogFileInputs.COMPRESSION_AUTO;
+	private int maxFieldSize = SyslogJournalReader.DEFAULT_MAX_FIELD_SIZE;
+
+	private JournalDataReceiver journalDataReceiver;
+
+	/**
+	 * Constructs an empty SyslogJournalStream. Requires configuration settings to set input stream source.
+	 */
+	public SyslogJournalStream() {
+		super();
+	}
+
+	@Override
+	protected EventSink logger() {
+		return LOGGER;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		if (StreamProperties.PROP_FILENAME.equalsIgnoreCase(name)) {
+			return fileName;
+		}
+		if (SyslogStreamProperties.PROP_COMPRESSION.equalsIgnoreCase(name)) {
+			return compression;
+		}
+		if (SyslogStreamProperties.PROP_MAX_FIELD_SIZE.equalsIgnoreCase(name)) {
+			return maxFieldSize;
+		}
+
+		return super.getProperty(name);
+	}
+
+	@Override
+	public void setProperty(String name, String value) {
+		super.setProperty(name, value);
+
+		if (StreamProperties.PROP_FILENAME.equalsIgnoreCase(name)) {
+			fileName = value;
+		} else if (SyslogStreamProperties.PROP_COMPRESSION.equalsIgnoreCase(name)) {
+			compression = value;
+		} else if (SyslogStreamProperties.PROP_MAX_FIELD_SIZE.equalsIgnoreCase(name)) {
+			maxFieldSize = Integer.parseInt(value);
+		}
+	}
+
+	@Override
+	protected void applyProperties() throws Exception {
+		super.applyProperties();
+
+		if (!SyslogFileInputs.isSupported(compression)) {
+			throw new IllegalArgumentException(
+					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+							"TNTInputStream.property.illegal", SyslogStreamProperties.PROP_COMPRESSION, compression));
+		}
+
+		if (maxFieldSize <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_MAX_FIELD_SIZE, maxFieldSize));
+		}
+	}
+
+	@Override
+	protected void initialize() throws Exception {
+		super.initialize();
+
+		journalDataReceiver = new JournalDataReceiver();
+		journalDataReceiver.initialize();
+	}
+
+	@Override
+	protected void start() throws Exception {
+		super.start();
+
+		journalDataReceiver.start();
+
+		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"TNTInputStream.stream.start", getClass().getSimpleName(), getName());
+	}
+
+	@Override
+	protected void cleanup() {
+		if (journalDataReceiver != null) {
+			journalDataReceiver.shutdown();
+		}
+
+		super.cleanup();
+	}
+
+	@Override
+	protected boolean isInputEnded() {
+		return journalDataReceiver.isInputEnded();
+	}
+
+	@Override
+	protected long getActivityItemByteSize(Map<String, Object> item) {
+		Object msg = item.get(StreamFieldType.Message.name());
+
+		return msg instanceof String ? ((String) msg).length() : 0;
+	}
+
+	private class JournalDataReceiver extends InputProcessor {
+		private static final long serialVersionUID = -2675342870893415232L;
+
+		private SyslogJournalReader reader;
+
+		private JournalDataReceiver() {
+			super("SyslogJournalStream.JournalDataReceiver"); // NON-NLS
+		}
+
+		/**
+		 * Input data receiver initialization - opens journal file.
+		 *
+		 * @param params
+		 *            initialization parameters array
+		 *
+		 * @throws Exception
+		 *             if fails to open journal file
+		 */
+		@Override
+		protected void initialize(Object... params) throws Exception {
+			InputStream is = StringUtils.isEmpty(fileName) ? System.in
+					: SyslogFileInputs.open(Paths.get(fileName), compression, 0, 0);
+			reader = new SyslogJournalReader(is, maxFieldSize);
+
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogJournalStream.reading", StringUtils.isEmpty(fileName) ? "stdin" : fileName); // NON-NLS
+		}
+
+		/**
+		 * Reads journal entries and puts resolved entry data maps into stream buffer until end of input.
+		 */
+		@Override
+		public void run() {
+			try {
+				Map<String, Object> entry;
+				while (!isHalted() && (entry = reader.next()) != null) {
+					addInputToBuffer(entry);
+				}
+			} catch (Exception exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+						"SyslogJournalStream.read.failed", fileName, exc);
+			} finally {
+				markInputEnd();
+			}
+		}
+
+		/**
+		 * Closes journal file.
+		 *
+		 * @throws Exception
+		 *             if fails to close opened resources due to internal error
+		 */
+		@Override
+		void closeInternals() throws Exception {
+			Utils.close(reader);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.LatencyHistogram;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogLoadGenerator;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+
+/**
+ * Tracks end-to-end latency of Syslog messages sent by {@link SyslogLoadGenerator}. Latency is measured from send time
+ * embedded into message by load generator until two stream processing stages:
+ * <ul>
+ * <li>receive - message has been received by Syslog server and is being put into stream buffer</li>
+ * <li>dequeue - message has been taken from stream buffer to be parsed</li>
+ * </ul>
+ * Latencies are recorded in microseconds. Latency percentiles of every stage are logged and reset every reporting
+ * interval. Messages not having load generator send time are ignored.
+ * <p>
+ * Since send time is taken from wall clock, latency is meaningful only when load generator and stream run on same
+ * host.
+ * <p>
+ * Latencies can be recorded by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogLatencyTracker {
+	private final EventSink logger;
+	private final long reportIntervalNanos;
+	private final LatencyHistogram received = new LatencyHistogram();
+	private final LatencyHistogram dequeued = new LatencyHistogram();
+	private final AtomicLong lastReportTime;
+
+	/**
+	 * Constructs a new SyslogLatencyTracker.
+	 *
+	 * @param logger
+	 *            logger used to report latency percentiles
+	 * @param reportInterval
+	 *            latency percentiles reporting interval in seconds
+	 */
+	public SyslogLatencyTracker(EventSink logger, long reportInterval) {
+		this.logger = logger;
+		this.reportIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(reportInterval, 1));
+		this.lastReportTime = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * Records latency of received Syslog message.
+	 *
+	 * @param message
+	 *            received Syslog message text
+	 */
+	public void received(String message) {
+		record(received, message);
+	}
+
+	/**
+	 * Records latency of Syslog message taken from stream buffer.
+	 *
+	 * @param message
+	 *            dequeued Syslog message text
+	 */
+	public void dequeued(String message) {
+		record(dequeued, message);
+	}
+
+	private void record(LatencyHistogram histogram, String message) {
+		long sendTime = SyslogLoadGenerator.parseSendTime(message);
+		if (sendTime < 0) {
+			return;
+		}
+		histogram.record(SyslogLoadGenerator.currentTimeMicros() - sendTime);
+
+		long now = System.nanoTime();
+		long last = lastReportTime.get();
+		// only one of concurrently recording threads wins the report
+		if (now - last >= reportIntervalNanos && lastReportTime.compareAndSet(last, now)) {
+			report();
+		}
+	}
+
+	/**
+	 * Logs and resets latency percentiles of all stages.
+	 */
+	public void report() {
+		report("receive", received); // NON-NLS
+		report("dequeue", dequeued); // NON-NLS
+	}
+
+	private void report(String stage, LatencyHistogram histogram) {
+		if (histogram.getCount() == 0) {
+			return;
+		}
+		logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdStream.latency", stage, histogram.getCount(), histogram.getValueAtPercentile(50),
+				histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+				histogram.getValueAtPercentile(99.9), histogram.getMax(),
+				String.format("%.1f", histogram.getMean())); // NON-NLS
+		histogram.reset();
+	}
+}
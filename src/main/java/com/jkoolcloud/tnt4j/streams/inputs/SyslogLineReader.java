@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+
+/**
+ * Reads lines of Syslog file input stream, splitting bytes at {@code \n} and stripping trailing {@code \r}, and counts
+ * bytes consumed by every line including its terminator, so file progress can be tracked in file bytes while lines are
+ * read. Charset must encode {@code \n} as single byte, e.g. UTF-8 or ISO-8859-1.
+ *
+ * @version $Revision: 1 $
+ */
+class SyslogLineReader implements Closeable {
+	private final InputStream in;
+	private final Charset charset;
+	private final byte[] buffer;
+	private int pos;
+	private int limit;
+
+	private byte[] line = new byte[256];
+	private int lineLength;
+	private int lineBytes;
+
+	/**
+	 * Constructs a new SyslogLineReader.
+	 *
+	 * @param in
+	 *            input stream to read
+	 * @param charset
+	 *            input stream contents charset
+	 * @param bufferSize
+	 *            read buffer size in bytes
+	 */
+	SyslogLineReader(InputStream in, Charset charset, int bufferSize) {
+		this.in = in;
+		this.charset = charset;
+		this.buffer = new byte[bufferSize];
+	}
+
+	/**
+	 * Reads next line.
+	 *
+	 * @return line without line terminator, or {@code null} if end of stream has been reached
+	 *
+	 * @throws IOException
+	 *             if stream reading fails
+	 */
+	String readLine() throws IOException {
+		lineLength = 0;
+		lineBytes = 0;
+		while (true) {
+			if (pos == limit) {
+				limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+				pos = 0;
+				if (limit == 0) {
+					return lineBytes == 0 ? null : decode();
+				}
+			}
+			int start = pos;
+			while (pos < limit && buffer[pos] != SyslogStreamConstants.NL) {
+				pos++;
+			}
+			append(start, pos - start);
+			if (pos < limit) {
+				pos++;
+				lineBytes++;
+				return decode();
+			}
+		}
+	}
+
+	/**
+	 * Returns count of bytes consumed by last read line, including line terminator.
+	 *
+	 * @return last line bytes count
+	 */
+	int getLineBytes() {
+		return lineBytes;
+	}
+
+	private void append(int start, int length) {
+		if (lineLength + length > line.length) {
+			line = Arrays.copyOf(line, Math.max(line.length << 1, lineLength + length));
+		}
+		System.arraycopy(buffer, start, line, lineLength, length);
+		lineLength += length;
+		lineBytes += length;
+	}
+
+	private String decode() {
+		int length = lineLength;
+		if (length > 0 && line[length - 1] == SyslogStreamConstants.RC) {
+			length--;
+		}
+		return new String(line, 0, length, charset);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
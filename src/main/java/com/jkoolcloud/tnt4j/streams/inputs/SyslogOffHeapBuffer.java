@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+
+import com.jkoolcloud.tnt4j.streams.utils.SyslogAddressedEvent;
+
+/**
+ * Bounded FIFO buffer of Syslog server events, storing raw event messages in off-heap (direct) memory slabs instead of
+ * keeping event objects on heap. Event objects are materialized again from raw message only when taken from buffer,
+ * so large backlog does not grow heap old generation.
+ * <p>
+ * Every buffered event is stored as length prefixed record, which makes compact index of slab records:
+ * <ul>
+ * <li>record length - {@code int}</li>
+ * <li>event date millis, {@code -1} if event has no date - {@code long}</li>
+ * <li>flag indicating whether event is structured (RFC 5424) event - {@code byte}</li>
+ * <li>sender port - {@code char}</li>
+ * <li>sender address length and bytes - {@code byte} and {@code 0}, {@code 4} or {@code 16} bytes</li>
+ * <li>raw event message bytes</li>
+ * </ul>
+ * Sender address is taken from {@link SyslogAddressedEvent}, and materialized events are wrapped with it again.
+ * <p>
+ * Slabs are allocated on demand until buffer memory limit is reached, and are reused when all their records are taken.
+ * Allocated slabs are never released back while buffer is used, so buffer direct memory usage never exceeds the limit.
+ * Events offered when memory limit is reached, or having raw message larger than slab, are dropped and counted. Direct
+ * memory available to JVM ({@code -XX:MaxDirectMemorySize}) shall be not less than buffer memory limit.
+ * <p>
+ * Buffer can be used by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogOffHeapBuffer {
+	private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Character.BYTES + 2;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+
+	private final int slabSize;
+	private final int maxSlabs;
+	private final ArrayDeque<Slab> slabs = new ArrayDeque<>();
+	private final ArrayDeque<Slab> freeSlabs = new ArrayDeque<>();
+	private int allocatedSlabs;
+	private int count;
+	private long usedBytes;
+
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * Constructs a new SyslogOffHeapBuffer.
+	 *
+	 * @param maxBytes
+	 *            maximal size of off-heap memory in bytes used by buffer
+	 * @param slabSize
+	 *            size of single memory slab in bytes
+	 *
+	 * @throws IllegalArgumentException
+	 *             if slab size is too small, or memory limit is less than slab size
+	 */
+	public SyslogOffHeapBuffer(long maxBytes, int slabSize) throws IllegalArgumentException {
+		if (slabSize <= RECORD_HEADER_SIZE || maxBytes < slabSize) {
+			throw new IllegalArgumentException();
+		}
+		this.slabSize = slabSize;
+		this.maxSlabs = (int) Math.min(maxBytes / slabSize, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Stores Syslog server event into buffer, if there is enough memory.
+	 *
+	 * @param event
+	 *            Syslog server event to store
+	 * @return {@code true} if event has been stored into buffer, {@code false} if event has been dropped
+	 */
+	public boolean offer(SyslogServerEventIF event) {
+		byte[] raw = event.getRaw();
+		SocketAddress sender = event instanceof SyslogAddressedEvent
+				? ((SyslogAddressedEvent) event).getSenderAddress() : null;
+		InetSocketAddress address = sender instanceof InetSocketAddress ? (InetSocketAddress) sender : null;
+		byte[] addr = address == null || address.getAddress() == null ? new byte[0] : address.getAddress().getAddress();
+		int length = RECORD_HEADER_SIZE + addr.length + (raw == null ? 0 : raw.length);
+		Date date = event.getDate();
+
+		lock.lock();
+		try {
+			Slab slab = slabs.peekLast();
+			if (slab == null || slab.write.remaining() < length) {
+				slab = length > slabSize ? null : nextSlab();
+				if (slab == null) {
+					dropped.increment();
+					return false;
+				}
+				slabs.offer(slab);
+			}
+
+			ByteBuffer buf = slab.write;
+			buf.putInt(length);
+			buf.putLong(date == null ? -1 : date.getTime());
+			buf.put((byte) (SyslogAddressedEvent.unwrap(event) instanceof StructuredSyslogServerEvent ? 1 : 0));
+			buf.putChar((char) (address == null ? 0 : address.getPort()));
+			buf.put((byte) addr.length);
+			buf.put(addr);
+			if (raw != null) {
+				buf.put(raw);
+			}
+			count++;
+			usedBytes += length;
+			notEmpty.signal();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Slab nextSlab() {
+		Slab slab = freeSlabs.poll();
+		if (slab == null && allocatedSlabs < maxSlabs) {
+			slab = new Slab(ByteBuffer.allocateDirect(slabSize));
+			allocatedSlabs++;
+		}
+		return slab;
+	}
+
+	/**
+	 * Takes next Syslog server event from buffer, waiting up to provided time if buffer is empty.
+	 *
+	 * @param timeout
+	 *            maximal time to wait for event
+	 * @param unit
+	 *            timeout time unit
+	 * @return next buffered event, or {@code null} if buffer is still empty after timeout
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public SyslogServerEventIF poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		long time;
+		boolean structured;
+		int port;
+		byte[] addr;
+		byte[] raw;
+
+		lock.lockInterruptibly();
+		try {
+			while (count == 0) {
+				if (nanos <= 0) {
+					return null;
+				}
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+
+			Slab slab = slabs.peek();
+			if (slab.read.position() == slab.write.position()) {
+				// slab has been fully read, next record is in following slab
+				recycle(slabs.poll());
+				slab = slabs.peek();
+			}
+			ByteBuffer buf = slab.read;
+			int length = buf.getInt();
+			time = buf.getLong();
+			structured = buf.get() != 0;
+			port = buf.getChar();
+			addr = new byte[buf.get()];
+			buf.get(addr);
+			raw = new byte[length - RECORD_HEADER_SIZE - addr.length];
+			buf.get(raw);
+			count--;
+			usedBytes -= length;
+
+			if (count == 0) {
+				// buffer is empty, so last slab can be reused from beginning
+				slab.clear();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		return materialize(raw, addr, port, time, structured);
+	}
+
+	private void recycle(Slab slab) {
+		// drained slabs are kept for reuse: dropping them would let direct memory exceed limit until GC frees them
+		slab.clear();
+		freeSlabs.offer(slab);
+	}
+
+	private static SyslogServerEventIF materialize(byte[] raw, byte[] addr, int port, long time,
+			boolean structured) {
+		InetAddress address = null;
+		if (addr.length > 0) {
+			try {
+				address = InetAddress.getByAddress(addr);
+			} catch (UnknownHostException exc) {
+				// can't happen - address length is valid
+			}
+		}
+		SyslogServerEventIF event = structured ? new StructuredSyslogServerEvent(raw, raw.length, address)
+				: new SyslogServerEvent(raw, raw.length, address);
+		if (time >= 0) {
+			event.setDate(new Date(time));
+		}
+		return address == null ? event : new SyslogAddressedEvent(event, new InetSocketAddress(address, port));
+	}
+
+	/**
+	 * Returns count of events in buffer.
+	 *
+	 * @return buffered events count
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns size in bytes of all buffered event records.
+	 *
+	 * @return buffered event records size in bytes
+	 */
+	public long getUsedBytes() {
+		lock.lock();
+		try {
+			return usedBytes;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns size in bytes of off-heap memory slabs currently allocated by buffer.
+	 *
+	 * @return allocated off-heap memory size in bytes
+	 */
+	public long getAllocatedBytes() {
+		lock.lock();
+		try {
+			return (long) allocatedSlabs * slabSize;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns buffer memory limit in bytes: size of all memory slabs buffer can allocate.
+	 *
+	 * @return buffer memory limit in bytes
+	 */
+	public long getMaxBytes() {
+		return (long) maxSlabs * slabSize;
+	}
+
+	/**
+	 * Returns count of events dropped because buffer memory limit has been reached or event was too large.
+	 *
+	 * @return dropped events count
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	private static final class Slab {
+		private final ByteBuffer write;
+		private final ByteBuffer read;
+
+		private Slab(ByteBuffer buffer) {
+			this.write = buffer;
+			this.read = buffer.duplicate();
+		}
+
+		private void clear() {
+			write.clear();
+			read.clear();
+		}
+	}
+}
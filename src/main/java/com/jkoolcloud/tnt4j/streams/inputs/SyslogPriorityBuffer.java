@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded two lane buffer, where items of express lane are always taken before items of standard lane. Used by
+ * {@link SyslogdStream} to deliver high severity Syslog messages without waiting behind standard lane backlog.
+ * <p>
+ * To prevent starvation of standard lane, after {@code expressBurst} express lane items taken in a row while standard
+ * lane is not empty, next item is taken from standard lane. Items of each lane are taken in order they were put into
+ * lane, but there is no order between lanes.
+ * <p>
+ * Each lane has own capacity, so flood of standard lane items never makes express lane items dropped. Items offered to
+ * full lane are dropped and counted.
+ * <p>
+ * Buffer can be used by many threads concurrently.
+ *
+ * @param <T>
+ *            type of buffered items
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogPriorityBuffer<T> {
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+
+	private final ArrayDeque<T> express;
+	private final ArrayDeque<T> standard;
+	private final int expressCapacity;
+	private final int standardCapacity;
+	private final int expressBurst;
+	private int expressStreak;
+
+	private final LongAdder expressDropped = new LongAdder();
+	private final LongAdder standardDropped = new LongAdder();
+
+	/**
+	 * Constructs a new SyslogPriorityBuffer.
+	 *
+	 * @param expressCapacity
+	 *            maximal number of express lane items
+	 * @param standardCapacity
+	 *            maximal number of standard lane items
+	 * @param expressBurst
+	 *            maximal number of express lane items taken in a row while standard lane is not empty
+	 *
+	 * @throws IllegalArgumentException
+	 *             if any of parameters is not positive
+	 */
+	public SyslogPriorityBuffer(int expressCapacity, int standardCapacity, int expressBurst)
+			throws IllegalArgumentException {
+		if (expressCapacity <= 0 || standardCapacity <= 0 || expressBurst <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.expressCapacity = expressCapacity;
+		this.standardCapacity = standardCapacity;
+		this.expressBurst = expressBurst;
+		this.express = new ArrayDeque<>(Math.min(expressCapacity, 1024));
+		this.standard = new ArrayDeque<>(Math.min(standardCapacity, 1024));
+	}
+
+	/**
+	 * Puts item into buffer lane, if lane is not full.
+	 *
+	 * @param item
+	 *            item to put
+	 * @param expressLane
+	 *            {@code true} to put item into express lane, {@code false} - into standard lane
+	 * @return {@code true} if item has been put into buffer, {@code false} if lane is full and item has been dropped
+	 */
+	public boolean offer(T item, boolean expressLane) {
+		lock.lock();
+		try {
+			ArrayDeque<T> lane = expressLane ? express : standard;
+			if (lane.size() >= (expressLane ? expressCapacity : standardCapacity)) {
+				(expressLane ? expressDropped : standardDropped).increment();
+				return false;
+			}
+			lane.offer(item);
+			notEmpty.signal();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes next item from buffer, waiting up to provided time if buffer is empty.
+	 *
+	 * @param timeout
+	 *            maximal time to wait for item
+	 * @param unit
+	 *            timeout time unit
+	 * @return next buffered item, or {@code null} if buffer is still empty after timeout
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (express.isEmpty() && standard.isEmpty()) {
+				if (nanos <= 0) {
+					return null;
+				}
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			if (standard.isEmpty()) {
+				expressStreak = 0;
+				return express.poll();
+			}
+			if (!express.isEmpty() && expressStreak < expressBurst) {
+				expressStreak++;
+				return express.poll();
+			}
+			expressStreak = 0;
+			return standard.poll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns count of items in both buffer lanes.
+	 *
+	 * @return buffered items count
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return express.size() + standard.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns count of items in buffer lane.
+	 *
+	 * @param expressLane
+	 *            {@code true} for express lane, {@code false} - for standard lane
+	 * @return lane items count
+	 */
+	public int size(boolean expressLane) {
+		lock.lock();
+		try {
+			return expressLane ? express.size() : standard.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns buffer lane capacity.
+	 *
+	 * @param expressLane
+	 *            {@code true} for express lane, {@code false} - for standard lane
+	 * @return maximal number of lane items
+	 */
+	public int getCapacity(boolean expressLane) {
+		return expressLane ? expressCapacity : standardCapacity;
+	}
+
+	/**
+	 * Returns count of items dropped because buffer lane was full.
+	 *
+	 * @param expressLane
+	 *            {@code true} for express lane, {@code false} - for standard lane
+	 * @return lane dropped items count
+	 */
+	public long getDropped(boolean expressLane) {
+		return (expressLane ? expressDropped : standardDropped).sum();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogUtils;
+
+/**
+ * Paces Syslog capture replay to honor captured entries inter-arrival times scaled by replay speed factor, e.g.
+ * {@code 0.5} replays two times slower, {@code 10} - ten times faster than captured.
+ * <p>
+ * Entry capture time is resolved from JSON entry {@code "offset.usec"} value (time elapsed since previous entry), or
+ * from plain Syslog line header timestamp. Every entry gets scheduled at absolute time on monotonic clock relative to
+ * replay start, so timing errors do not accumulate: entries falling behind schedule are sent immediately, while thread
+ * is parked only if it is ahead of schedule. Last few microseconds before entry scheduled time are spin-waited to
+ * achieve sub-millisecond precision. Thread is parked for at most {@value #MAX_PARK_MILLIS}ms at once, so long
+ * captured gaps do not delay stream shutdown: wait is abandoned as soon as stream gets halted or thread gets
+ * interrupted.
+ * <p>
+ * Pacer periodically logs achieved and target replay rates. Pacer is expected to be used by single thread.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogReplayPacer {
+	private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final long MAX_PARK_MILLIS = 100;
+	private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(MAX_PARK_MILLIS);
+
+	private final EventSink logger;
+	private final BooleanSupplier halted;
+	private final double speed;
+	private final long reportIntervalNanos;
+
+	private long startNanos = -1;
+	private long lastTimestamp = -1;
+	private long captureNanos;
+
+	private long lastReportNanos;
+	private long lastReportCaptureNanos;
+	private long reportRecords;
+
+	/**
+	 * Constructs a new SyslogReplayPacer.
+	 *
+	 * @param logger
+	 *            logger used to report replay rates
+	 * @param speed
+	 *            replay speed factor
+	 * @param reportInterval
+	 *            replay rates reporting interval in seconds, {@code 0} or negative value disables reporting
+	 * @param halted
+	 *            check whether replaying stream is halted
+	 */
+	public SyslogReplayPacer(EventSink logger, double speed, long reportInterval, BooleanSupplier halted) {
+		if (speed <= 0) {
+			throw new IllegalArgumentException(String.valueOf(speed));
+		}
+		this.logger = logger;
+		this.halted = halted;
+		this.speed = speed;
+		this.reportIntervalNanos = TimeUnit.SECONDS.toNanos(reportInterval);
+	}
+
+	/**
+	 * Waits until provided Syslog file entry scheduled replay time.
+	 *
+	 * @param record
+	 *            Syslog file entry to be replayed
+	 * @return {@code true} if entry is due to be replayed, {@code false} if stream got halted while waiting
+	 *
+	 * @throws InterruptedException
+	 *             if thread got interrupted while waiting
+	 */
+	public boolean pace(SyslogFileRecord record) throws InterruptedException {
+		long now = System.nanoTime();
+		if (startNanos < 0) {
+			startNanos = now;
+			lastReportNanos = now;
+		}
+
+		captureNanos += getDelayNanos(record);
+		long target = startNanos + (long) (captureNanos / speed);
+
+		long wait;
+		while ((wait = target - System.nanoTime()) > 0) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if (halted.getAsBoolean()) {
+				return false;
+			}
+			if (wait > SPIN_THRESHOLD_NANOS) {
+				LockSupport.parkNanos(Math.min(wait - SPIN_THRESHOLD_NANOS, MAX_PARK_NANOS));
+			} else {
+				Thread.onSpinWait();
+			}
+		}
+
+		reportRecords++;
+		if (reportIntervalNanos > 0) {
+			report(System.nanoTime());
+		}
+		return true;
+	}
+
+	private long getDelayNanos(SyslogFileRecord record) {
+		if (record.isJson()) {
+			return record.getOffsetUsec() > 0 ? TimeUnit.MICROSECONDS.toNanos(record.getOffsetUsec()) : 0;
+		}
+
+		long timestamp = SyslogUtils.getHeaderTimestamp(record.getLine());
+		if (timestamp < 0) {
+			return 0;
+		}
+		long delay = lastTimestamp < 0 ? 0 : timestamp - lastTimestamp;
+		lastTimestamp = timestamp;
+
+		return delay > 0 ? TimeUnit.MILLISECONDS.toNanos(delay) : 0;
+	}
+
+	private void report(long now) {
+		long elapsed = now - lastReportNanos;
+		if (elapsed < reportIntervalNanos) {
+			return;
+		}
+
+		double achieved = reportRecords * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+		long capturedSpan = captureNanos - lastReportCaptureNanos;
+		double target = capturedSpan <= 0 ? Double.POSITIVE_INFINITY
+				: reportRecords * speed * TimeUnit.SECONDS.toNanos(1) / capturedSpan;
+
+		logger.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdFileStream.replay.rate", speed, String.format("%.1f", achieved), // NON-NLS
+				String.format("%.1f", target), // NON-NLS
+				TimeUnit.NANOSECONDS.toMillis(Math.max(0, now - (startNanos + (long) (captureNanos / speed)))));
+
+		lastReportNanos = now;
+		lastReportCaptureNanos = captureNanos;
+		reportRecords = 0;
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock free ring buffer, handing items off from Syslog receiver threads to stream parsing threads without
+ * locking and thread wakeup costs of blocking queue.
+ * <p>
+ * Ring slots are allocated once and reused. Every slot carries sequence number telling whether slot is free for
+ * producer or published for consumer, so producers and consumers claim slots by single compare-and-set of ring
+ * position, and never touch other side position. When buffer is created for single producer, producer claims slots
+ * without compare-and-set at all. Items offered when buffer is full are dropped and counted.
+ * <p>
+ * Consumers waiting for items use one of wait strategies:
+ * <ul>
+ * <li>{@value #WAIT_BUSY_SPIN} - spins on CPU, lowest handoff latency, but keeps CPU core busy</li>
+ * <li>{@value #WAIT_YIELD} - yields CPU to other threads between checks</li>
+ * <li>{@value #WAIT_PARK} - parks thread for short time between checks, lowest CPU usage</li>
+ * </ul>
+ *
+ * @param <T>
+ *            type of buffered items
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogRingBuffer<T> {
+	/**
+	 * Busy spinning wait strategy.
+	 */
+	public static final String WAIT_BUSY_SPIN = "busy-spin"; // NON-NLS
+	/**
+	 * Yielding wait strategy.
+	 */
+	public static final String WAIT_YIELD = "yield"; // NON-NLS
+	/**
+	 * Parking wait strategy.
+	 */
+	public static final String WAIT_PARK = "park"; // NON-NLS
+
+	private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final Slot<T>[] slots;
+	private final int mask;
+	private final boolean singleProducer;
+	private final int waitStrategy;
+
+	private final AtomicLong producerPosition = new AtomicLong();
+	private final AtomicLong consumerPosition = new AtomicLong();
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * Constructs a new SyslogRingBuffer.
+	 *
+	 * @param capacity
+	 *            minimal ring capacity, rounded up to power of two
+	 * @param singleProducer
+	 *            flag indicating whether items are offered by single thread
+	 * @param waitStrategy
+	 *            consumers wait strategy: {@value #WAIT_BUSY_SPIN}, {@value #WAIT_YIELD} or {@value #WAIT_PARK}
+	 *
+	 * @throws IllegalArgumentException
+	 *             if capacity is not positive or too large, or wait strategy is unknown
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public SyslogRingBuffer(int capacity, boolean singleProducer, String waitStrategy)
+			throws IllegalArgumentException {
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException();
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.slots = new Slot[size];
+		for (int i = 0; i < size; i++) {
+			slots[i] = new Slot<>(i);
+		}
+		this.mask = size - 1;
+		this.singleProducer = singleProducer;
+		this.waitStrategy = waitStrategy(waitStrategy);
+	}
+
+	private static int waitStrategy(String waitStrategy) {
+		if (WAIT_BUSY_SPIN.equalsIgnoreCase(waitStrategy)) {
+			return 0;
+		}
+		if (WAIT_YIELD.equalsIgnoreCase(waitStrategy)) {
+			return 1;
+		}
+		if (WAIT_PARK.equalsIgnoreCase(waitStrategy)) {
+			return 2;
+		}
+		throw new IllegalArgumentException(waitStrategy);
+	}
+
+	/**
+	 * Checks whether provided wait strategy name is valid.
+	 *
+	 * @param waitStrategy
+	 *            wait strategy name
+	 * @return {@code true} if wait strategy is one of {@value #WAIT_BUSY_SPIN}, {@value #WAIT_YIELD} or
+	 *         {@value #WAIT_PARK}, {@code false} - otherwise
+	 */
+	public static boolean isValidWaitStrategy(String waitStrategy) {
+		return WAIT_BUSY_SPIN.equalsIgnoreCase(waitStrategy) || WAIT_YIELD.equalsIgnoreCase(waitStrategy)
+				|| WAIT_PARK.equalsIgnoreCase(waitStrategy);
+	}
+
+	/**
+	 * Publishes item into ring, if ring is not full.
+	 *
+	 * @param item
+	 *            item to publish
+	 * @return {@code true} if item has been published, {@code false} if ring is full and item has been dropped
+	 */
+	public boolean offer(T item) {
+		Slot<T> slot;
+		long position = producerPosition.get();
+		if (singleProducer) {
+			slot = slots[(int) position & mask];
+			if (slot.sequence != position) {
+				dropped.increment();
+				return false;
+			}
+			producerPosition.lazySet(position + 1);
+		} else {
+			while (true) {
+				slot = slots[(int) position & mask];
+				long diff = slot.sequence - position;
+				if (diff == 0) {
+					if (producerPosition.compareAndSet(position, position + 1)) {
+						break;
+					}
+					position = producerPosition.get();
+				} else if (diff < 0) {
+					dropped.increment();
+					return false;
+				} else {
+					position = producerPosition.get();
+				}
+			}
+		}
+		slot.item = item;
+		slot.sequence = position + 1;
+		return true;
+	}
+
+	/**
+	 * Takes next item from ring, if there is any.
+	 *
+	 * @return next item, or {@code null} if ring is empty
+	 */
+	public T poll() {
+		long position = consumerPosition.get();
+		while (true) {
+			Slot<T> slot = slots[(int) position & mask];
+			long diff = slot.sequence - (position + 1);
+			if (diff == 0) {
+				if (consumerPosition.compareAndSet(position, position + 1)) {
+					T item = slot.item;
+					slot.item = null;
+					slot.sequence = position + slots.length;
+					return item;
+				}
+				position = consumerPosition.get();
+			} else if (diff < 0) {
+				return null;
+			} else {
+				position = consumerPosition.get();
+			}
+		}
+	}
+
+	/**
+	 * Takes next item from ring, waiting up to provided time using buffer wait strategy if ring is empty.
+	 *
+	 * @param timeout
+	 *            maximal time to wait for item
+	 * @param unit
+	 *            timeout time unit
+	 * @return next item, or {@code null} if ring is still empty after timeout
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+		T item = poll();
+		if (item != null) {
+			return item;
+		}
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while (true) {
+			switch (waitStrategy) {
+			case 0:
+				Thread.onSpinWait();
+				break;
+			case 1:
+				Thread.yield();
+				break;
+			default:
+				LockSupport.parkNanos(this, PARK_NANOS);
+			}
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			item = poll();
+			if (item != null || System.nanoTime() - deadline >= 0) {
+				return item;
+			}
+		}
+	}
+
+	/**
+	 * Returns approximate count of items in ring.
+	 *
+	 * @return ring items count
+	 */
+	public int size() {
+		long size = producerPosition.get() - consumerPosition.get();
+		return (int) Math.max(0, Math.min(size, slots.length));
+	}
+
+	/**
+	 * Returns ring capacity.
+	 *
+	 * @return ring capacity
+	 */
+	public int getCapacity() {
+		return slots.length;
+	}
+
+	/**
+	 * Returns count of items dropped because ring was full.
+	 *
+	 * @return dropped items count
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	private static final class Slot<T> {
+		private volatile long sequence;
+		private T item;
+
+		private Slot(long sequence) {
+			this.sequence = sequence;
+		}
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.jkoolcloud.tnt4j.core.OpType;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
+import com.jkoolcloud.tnt4j.streams.utils.LatencyHistogram;
+
+/**
+ * Collects Syslog stream health metrics and produces them as snapshot activities, so stream health can be sent to same
+ * output as stream processed activities.
+ * <p>
+ * Metrics are collected using counters of current interval. When snapshot is taken, current interval counters are
+ * swapped with new ones, so snapshot values cover only interval since previous snapshot and no data is scanned.
+ * Snapshot contains these properties:
+ * <ul>
+ * <li>{@value #PROP_INTERVAL} - snapshot interval duration in seconds</li>
+ * <li>{@value #PROP_MESSAGES_IN} - count of Syslog messages received by stream</li>
+ * <li>{@value #PROP_MESSAGES_OUT} - count of activities produced by stream parsers</li>
+ * <li>{@value #PROP_DROPPED_ACL} - count of received messages denied by stream senders ACL</li>
+ * <li>{@value #PROP_DROPPED_PRE_FILTER} - count of received messages rejected by stream pre-filter</li>
+ * <li>{@value #PROP_DROPPED_BUFFER_FULL} - count of received messages dropped because stream buffer was full</li>
+ * <li>{@value #PROP_DROPPED_SUPPRESSED} - count of parsed messages parsers produced no activity for: suppressed
+ * duplicates or filtered out messages</li>
+ * <li>{@value #PROP_DROPPED_PARSE_FAILED} - count of messages failed to parse</li>
+ * <li>{@value #PROP_PARSE_FAILURE_RATE} - ratio of failed to parse messages and all parsed messages</li>
+ * <li>{@value #PROP_SUPPRESSION_RATIO} - ratio of suppressed messages and all parsed messages</li>
+ * <li>{@value #PROP_BUFFERED_ITEMS} - count of messages waiting in stream buffers at snapshot time</li>
+ * <li>{@value #PROP_BUFFER_FILL} - fill percentage of fullest stream buffer at snapshot time, if buffer capacity is
+ * known</li>
+ * <li>{@value #PROP_PARSE_P50} and {@value #PROP_PARSE_P99} - 50th and 99th percentiles of message parsing time in
+ * microseconds</li>
+ * </ul>
+ * <p>
+ * Metrics can be recorded by many threads concurrently. Metric recorded concurrently with snapshot swap may be counted
+ * into next snapshot.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogStreamMonitor {
+	/**
+	 * Constant for name of stream health snapshot activity.
+	 */
+	public static final String SNAPSHOT_NAME = "SyslogStreamHealth"; // NON-NLS
+
+	static final String PROP_INTERVAL = "IntervalSec"; // NON-NLS
+	static final String PROP_MESSAGES_IN = "MessagesIn"; // NON-NLS
+	static final String PROP_MESSAGES_OUT = "MessagesOut"; // NON-NLS
+	static final String PROP_DROPPED_ACL = "DroppedAcl"; // NON-NLS
+	static final String PROP_DROPPED_PRE_FILTER = "DroppedPreFilter"; // NON-NLS
+	static final String PROP_DROPPED_BUFFER_FULL = "DroppedBufferFull"; // NON-NLS
+	static final String PROP_DROPPED_SUPPRESSED = "DroppedSuppressed"; // NON-NLS
+	static final String PROP_DROPPED_PARSE_FAILED = "DroppedParseFailed"; // NON-NLS
+	static final String PROP_PARSE_FAILURE_RATE = "ParseFailureRate"; // NON-NLS
+	static final String PROP_SUPPRESSION_RATIO = "SuppressionRatio"; // NON-NLS
+	static final String PROP_BUFFERED_ITEMS = "BufferedItems"; // NON-NLS
+	static final String PROP_BUFFER_FILL = "BufferFillPct"; // NON-NLS
+	static final String PROP_PARSE_P50 = "ParseTimeP50Usec"; // NON-NLS
+	static final String PROP_PARSE_P99 = "ParseTimeP99Usec"; // NON-NLS
+
+	private final AtomicReference<Counters> counters = new AtomicReference<>(new Counters());
+
+	/**
+	 * Constructs a new SyslogStreamMonitor.
+	 */
+	public SyslogStreamMonitor() {
+	}
+
+	/**
+	 * Records Syslog message received by stream.
+	 *
+	 * @param accepted
+	 *            flag indicating whether message has been put into stream buffer
+	 */
+	public void received(boolean accepted) {
+		Counters c = counters.get();
+		c.received.increment();
+		if (!accepted) {
+			c.bufferFull.increment();
+		}
+	}
+
+	/**
+	 * Records Syslog message received by stream and denied by stream senders ACL.
+	 */
+	public void denied() {
+		Counters c = counters.get();
+		c.received.increment();
+		c.aclDenied.increment();
+	}
+
+	/**
+	 * Records Syslog message received by stream and rejected by stream pre-filter.
+	 */
+	public void filtered() {
+		Counters c = counters.get();
+		c.received.increment();
+		c.preFiltered.increment();
+	}
+
+	/**
+	 * Records parsed Syslog message.
+	 *
+	 * @param parseNanos
+	 *            message parsing time in nanoseconds
+	 * @param produced
+	 *            flag indicating whether parsers produced activity for message
+	 */
+	public void parsed(long parseNanos, boolean produced) {
+		Counters c = counters.get();
+		c.parseTime.record(TimeUnit.NANOSECONDS.toMicros(parseNanos));
+		if (produced) {
+			c.produced.increment();
+		} else {
+			c.suppressed.increment();
+		}
+	}
+
+	/**
+	 * Records Syslog message failed to parse.
+	 *
+	 * @param parseNanos
+	 *            message parsing time in nanoseconds
+	 */
+	public void parseFailed(long parseNanos) {
+		Counters c = counters.get();
+		c.parseTime.record(TimeUnit.NANOSECONDS.toMicros(parseNanos));
+		c.failed.increment();
+	}
+
+	/**
+	 * Takes snapshot of metrics collected since previous snapshot and starts new interval.
+	 *
+	 * @param bufferedItems
+	 *            count of messages waiting in stream buffers
+	 * @param bufferFill
+	 *            fill percentage of fullest stream buffer, or negative value if unknown
+	 * @return map of snapshot property names and values
+	 */
+	public Map<String, Object> snapshot(long bufferedItems, double bufferFill) {
+		long now = System.currentTimeMillis();
+		Counters c = counters.getAndSet(new Counters(now));
+
+		long produced = c.produced.sum();
+		long suppressed = c.suppressed.sum();
+		long failed = c.failed.sum();
+		long parsed = produced + suppressed + failed;
+
+		Map<String, Object> metrics = new LinkedHashMap<>(16);
+		metrics.put(PROP_INTERVAL, (now - c.startTime) / 1000.0);
+		metrics.put(PROP_MESSAGES_IN, c.received.sum());
+		metrics.put(PROP_MESSAGES_OUT, produced);
+		metrics.put(PROP_DROPPED_ACL, c.aclDenied.sum());
+		metrics.put(PROP_DROPPED_PRE_FILTER, c.preFiltered.sum());
+		metrics.put(PROP_DROPPED_BUFFER_FULL, c.bufferFull.sum());
+		metrics.put(PROP_DROPPED_SUPPRESSED, suppressed);
+		metrics.put(PROP_DROPPED_PARSE_FAILED, failed);
+		metrics.put(PROP_PARSE_FAILURE_RATE, parsed == 0 ? 0.0 : failed / (double) parsed);
+		metrics.put(PROP_SUPPRESSION_RATIO, parsed == 0 ? 0.0 : suppressed / (double) parsed);
+		metrics.put(PROP_BUFFERED_ITEMS, bufferedItems);
+		if (bufferFill >= 0) {
+			metrics.put(PROP_BUFFER_FILL, bufferFill);
+		}
+		metrics.put(PROP_PARSE_P50, c.parseTime.getValueAtPercentile(50));
+		metrics.put(PROP_PARSE_P99, c.parseTime.getValueAtPercentile(99));
+
+		return metrics;
+	}
+
+	/**
+	 * Builds stream health snapshot activity.
+	 *
+	 * @param streamName
+	 *            name of monitored stream
+	 * @param metrics
+	 *            snapshot metrics map
+	 * @return stream health snapshot activity
+	 *
+	 * @throws ParseException
+	 *             if activity field value can't be set
+	 * @see #snapshot(long, double)
+	 */
+	public static ActivityInfo toActivityInfo(String streamName, Map<String, Object> metrics) throws ParseException {
+		ActivityInfo ai = new ActivityInfo();
+		ai.setFieldValue(new ActivityField(StreamFieldType.EventType.name()), OpType.SNAPSHOT);
+		ai.setFieldValue(new ActivityField(StreamFieldType.EventName.name()), SNAPSHOT_NAME);
+		ai.setFieldValue(new ActivityField(StreamFieldType.ResourceName.name()), streamName);
+		for (Map.Entry<String, Object> metric : metrics.entrySet()) {
+			ai.addActivityProperty(metric.getKey(), metric.getValue());
+		}
+		return ai;
+	}
+
+	private static class Counters {
+		private final long startTime;
+		private final LongAdder received = new LongAdder();
+		private final LongAdder aclDenied = new LongAdder();
+		private final LongAdder preFiltered = new LongAdder();
+		private final LongAdder bufferFull = new LongAdder();
+		private final LongAdder produced = new LongAdder();
+		private final LongAdder suppressed = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+		private final LatencyHistogram parseTime = new LatencyHistogram();
+
+		private Counters() {
+			this(System.currentTimeMillis());
+		}
+
+		private Counters(long startTime) {
+			this.startTime = startTime;
+		}
+	}
+}
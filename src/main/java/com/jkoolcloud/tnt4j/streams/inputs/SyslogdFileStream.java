@@ -22,25 +22,35 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.graylog2.syslog4j.Syslog;
 import org.graylog2.syslog4j.SyslogConfigIF;
+import org.graylog2.syslog4j.SyslogConstants;
 import org.graylog2.syslog4j.SyslogIF;
 import org.graylog2.syslog4j.impl.message.processor.structured.StructuredSyslogMessageProcessor;
+import org.graylog2.syslog4j.impl.net.tcp.TCPNetSyslogConfig;
+import org.graylog2.syslog4j.impl.net.udp.UDPNetSyslogConfig;
 import org.graylog2.syslog4j.server.SyslogServerEventIF;
 import org.graylog2.syslog4j.server.SyslogServerIF;
 import org.graylog2.syslog4j.util.SyslogUtility;
 
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.SyslogStreamProperties;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.ReadAheadInputStream;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -60,6 +70,47 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * (Optional)</li>
  * <li>Timeout - server communication timeout, where '0' means - server implementation dependent timeout handling.
  * Default value - '0'. (Optional)</li>
+ * <li>FileName - Syslog file to read and send lines to Syslog server. Can be glob pattern (e.g.
+ * {@code /logs/*}{@code /syslog*}) to send lines of all matching files. If not defined, stream acts as plain Syslogd
+ * stream. (Optional)</li>
+ * <li>Facility - Syslog facility name used to send plain Syslog file lines. Default value - 'USER'. (Optional)</li>
+ * <li>Level - Syslog level name used to send plain Syslog file lines. Default value - 'INFO'. (Optional)</li>
+ * <li>ReadMode - Syslog file reading mode: one of 'buffered' or 'mapped'. 'buffered' mode reads file line by line using
+ * single thread. 'mapped' mode memory maps file, splits it into newline aligned chunks and decodes them in parallel,
+ * while decoded lines are still sent by single stream thread, so sending rate is bound by single Syslog client.
+ * Default value - 'buffered'. (Optional)</li>
+ * <li>Parallelism - number of threads used to process file chunks in 'mapped' read mode. Default value - number of
+ * available processors. (Optional)</li>
+ * <li>ChunkSize - approximate file chunk size in bytes used in 'mapped' read mode. Default value - '4194304' (4MB).
+ * (Optional)</li>
+ * <li>PreserveOrder - flag indicating whether file lines shall be sent in same order as found in file when 'mapped'
+ * read mode is used. Default value - {@code true}. (Optional)</li>
+ * <li>ProgressReportInterval - file processing progress (bytes/sec) reporting interval in seconds, where '0' means
+ * progress reporting is disabled. Default value - '10'. (Optional)</li>
+ * <li>Compression - Syslog file compression type: one of 'auto', 'none', 'gzip', 'zip' or 'deflate'. 'auto' detects
+ * compression type from file header or extension. Compressed files are always read in 'buffered' read mode. Default
+ * value - 'auto'. (Optional)</li>
+ * <li>ReadAheadBufferSize - size in bytes of single buffer used to read (and decompress) file ahead of lines
+ * processing. Default value - '1048576' (1MB). (Optional)</li>
+ * <li>ReadAheadBuffers - number of buffers used to read (and decompress) file ahead of lines processing by dedicated
+ * thread, where '0' means file is read by lines processing thread. Default value - '4'. (Optional)</li>
+ * <li>ReplaySpeed - Syslog file replay speed factor honoring captured entries inter-arrival times, e.g. '0.5' replays
+ * two times slower and '10' - ten times faster than captured. Inter-arrival times are resolved from JSON entries
+ * {@code "offset.usec"} value, or plain Syslog lines header timestamps. Achieved and target replay rates are logged
+ * every 'ProgressReportInterval' seconds. '0' means file is sent as fast as possible. Default value - '0'.
+ * (Optional)</li>
+ * <li>Follow - flag indicating whether Syslog file shall be followed (tailed) for appended lines instead of reading it
+ * once. Followed file rotation and truncation are detected, and new file is followed after rest of rotated file is
+ * read. File is read using 'ReadAheadBufferSize' sized NIO buffer. Default value - {@code false}. (Optional)</li>
+ * <li>FollowPollInterval - followed file changes polling interval in milliseconds. File is polled in addition to file
+ * system change notifications. Default value - '1000'. (Optional)</li>
+ * <li>OffsetFile - file to checkpoint followed file read offset. On restart stream continues reading followed file
+ * from checkpointed offset. If not defined, followed file is read from the beginning. (Optional)</li>
+ * <li>CheckpointInterval - followed file read offset checkpointing interval in milliseconds. Default value - '5000'.
+ * (Optional)</li>
+ * <li>FileParallelism - maximal number of files processed concurrently when 'FileName' is glob pattern. Every file is
+ * read in 'buffered' read mode by single thread using dedicated 'tcp' or 'udp' Syslog client, so file lines order is
+ * preserved. Default value - number of available processors. (Optional)</li>
  * </ul>
  *
  * @version $Revision: 1 $
@@ -68,10 +119,39 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 public class SyslogdFileStream extends SyslogdStream {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogdFileStream.class);
 
+	/**
+	 * Constant for file read mode reading file line by line using single thread.
+	 */
+	public static final String READ_MODE_BUFFERED = "buffered"; // NON-NLS
+	/**
+	 * Constant for file read mode reading memory mapped file chunks in parallel.
+	 */
+	public static final String READ_MODE_MAPPED = "mapped"; // NON-NLS
+
+	private static final int LINE_READER_BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_MESSAGE_PROCESSORS = 1024;
+
 	// Stream properties
 	private String fileName = null;
 	private String facility = "USER"; // NON-NLS
 	private String level = "INFO"; // NON-NLS
+	private String readMode = READ_MODE_BUFFERED;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private int chunkSize = MappedSyslogFileReader.DEFAULT_CHUNK_SIZE;
+	private boolean preserveOrder = true;
+	private long progressReportInterval = 10;
+	private String compression = SyslogFileInputs.COMPRESSION_AUTO;
+	private int readAheadBufferSize = ReadAheadInputStream.DEFAULT_BUFFER_SIZE;
+	private int readAheadBuffers = ReadAheadInputStream.DEFAULT_BUFFERS_COUNT;
+	private double replaySpeed = 0;
+	private boolean follow = false;
+	private long followPollInterval = TimeUnit.SECONDS.toMillis(1);
+	private String offsetFile = null;
+	private long checkpointInterval = TimeUnit.SECONDS.toMillis(5);
+
+	private int fileParallelism = Runtime.getRuntime().availableProcessors();
+
+	private int syslogLevel;
 
 	/**
 	 * Constructs an empty SyslogdFileStream. Requires configuration settings to set input stream source.
@@ -96,6 +176,48 @@ public class SyslogdFileStream extends SyslogdStream {
 		if (SyslogStreamProperties.PROP_LEVEL.equalsIgnoreCase(name)) {
 			return level;
 		}
+		if (SyslogStreamProperties.PROP_READ_MODE.equalsIgnoreCase(name)) {
+			return readMode;
+		}
+		if (SyslogStreamProperties.PROP_PARALLELISM.equalsIgnoreCase(name)) {
+			return parallelism;
+		}
+		if (SyslogStreamProperties.PROP_CHUNK_SIZE.equalsIgnoreCase(name)) {
+			return chunkSize;
+		}
+		if (SyslogStreamProperties.PROP_PRESERVE_ORDER.equalsIgnoreCase(name)) {
+			return preserveOrder;
+		}
+		if (SyslogStreamProperties.PROP_PROGRESS_INTERVAL.equalsIgnoreCase(name)) {
+			return progressReportInterval;
+		}
+		if (SyslogStreamProperties.PROP_COMPRESSION.equalsIgnoreCase(name)) {
+			return compression;
+		}
+		if (SyslogStreamProperties.PROP_READ_AHEAD_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			return readAheadBufferSize;
+		}
+		if (SyslogStreamProperties.PROP_READ_AHEAD_BUFFERS.equalsIgnoreCase(name)) {
+			return readAheadBuffers;
+		}
+		if (SyslogStreamProperties.PROP_REPLAY_SPEED.equalsIgnoreCase(name)) {
+			return replaySpeed;
+		}
+		if (SyslogStreamProperties.PROP_FOLLOW.equalsIgnoreCase(name)) {
+			return follow;
+		}
+		if (SyslogStreamProperties.PROP_FOLLOW_POLL_INTERVAL.equalsIgnoreCase(name)) {
+			return followPollInterval;
+		}
+		if (SyslogStreamProperties.PROP_OFFSET_FILE.equalsIgnoreCase(name)) {
+			return offsetFile;
+		}
+		if (SyslogStreamProperties.PROP_CHECKPOINT_INTERVAL.equalsIgnoreCase(name)) {
+			return checkpointInterval;
+		}
+		if (SyslogStreamProperties.PROP_FILE_PARALLELISM.equalsIgnoreCase(name)) {
+			return fileParallelism;
+		}
 
 		return super.getProperty(name);
 	}
@@ -110,6 +232,34 @@ public class SyslogdFileStream extends SyslogdStream {
 			facility = value;
 		} else if (SyslogStreamProperties.PROP_LEVEL.equalsIgnoreCase(name)) {
 			level = value;
+		} else if (SyslogStreamProperties.PROP_READ_MODE.equalsIgnoreCase(name)) {
+			readMode = value;
+		} else if (SyslogStreamProperties.PROP_PARALLELISM.equalsIgnoreCase(name)) {
+			parallelism = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_CHUNK_SIZE.equalsIgnoreCase(name)) {
+			chunkSize = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_PRESERVE_ORDER.equalsIgnoreCase(name)) {
+			preserveOrder = Utils.toBoolean(value);
+		} else if (SyslogStreamProperties.PROP_PROGRESS_INTERVAL.equalsIgnoreCase(name)) {
+			progressReportInterval = Long.parseLong(value);
+		} else if (SyslogStreamProperties.PROP_COMPRESSION.equalsIgnoreCase(name)) {
+			compression = value;
+		} else if (SyslogStreamProperties.PROP_READ_AHEAD_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			readAheadBufferSize = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_READ_AHEAD_BUFFERS.equalsIgnoreCase(name)) {
+			readAheadBuffers = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_REPLAY_SPEED.equalsIgnoreCase(name)) {
+			replaySpeed = Double.parseDouble(value);
+		} else if (SyslogStreamProperties.PROP_FOLLOW.equalsIgnoreCase(name)) {
+			follow = Utils.toBoolean(value);
+		} else if (SyslogStreamProperties.PROP_FOLLOW_POLL_INTERVAL.equalsIgnoreCase(name)) {
+			followPollInterval = Long.parseLong(value);
+		} else if (SyslogStreamProperties.PROP_OFFSET_FILE.equalsIgnoreCase(name)) {
+			offsetFile = value;
+		} else if (SyslogStreamProperties.PROP_CHECKPOINT_INTERVAL.equalsIgnoreCase(name)) {
+			checkpointInterval = Long.parseLong(value);
+		} else if (SyslogStreamProperties.PROP_FILE_PARALLELISM.equalsIgnoreCase(name)) {
+			fileParallelism = Integer.parseInt(value);
 		}
 	}
 
@@ -118,11 +268,42 @@ public class SyslogdFileStream extends SyslogdStream {
 		super.applyProperties();
 
 		String protocol = (String) getProperty(SyslogStreamProperties.PROP_PROTOCOL);
-		if (StringUtils.isNotEmpty(fileName) && !Syslog.exists(protocol)) {
+		if (StringUtils.isNotEmpty(fileName) && (!Syslog.exists(protocol)
+				|| SyslogFileInputs.isGlob(fileName) && !isNetProtocol(protocol))) {
 			throw new IllegalArgumentException(
 					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
 							"TNTInputStream.property.illegal", SyslogStreamProperties.PROP_PROTOCOL, protocol));
 		}
+
+		if (!READ_MODE_BUFFERED.equalsIgnoreCase(readMode) && !READ_MODE_MAPPED.equalsIgnoreCase(readMode)) {
+			throw new IllegalArgumentException(
+					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+							"TNTInputStream.property.illegal", SyslogStreamProperties.PROP_READ_MODE, readMode));
+		}
+
+		if (!SyslogFileInputs.isSupported(compression)) {
+			throw new IllegalArgumentException(
+					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+							"TNTInputStream.property.illegal", SyslogStreamProperties.PROP_COMPRESSION, compression));
+		}
+
+		if (replaySpeed < 0) {
+			throw new IllegalArgumentException(
+					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+							"TNTInputStream.property.illegal", SyslogStreamProperties.PROP_REPLAY_SPEED, replaySpeed));
+		}
+
+		if (fileParallelism <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_FILE_PARALLELISM, fileParallelism));
+		}
+
+		if (follow && followPollInterval <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_FOLLOW_POLL_INTERVAL, followPollInterval));
+		}
 	}
 
 	@Override
@@ -156,23 +337,39 @@ public class SyslogdFileStream extends SyslogdStream {
 		String host = (String) getProperty(StreamProperties.PROP_HOST);
 		int port = (Integer) getProperty(StreamProperties.PROP_PORT);
 
-		SyslogIF syslog = Syslog.getInstance(protocol);
-		SyslogConfigIF syslogConfig = syslog.getConfig();
-		// syslogConfig.setUseStructuredData(true);
-
-		if (host != null) {
-			syslogConfig.setHost(host);
-		}
-
-		syslogConfig.setPort(port);
-
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
 				"SyslogdStream.syslog.params", protocol, host, port);
 
-		syslogConfig.setFacility(facility);
+		syslogLevel = SyslogUtility.getLevel(level);
 
 		try {
-			sendFromTextFile(syslog);
+			if (SyslogFileInputs.isGlob(fileName)) {
+				sendFromFiles(protocol, host, port);
+				return;
+			}
+
+			SyslogSender sender = new SyslogSender(Syslog.getInstance(protocol), host, port);
+			if (follow) {
+				if (isCompressed(Paths.get(fileName))) {
+					logger().log(OpLevel.WARNING,
+							StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogdFileStream.follow.compressed", fileName);
+					sendFromTextFile(sender);
+				} else {
+					sendFromFollowedFile(sender);
+				}
+			} else if (fileName != null && READ_MODE_MAPPED.equalsIgnoreCase(readMode)) {
+				if (isCompressed(Paths.get(fileName))) {
+					logger().log(OpLevel.WARNING,
+							StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogdFileStream.file.mapped.compressed", fileName);
+					sendFromTextFile(sender);
+				} else {
+					sendFromMappedFile(sender);
+				}
+			} else {
+				sendFromTextFile(sender);
+			}
 		} catch (Exception exc) {
 			Utils.logThrowable(logger(), OpLevel.WARNING,
 					StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
@@ -182,59 +379,258 @@ public class SyslogdFileStream extends SyslogdStream {
 		}
 	}
 
-	private void sendFromTextFile(SyslogIF syslog) throws IOException, InterruptedException {
-		int syslogLevel = SyslogUtility.getLevel(level);
-		InputStream is = fileName == null ? System.in : Files.newInputStream(Paths.get(fileName));
+	private boolean isCompressed(Path file) throws IOException {
+		return !SyslogFileInputs.COMPRESSION_NONE.equals(SyslogFileInputs.resolveCompression(file, compression));
+	}
+
+	private void sendFromTextFile(SyslogSender sender) throws IOException, InterruptedException {
+		InputStream is = fileName == null ? System.in
+				: SyslogFileInputs.open(Paths.get(fileName), compression, readAheadBufferSize, readAheadBuffers);
 
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
 				"SyslogdStream.file.send.start", fileName);
 
-		try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(is), LINE_READER_BUFFER_SIZE)) {
 			String line;
-			while ((line = br.readLine()) != null && !line.isEmpty()) {
-				if (!line.startsWith("{")) {
-					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
-							"SyslogdStream.file.send.line", facility, level, line);
-					syslog.log(syslogLevel, line);
-				} else {
-					jsonSyslog(syslog, line);
+			while ((line = br.readLine()) != null && !isHalted()) {
+				if (!line.isEmpty()) {
+					sender.send(SyslogFileRecord.parse(line));
+				}
+			}
+		}
+	}
+
+	private void sendFromFollowedFile(SyslogSender sender) throws Exception {
+		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdStream.file.send.start", fileName);
+
+		SyslogFileTailer tailer = new SyslogFileTailer(logger(), Paths.get(fileName), Charset.defaultCharset(),
+				readAheadBufferSize, followPollInterval,
+				StringUtils.isEmpty(offsetFile) ? null : Paths.get(offsetFile), checkpointInterval);
+		tailer.tail(sender::send, this::isHalted);
+	}
+
+	private void sendFromMappedFile(SyslogSender sender) throws Exception {
+		Path file = Paths.get(fileName);
+
+		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdFileStream.file.send.mapped", fileName, parallelism, chunkSize, preserveOrder);
+
+		MappedSyslogFileReader reader = new MappedSyslogFileReader(file, Charset.defaultCharset(), chunkSize,
+				parallelism, preserveOrder);
+		SyslogFileProgress progress = new SyslogFileProgress(logger(), fileName, Files.size(file),
+				progressReportInterval);
+		reader.read(sender::send, progress);
+		progress.complete();
+	}
+
+	/**
+	 * Sends lines of all files matching glob pattern defined by 'FileName' property. Files are processed concurrently
+	 * by bounded threads pool, where every file is read by single thread to preserve file lines order. Every pool
+	 * thread uses dedicated Syslog client instance, destroyed when all files are sent.
+	 */
+	private void sendFromFiles(String protocol, String host, int port) throws Exception {
+		List<Path> files = SyslogFileInputs.expandGlob(fileName);
+		int threads = Math.min(fileParallelism, files.size());
+
+		logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdFileStream.files.expanded", fileName, files.size(), threads);
+		if (files.isEmpty()) {
+			return;
+		}
+
+		List<SyslogIF> syslogs = new ArrayList<>(threads);
+		try {
+			BlockingQueue<SyslogSender> senders = new ArrayBlockingQueue<>(threads);
+			for (int i = 0; i < threads; i++) {
+				SyslogIF syslog = createSyslog(protocol, i);
+				syslogs.add(syslog);
+				senders.add(new SyslogSender(syslog, host, port));
+			}
+
+			sendFromFiles(files, threads, senders);
+		} finally {
+			for (SyslogIF syslog : syslogs) {
+				Syslog.destroyInstance(syslog);
+			}
+		}
+	}
+
+	private void sendFromFiles(List<Path> files, int threads, BlockingQueue<SyslogSender> senders) throws Exception {
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				r -> new Thread(r, "SyslogdFileStream.FileSender-" + threadCount.incrementAndGet())); // NON-NLS
+		long startTime = System.nanoTime();
+		Map<Path, Future<Long>> results = new LinkedHashMap<>(files.size());
+		try {
+			for (Path file : files) {
+				results.put(file, executor.submit(() -> {
+					SyslogSender sender = senders.take();
+					try {
+						return sendFromFile(sender, file);
+					} finally {
+						senders.put(sender);
+					}
+				}));
+			}
+
+			int failed = 0;
+			long records = 0;
+			for (Map.Entry<Path, Future<Long>> result : results.entrySet()) {
+				try {
+					records += result.getValue().get();
+				} catch (ExecutionException exc) {
+					failed++;
+					Utils.logThrowable(logger(), OpLevel.WARNING,
+							StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogdFileStream.files.file.failed", result.getKey(), exc.getCause());
 				}
 			}
+
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdFileStream.files.complete", fileName, files.size() - failed, failed, records,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
 		}
 	}
 
-	private void jsonSyslog(SyslogIF syslog, String line) throws InterruptedException {
-		DocumentContext dc = JsonPath.parse(line);
-		// JsonElement jelement = jparser.parse(line);
-		// JsonObject jobject = jelement.getAsJsonObject();
-		long offset_usec = dc.read("$['offset.usec']", Long.class); // NON-NLS
-		String facility = dc.read("$.facility", String.class); // NON-NLS
-		String level = dc.read("$.level", String.class); // NON-NLS
-		String msg = dc.read("$.msg", String.class); // NON-NLS
-		String appl = dc.read("$.appl", String.class); // NON-NLS
-		String pid = dc.read("$.pid", String.class); // NON-NLS
-
-		if (appl != null) {
-			StructuredSyslogMessageProcessor mpr = new StructuredSyslogMessageProcessor(appl);
-			mpr.setProcessId(pid);
-			syslog.setStructuredMessageProcessor(mpr);
-			syslog.getConfig().setUseStructuredData(true);
-		} else {
-			syslog.getConfig().setUseStructuredData(false);
-		}
-		if (!syslog.getConfig().isUseStructuredData()) {
-			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
-					"SyslogdStream.file.send.json.line", offset_usec, syslog.getConfig().isUseStructuredData(),
-					facility, level, msg);
-		} else {
-			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
-					"SyslogdStream.file.send.json.line2", offset_usec, syslog.getConfig().isUseStructuredData(),
-					facility, level, appl, pid, msg);
-		}
-
-		// Thread.sleep(offset_usec / 1000);
-
-		syslog.getConfig().setFacility(facility);
-		syslog.log(SyslogUtility.getLevel(level), msg);
+	/**
+	 * Creates dedicated Syslog client instance for file sender thread. Instance name includes stream name, so
+	 * concurrently running streams do not share instances.
+	 */
+	private SyslogIF createSyslog(String protocol, int index) {
+		SyslogConfigIF config = SyslogConstants.TCP.equalsIgnoreCase(protocol) ? new TCPNetSyslogConfig()
+				: new UDPNetSyslogConfig();
+
+		return Syslog.createInstance(getName() + "-" + protocol + "-file-" + index, config); // NON-NLS
+	}
+
+	private static boolean isNetProtocol(String protocol) {
+		return SyslogConstants.TCP.equalsIgnoreCase(protocol) || SyslogConstants.UDP.equalsIgnoreCase(protocol);
+	}
+
+	private long sendFromFile(SyslogSender sender, Path file) throws Exception {
+		if (isHalted()) {
+			return 0;
+		}
+
+		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogdStream.file.send.start", file);
+
+		SyslogFileProgress progress = new SyslogFileProgress(logger(), file.toString(),
+				isCompressed(file) ? -1 : Files.size(file), progressReportInterval);
+		InputStream is = SyslogFileInputs.open(file, compression, readAheadBufferSize, readAheadBuffers);
+		try (SyslogLineReader reader = new SyslogLineReader(is, Charset.defaultCharset(), LINE_READER_BUFFER_SIZE)) {
+			String line;
+			while ((line = reader.readLine()) != null && !isHalted()) {
+				boolean sent = !line.isEmpty() && sender.send(SyslogFileRecord.parse(line));
+				progress.update(reader.getLineBytes(), sent ? 1 : 0);
+			}
+		}
+		progress.complete();
+
+		return progress.getRecords();
+	}
+
+	/**
+	 * Sends Syslog file entries using bound Syslog client. Sender is expected to be used by single thread.
+	 */
+	private class SyslogSender {
+		private final SyslogIF syslog;
+		private final SyslogReplayPacer replayPacer;
+		private final Map<String, StructuredSyslogMessageProcessor> messageProcessors = new LinkedHashMap<>(16,
+				0.75f, true) {
+			private static final long serialVersionUID = 4425164780953720196L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, StructuredSyslogMessageProcessor> eldest) {
+				return size() > MAX_MESSAGE_PROCESSORS;
+			}
+		};
+
+		SyslogSender(SyslogIF syslog, String host, int port) {
+			this.syslog = syslog;
+
+			SyslogConfigIF syslogConfig = syslog.getConfig();
+			if (host != null) {
+				syslogConfig.setHost(host);
+			}
+			syslogConfig.setPort(port);
+			syslogConfig.setFacility(facility);
+
+			replayPacer = replaySpeed > 0 ? new SyslogReplayPacer(logger(), replaySpeed, progressReportInterval,
+					SyslogdFileStream.this::isHalted) : null;
+		}
+
+		/**
+		 * Sends Syslog file entry, waiting for entry replay time first if replay pacing is enabled.
+		 *
+		 * @param record
+		 *            Syslog file entry to send
+		 * @return {@code true} if entry has been sent, {@code false} if stream got halted while waiting
+		 *
+		 * @throws InterruptedException
+		 *             if thread got interrupted while waiting
+		 */
+		boolean send(SyslogFileRecord record) throws InterruptedException {
+			if (replayPacer != null && !replayPacer.pace(record)) {
+				return false;
+			}
+
+			if (record.isJson()) {
+				jsonSyslog(record);
+			} else {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+						"SyslogdStream.file.send.line", facility, level, record.getLine());
+				syslog.log(syslogLevel, record.getLine());
+			}
+			return true;
+		}
+
+		private void jsonSyslog(SyslogFileRecord record) throws InterruptedException {
+			long offset_usec = record.getOffsetUsec();
+			String facility = record.getFacility();
+			String level = record.getLevel();
+			String msg = record.getMessage();
+			String appl = record.getAppl();
+			String pid = record.getPid();
+
+			if (appl != null) {
+				syslog.setStructuredMessageProcessor(getMessageProcessor(appl, pid));
+				syslog.getConfig().setUseStructuredData(true);
+			} else {
+				syslog.getConfig().setUseStructuredData(false);
+			}
+			if (!syslog.getConfig().isUseStructuredData()) {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+						"SyslogdStream.file.send.json.line", offset_usec, syslog.getConfig().isUseStructuredData(),
+						facility, level, msg);
+			} else {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+						"SyslogdStream.file.send.json.line2", offset_usec, syslog.getConfig().isUseStructuredData(),
+						facility, level, appl, pid, msg);
+			}
+
+			syslog.getConfig().setFacility(facility);
+			syslog.log(SyslogUtility.getLevel(level), msg);
+		}
+
+		/**
+		 * Returns structured Syslog message processor for provided application name and process identifier.
+		 * Processors are cached in bounded LRU cache, since file entries mostly repeat same few application/process
+		 * pairs.
+		 */
+		private StructuredSyslogMessageProcessor getMessageProcessor(String appl, String pid) {
+			String key = pid == null ? appl : appl + '\u0000' + pid;
+			StructuredSyslogMessageProcessor mpr = messageProcessors.get(key);
+			if (mpr == null) {
+				mpr = new StructuredSyslogMessageProcessor(appl);
+				mpr.setProcessId(pid);
+				messageProcessors.put(key, mpr);
+			}
+			return mpr;
+		}
 	}
 }
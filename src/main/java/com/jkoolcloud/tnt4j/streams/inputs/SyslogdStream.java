@@ -19,6 +19,17 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.net.SocketAddress;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.lang3.StringUtils;
 import org.graylog2.syslog4j.SyslogConstants;
@@ -29,9 +40,10 @@ import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.SyslogStreamProperties;
-import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
-import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
-import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.parsers.AbstractSyslogParser;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+import com.jkoolcloud.tnt4j.streams.utils.*;
 
 /**
  * Implements Syslog server {@link SyslogServerIF} based activities stream, where each Syslog event data is assumed to
@@ -39,6 +51,11 @@ import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
  * <p>
  * This activity stream requires parsers that can support JMS {@link SyslogServerEventIF} data.
  * <p>
+ * Received events are passed to parsers wrapped into {@link SyslogAddressedEvent}, carrying event sender address and
+ * route data tags. Wrapper delegates all {@link SyslogServerEventIF} methods to received event, but type checks of
+ * stream items, e.g. {@code data instanceof StructuredSyslogServerEvent}, do not match it: custom parsers shall use
+ * {@link SyslogAddressedEvent#unwrap(SyslogServerEventIF)} to get received event instance before checking its type.
+ * <p>
  * This activity stream supports the following properties (in addition to those supported by
  * {@link AbstractBufferedStream}):
  * <ul>
@@ -48,7 +65,54 @@ import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
  * (Optional)</li>
  * <li>Timeout - server communication timeout, where '0' means - server implementation dependent timeout handling.
  * Actual if 'Protocol' property value is set to 'tcp'. Default value - '0'. (Optional)</li>
+ * <li>LatencyTracking - flag indicating whether to measure end-to-end latency of messages sent by
+ * {@link com.jkoolcloud.tnt4j.streams.utils.SyslogLoadGenerator}. Default value - 'false'. (Optional)</li>
+ * <li>LatencyReportInterval - latency percentiles reporting interval in seconds. Actual if 'LatencyTracking' property
+ * value is set to 'true'. Default value - '10'. (Optional)</li>
+ * <li>MonitoringInterval - stream health snapshots emission interval in seconds, '0' - disables snapshots. Stream
+ * health snapshots are sent to stream output along with stream processed activities, see {@link SyslogStreamMonitor}.
+ * Default value - '0'. (Optional)</li>
+ * <li>PreFilter - Syslog events pre-filter rules, applied to received events before putting them into stream buffer,
+ * see {@link SyslogPriFilter} for rules syntax. Default value - none. (Optional)</li>
+ * <li>Routes - Syslog events routing rules, classifying received events into named routes by facility, severity,
+ * host and application name, see {@link SyslogRouter} for rules syntax. Default value - none. (Optional)</li>
+ * <li>RouteWorkers - number of worker threads parsing events of every route. Actual if 'Routes' property is defined.
+ * Default value - '1'. (Optional)</li>
+ * <li>RouteBufferSize - maximal number of events buffered by every route, events received when route buffer is full
+ * are dropped. Actual if 'Routes' property is defined. Default value - '10000'. (Optional)</li>
+ * <li>PriorityBuffer - flag indicating whether to buffer received events using {@link SyslogPriorityBuffer}, where
+ * events of 'ExpressSeverity' or higher severity are put into express lane, always taken before standard lane
+ * backlog. Standard lane capacity is 'BufferSize' property value. Events received when lane is full are dropped.
+ * Default value - 'false'. (Optional)</li>
+ * <li>ExpressSeverity - lowest severity code of events put into express lane, where '0' is emergency and '7' is debug.
+ * Actual if 'PriorityBuffer' property value is set to 'true'. Default value - '3' (error). (Optional)</li>
+ * <li>ExpressBufferSize - maximal number of events buffered by express lane. Actual if 'PriorityBuffer' property value
+ * is set to 'true'. Default value - '10000'. (Optional)</li>
+ * <li>ExpressBurst - maximal number of express lane events taken in a row while standard lane is not empty. Actual if
+ * 'PriorityBuffer' property value is set to 'true'. Default value - '16'. (Optional)</li>
+ * <li>OffHeapBufferBytes - maximal size in bytes of off-heap memory used to buffer received events using
+ * {@link SyslogOffHeapBuffer}, '0' - disables off-heap buffering. Events received when memory limit is reached are
+ * dropped. Can't be used together with 'PriorityBuffer'. Default value - '0'. (Optional)</li>
+ * <li>OffHeapSlabSize - size in bytes of single off-heap buffer memory slab. Actual if 'OffHeapBufferBytes' property
+ * value is greater than '0'. Default value - '1048576'. (Optional)</li>
+ * <li>RingBufferSize - capacity of lock free ring buffer used to hand received events off to stream parsing threads,
+ * see {@link SyslogRingBuffer}, '0' - disables ring buffer. Events received when ring is full are dropped. Can't be
+ * used together with 'PriorityBuffer' and 'OffHeapBufferBytes'. Default value - '0'. (Optional)</li>
+ * <li>RingBufferWaitStrategy - ring buffer consumers wait strategy: one of 'busy-spin', 'yield' or 'park'. Actual if
+ * 'RingBufferSize' property value is greater than '0'. Default value - 'park'. (Optional)</li>
+ * <li>AclFile - path of senders access control list rules file, allowing or denying received events by sender IP
+ * address before any other processing, see {@link SyslogAcl} for rules syntax. Default value - none. (Optional)</li>
+ * <li>AclDefaultAction - action applied to senders not matched by any ACL rule: one of 'allow' or 'deny'. Actual if
+ * 'AclFile' property is defined. Default value - 'deny'. (Optional)</li>
+ * <li>AclReloadInterval - ACL rules file changes check interval in seconds, '0' - file is loaded once. Actual if
+ * 'AclFile' property is defined. Default value - '60'. (Optional)</li>
  * </ul>
+ * <p>
+ * Events classified into route are not put into stream buffer: every route has own buffer and worker threads, applying
+ * only parsers bound to stream with tag equal to route name. Produced activities are handled same way as stream
+ * buffered items: filtered out activities are skipped, stream activities counters and events are updated. This way
+ * every event is parsed only by parsers of its route, and slow route parsers does not delay processing of other routes
+ * events. Events not classified into any route are processed by stream as usual.
  *
  * @version $Revision: 1 $
  *
@@ -58,14 +122,46 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogdStream.class);
 
 	private static final String DEFAULT_HOST = "0.0.0.0"; // NON-NLS
+	private static final int DEFAULT_BUFFER_SIZE = 1024;
+	private static final long BUFFER_POLL_MS = 500;
 
 	// Stream properties
 	private String protocol = SyslogConstants.TCP;
 	private String host = DEFAULT_HOST;
 	private int port = SyslogConstants.SYSLOG_PORT_DEFAULT;
 	private int timeout = 0;
+	private boolean latencyTracking = false;
+	private long latencyReportInterval = 10;
+	private long monitoringInterval = 0;
+	private String preFilterRules;
+	private String routesRules;
+	private int routeWorkers = 1;
+	private int routeBufferSize = 10000;
+	private boolean priorityBuffering = false;
+	private int expressSeverity = SyslogConstants.LEVEL_ERROR;
+	private int expressBufferSize = 10000;
+	private int expressBurst = 16;
+	private long offHeapBufferBytes = 0;
+	private int offHeapSlabSize = 1024 * 1024;
+	private int ringBufferSize = 0;
+	private String ringBufferWaitStrategy = SyslogRingBuffer.WAIT_PARK;
+	private String aclFile;
+	private String aclDefaultAction = SyslogAcl.DENY;
+	private long aclReloadInterval = 60;
 
 	private SyslogDataReceiver syslogDataReceiver;
+	private SyslogLatencyTracker latencyTracker;
+	private SyslogStreamMonitor streamMonitor;
+	private SyslogAcl acl;
+	private SyslogPriFilter preFilter;
+	private SyslogRouter router;
+	private RouteProcessor[] routeProcessors;
+	private SyslogPriorityBuffer<SyslogServerEventIF> priorityBuffer;
+	private SyslogOffHeapBuffer offHeapBuffer;
+	private SyslogRingBuffer<SyslogServerEventIF> ringBuffer;
+	private ScheduledExecutorService monitoringExecutor;
+	private final AtomicLong bufferedItems = new AtomicLong();
+	private final List<AbstractSyslogParser> syslogParsers = new ArrayList<>();
 
 	/**
 	 * Constructs an empty SyslogdStream. Requires configuration settings to set input stream source.
@@ -93,10 +189,73 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 		if (SyslogStreamProperties.PROP_TIMEOUT.equalsIgnoreCase(name)) {
 			return timeout;
 		}
+		if (SyslogStreamProperties.PROP_LATENCY_TRACKING.equalsIgnoreCase(name)) {
+			return latencyTracking;
+		}
+		if (SyslogStreamProperties.PROP_LATENCY_REPORT_INTERVAL.equalsIgnoreCase(name)) {
+			return latencyReportInterval;
+		}
+		if (SyslogStreamProperties.PROP_MONITORING_INTERVAL.equalsIgnoreCase(name)) {
+			return monitoringInterval;
+		}
+		if (SyslogStreamProperties.PROP_PRE_FILTER.equalsIgnoreCase(name)) {
+			return preFilterRules;
+		}
+		if (SyslogStreamProperties.PROP_ROUTES.equalsIgnoreCase(name)) {
+			return routesRules;
+		}
+		if (SyslogStreamProperties.PROP_ROUTE_WORKERS.equalsIgnoreCase(name)) {
+			return routeWorkers;
+		}
+		if (SyslogStreamProperties.PROP_ROUTE_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			return routeBufferSize;
+		}
+		if (SyslogStreamProperties.PROP_PRIORITY_BUFFER.equalsIgnoreCase(name)) {
+			return priorityBuffering;
+		}
+		if (SyslogStreamProperties.PROP_EXPRESS_SEVERITY.equalsIgnoreCase(name)) {
+			return expressSeverity;
+		}
+		if (SyslogStreamProperties.PROP_EXPRESS_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			return expressBufferSize;
+		}
+		if (SyslogStreamProperties.PROP_EXPRESS_BURST.equalsIgnoreCase(name)) {
+			return expressBurst;
+		}
+		if (SyslogStreamProperties.PROP_OFF_HEAP_BUFFER_BYTES.equalsIgnoreCase(name)) {
+			return offHeapBufferBytes;
+		}
+		if (SyslogStreamProperties.PROP_OFF_HEAP_SLAB_SIZE.equalsIgnoreCase(name)) {
+			return offHeapSlabSize;
+		}
+		if (SyslogStreamProperties.PROP_RING_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			return ringBufferSize;
+		}
+		if (SyslogStreamProperties.PROP_RING_BUFFER_WAIT_STRATEGY.equalsIgnoreCase(name)) {
+			return ringBufferWaitStrategy;
+		}
+		if (SyslogStreamProperties.PROP_ACL_FILE.equalsIgnoreCase(name)) {
+			return aclFile;
+		}
+		if (SyslogStreamProperties.PROP_ACL_DEFAULT_ACTION.equalsIgnoreCase(name)) {
+			return aclDefaultAction;
+		}
+		if (SyslogStreamProperties.PROP_ACL_RELOAD_INTERVAL.equalsIgnoreCase(name)) {
+			return aclReloadInterval;
+		}
 
 		return super.getProperty(name);
 	}
 
+	@Override
+	public void addParser(ActivityParser parser) throws IllegalStateException {
+		super.addParser(parser);
+
+		if (parser instanceof AbstractSyslogParser) {
+			syslogParsers.add((AbstractSyslogParser) parser);
+		}
+	}
+
 	@Override
 	public void setProperty(String name, String value) {
 		super.setProperty(name, value);
@@ -109,6 +268,42 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 			protocol = value;
 		} else if (SyslogStreamProperties.PROP_TIMEOUT.equalsIgnoreCase(name)) {
 			timeout = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_LATENCY_TRACKING.equalsIgnoreCase(name)) {
+			latencyTracking = Utils.toBoolean(value);
+		} else if (SyslogStreamProperties.PROP_LATENCY_REPORT_INTERVAL.equalsIgnoreCase(name)) {
+			latencyReportInterval = Long.parseLong(value);
+		} else if (SyslogStreamProperties.PROP_MONITORING_INTERVAL.equalsIgnoreCase(name)) {
+			monitoringInterval = Long.parseLong(value);
+		} else if (SyslogStreamProperties.PROP_PRE_FILTER.equalsIgnoreCase(name)) {
+			preFilterRules = value;
+		} else if (SyslogStreamProperties.PROP_ROUTES.equalsIgnoreCase(name)) {
+			routesRules = value;
+		} else if (SyslogStreamProperties.PROP_ROUTE_WORKERS.equalsIgnoreCase(name)) {
+			routeWorkers = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_ROUTE_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			routeBufferSize = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_PRIORITY_BUFFER.equalsIgnoreCase(name)) {
+			priorityBuffering = Utils.toBoolean(value);
+		} else if (SyslogStreamProperties.PROP_EXPRESS_SEVERITY.equalsIgnoreCase(name)) {
+			expressSeverity = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_EXPRESS_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			expressBufferSize = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_EXPRESS_BURST.equalsIgnoreCase(name)) {
+			expressBurst = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_OFF_HEAP_BUFFER_BYTES.equalsIgnoreCase(name)) {
+			offHeapBufferBytes = Long.parseLong(value);
+		} else if (SyslogStreamProperties.PROP_OFF_HEAP_SLAB_SIZE.equalsIgnoreCase(name)) {
+			offHeapSlabSize = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_RING_BUFFER_SIZE.equalsIgnoreCase(name)) {
+			ringBufferSize = Integer.parseInt(value);
+		} else if (SyslogStreamProperties.PROP_RING_BUFFER_WAIT_STRATEGY.equalsIgnoreCase(name)) {
+			ringBufferWaitStrategy = value;
+		} else if (SyslogStreamProperties.PROP_ACL_FILE.equalsIgnoreCase(name)) {
+			aclFile = value;
+		} else if (SyslogStreamProperties.PROP_ACL_DEFAULT_ACTION.equalsIgnoreCase(name)) {
+			aclDefaultAction = value;
+		} else if (SyslogStreamProperties.PROP_ACL_RELOAD_INTERVAL.equalsIgnoreCase(name)) {
+			aclReloadInterval = Long.parseLong(value);
 		}
 	}
 
@@ -126,12 +321,118 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
 							"TNTInputStream.property.illegal", SyslogStreamProperties.PROP_PROTOCOL, protocol));
 		}
+
+		if (latencyReportInterval <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_LATENCY_REPORT_INTERVAL, latencyReportInterval));
+		}
+
+		if (monitoringInterval < 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_MONITORING_INTERVAL, monitoringInterval));
+		}
+
+		if (routeWorkers <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_ROUTE_WORKERS, routeWorkers));
+		}
+
+		if (routeBufferSize <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_ROUTE_BUFFER_SIZE, routeBufferSize));
+		}
+
+		if (expressSeverity < SyslogConstants.LEVEL_EMERGENCY || expressSeverity > SyslogConstants.LEVEL_DEBUG) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_EXPRESS_SEVERITY, expressSeverity));
+		}
+
+		if (expressBufferSize <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_EXPRESS_BUFFER_SIZE, expressBufferSize));
+		}
+
+		if (expressBurst <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_EXPRESS_BURST, expressBurst));
+		}
+
+		if (offHeapBufferBytes < 0 || (offHeapBufferBytes > 0 && priorityBuffering)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_OFF_HEAP_BUFFER_BYTES, offHeapBufferBytes));
+		}
+
+		if (offHeapBufferBytes > 0 && (offHeapSlabSize <= 0 || offHeapSlabSize > offHeapBufferBytes)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_OFF_HEAP_SLAB_SIZE, offHeapSlabSize));
+		}
+
+		if (ringBufferSize < 0 || ringBufferSize > (1 << 30)
+				|| (ringBufferSize > 0 && (priorityBuffering || offHeapBufferBytes > 0))) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_RING_BUFFER_SIZE, ringBufferSize));
+		}
+
+		if (ringBufferSize > 0 && !SyslogRingBuffer.isValidWaitStrategy(ringBufferWaitStrategy)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_RING_BUFFER_WAIT_STRATEGY, ringBufferWaitStrategy));
+		}
+
+		if (StringUtils.isNotEmpty(aclFile) && !SyslogAcl.isValidAction(aclDefaultAction)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					SyslogStreamProperties.PROP_ACL_DEFAULT_ACTION, aclDefaultAction));
+		}
+
+		preFilter = SyslogPriFilter.create(preFilterRules);
+		router = SyslogRouter.create(routesRules);
 	}
 
 	@Override
 	protected void initialize() throws Exception {
 		super.initialize();
 
+		if (latencyTracking) {
+			latencyTracker = new SyslogLatencyTracker(logger(), latencyReportInterval);
+		}
+		if (StringUtils.isNotEmpty(aclFile)) {
+			acl = new SyslogAcl(aclFile, aclDefaultAction);
+			acl.start(aclReloadInterval);
+		}
+		if (monitoringInterval > 0) {
+			streamMonitor = new SyslogStreamMonitor();
+		}
+
+		if (priorityBuffering) {
+			priorityBuffer = new SyslogPriorityBuffer<>(expressBufferSize, getBufferSize(), expressBurst);
+		}
+		if (offHeapBufferBytes > 0) {
+			offHeapBuffer = new SyslogOffHeapBuffer(offHeapBufferBytes, offHeapSlabSize);
+		}
+		if (ringBufferSize > 0) {
+			// UDP server receives all datagrams by single thread, while TCP server uses thread per connection
+			ringBuffer = new SyslogRingBuffer<>(ringBufferSize, SyslogConstants.UDP.equalsIgnoreCase(protocol),
+					ringBufferWaitStrategy);
+		}
+
+		if (router != null) {
+			routeProcessors = new RouteProcessor[router.getRoutesCount()];
+			for (int i = 0; i < routeProcessors.length; i++) {
+				routeProcessors[i] = new RouteProcessor(router.getRouteName(i));
+			}
+		}
+
 		syslogDataReceiver = new SyslogDataReceiver();
 		syslogDataReceiver.initialize();
 	}
@@ -140,8 +441,24 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 	protected void start() throws Exception {
 		super.start();
 
+		if (routeProcessors != null) {
+			for (RouteProcessor routeProcessor : routeProcessors) {
+				routeProcessor.start();
+			}
+		}
+
 		syslogDataReceiver.start();
 
+		if (streamMonitor != null) {
+			monitoringExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, getName() + ".Monitor"); // NON-NLS
+				thread.setDaemon(true);
+				return thread;
+			});
+			monitoringExecutor.scheduleAtFixedRate(this::emitHealthSnapshot, monitoringInterval, monitoringInterval,
+					TimeUnit.SECONDS);
+		}
+
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 				"TNTInputStream.stream.start", getClass().getSimpleName(), getName());
 	}
@@ -152,9 +469,241 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 			syslogDataReceiver.shutdown();
 		}
 
+		if (routeProcessors != null) {
+			for (RouteProcessor routeProcessor : routeProcessors) {
+				routeProcessor.shutdown();
+			}
+		}
+
+		if (latencyTracker != null) {
+			latencyTracker.report();
+		}
+
+		if (monitoringExecutor != null) {
+			monitoringExecutor.shutdownNow();
+		}
+
+		if (acl != null) {
+			acl.close();
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.acl.counts", getName(), acl.getRuleCounts());
+		}
+
+		if (preFilter != null) {
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.pre.filter.counts", getName(), preFilter.getRuleCounts());
+		}
+
+		if (priorityBuffer != null) {
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.priority.buffer.dropped", getName(), priorityBuffer.getDropped(true),
+					priorityBuffer.getDropped(false));
+		}
+
+		if (offHeapBuffer != null) {
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.off.heap.buffer.dropped", getName(), offHeapBuffer.getDropped(),
+					offHeapBuffer.getAllocatedBytes());
+		}
+
+		if (ringBuffer != null) {
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.ring.buffer.dropped", getName(), ringBuffer.getDropped());
+		}
+
+		// stop parsers background tasks, so restarted stream does not leak them
+		for (AbstractSyslogParser parser : syslogParsers) {
+			parser.close();
+		}
+
 		super.cleanup();
 	}
 
+	@Override
+	public SyslogServerEventIF getNextItem() throws Exception {
+		SyslogFlightEvents.BufferDequeueEvent dequeueEvent = new SyslogFlightEvents.BufferDequeueEvent();
+		dequeueEvent.begin();
+		SyslogServerEventIF item = isCoreBuffered() ? super.getNextItem() : getNextBufferedItem();
+		if (item != null) {
+			long buffered = bufferedItems.decrementAndGet();
+			dequeueEvent.end();
+			if (dequeueEvent.shouldCommit()) {
+				dequeueEvent.bufferedItems = buffered;
+				dequeueEvent.commit();
+			}
+			if (latencyTracker != null) {
+				latencyTracker.dequeued(item.getMessage());
+			}
+		}
+		return item;
+	}
+
+	private boolean isCoreBuffered() {
+		return priorityBuffer == null && offHeapBuffer == null && ringBuffer == null;
+	}
+
+	/**
+	 * Takes next item from priority, off-heap or ring buffer, waiting while buffer is empty until stream gets halted or
+	 * input ends.
+	 *
+	 * @return next buffered item, or {@code null} if stream is halted or input has ended
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for item
+	 */
+	private SyslogServerEventIF getNextBufferedItem() throws InterruptedException {
+		while (true) {
+			SyslogServerEventIF item;
+			if (ringBuffer != null) {
+				item = ringBuffer.poll(BUFFER_POLL_MS, TimeUnit.MILLISECONDS);
+			} else if (offHeapBuffer != null) {
+				item = offHeapBuffer.poll(BUFFER_POLL_MS, TimeUnit.MILLISECONDS);
+			} else {
+				item = priorityBuffer.poll(BUFFER_POLL_MS, TimeUnit.MILLISECONDS);
+			}
+			if (item != null || isHalted() || isInputEnded()) {
+				return item;
+			}
+		}
+	}
+
+	@Override
+	protected String[] getDataTags(Object data) {
+		String[] routeTags = data instanceof SyslogAddressedEvent ? ((SyslogAddressedEvent) data).getRouteTags() : null;
+		return routeTags == null ? super.getDataTags(data) : routeTags;
+	}
+
+	@Override
+	protected ActivityInfo applyParsers(Object data, String... tags) throws IllegalStateException, ParseException {
+		if (streamMonitor == null) {
+			return super.applyParsers(data, tags);
+		}
+
+		long start = System.nanoTime();
+		try {
+			ActivityInfo ai = super.applyParsers(data, tags);
+			streamMonitor.parsed(System.nanoTime() - start, ai != null);
+			return ai;
+		} catch (IllegalStateException | ParseException exc) {
+			streamMonitor.parseFailed(System.nanoTime() - start);
+			throw exc;
+		}
+	}
+
+	/**
+	 * Sends stream health snapshot of last monitoring interval to stream output.
+	 */
+	protected void emitHealthSnapshot() {
+		try {
+			long buffered = bufferedItems.get();
+			double fill = getBufferFill(buffered);
+			if (routeProcessors != null) {
+				for (RouteProcessor processor : routeProcessors) {
+					int queued = processor.queue.size();
+					buffered += queued;
+					fill = Math.max(fill, queued * 100.0 / routeBufferSize);
+				}
+			}
+			ActivityInfo ai = SyslogStreamMonitor.toActivityInfo(getName(), streamMonitor.snapshot(buffered, fill));
+			getOutput().logItem(ai);
+		} catch (Throwable exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.monitoring.failed", exc);
+		}
+	}
+
+	/**
+	 * Resolves fill percentage of stream buffer used for not routed messages: ring buffer slots, off-heap buffer
+	 * memory, fullest priority buffer lane or core stream buffer.
+	 *
+	 * @param bufferedItems
+	 *            count of not routed messages waiting in stream buffer
+	 * @return stream buffer fill percentage, or {@code -1} if buffer capacity is unknown
+	 */
+	private double getBufferFill(long bufferedItems) {
+		if (ringBuffer != null) {
+			return ringBuffer.size() * 100.0 / ringBuffer.getCapacity();
+		}
+		if (offHeapBuffer != null) {
+			return offHeapBuffer.getUsedBytes() * 100.0 / offHeapBuffer.getMaxBytes();
+		}
+		if (priorityBuffer != null) {
+			return Math.max(priorityBuffer.size(true) * 100.0 / priorityBuffer.getCapacity(true),
+					priorityBuffer.size(false) * 100.0 / priorityBuffer.getCapacity(false));
+		}
+		int bufferSize = getBufferSize();
+		return bufferSize > 0 ? bufferedItems * 100.0 / bufferSize : -1;
+	}
+
+	private int getBufferSize() {
+		Object bufferSize = getProperty(StreamProperties.PROP_BUFFER_SIZE);
+		return bufferSize instanceof Number ? ((Number) bufferSize).intValue() : DEFAULT_BUFFER_SIZE;
+	}
+
+	/**
+	 * Returns Syslog events priority buffer.
+	 *
+	 * @return Syslog events priority buffer, or {@code null} if priority buffering is disabled
+	 */
+	public SyslogPriorityBuffer<SyslogServerEventIF> getPriorityBuffer() {
+		return priorityBuffer;
+	}
+
+	/**
+	 * Returns Syslog events off-heap buffer.
+	 *
+	 * @return Syslog events off-heap buffer, or {@code null} if off-heap buffering is disabled
+	 */
+	public SyslogOffHeapBuffer getOffHeapBuffer() {
+		return offHeapBuffer;
+	}
+
+	/**
+	 * Returns Syslog events ring buffer.
+	 *
+	 * @return Syslog events ring buffer, or {@code null} if ring buffer is disabled
+	 */
+	public SyslogRingBuffer<SyslogServerEventIF> getRingBuffer() {
+		return ringBuffer;
+	}
+
+	/**
+	 * Returns Syslog senders access control list.
+	 *
+	 * @return Syslog senders access control list, or {@code null} if ACL file is not defined
+	 */
+	public SyslogAcl getAcl() {
+		return acl;
+	}
+
+	/**
+	 * Returns Syslog events pre-filter.
+	 *
+	 * @return Syslog events pre-filter, or {@code null} if pre-filter is not defined
+	 */
+	public SyslogPriFilter getPreFilter() {
+		return preFilter;
+	}
+
+	/**
+	 * Returns Syslog events router.
+	 *
+	 * @return Syslog events router, or {@code null} if routes are not defined
+	 */
+	public SyslogRouter getRouter() {
+		return router;
+	}
+
+	/**
+	 * Returns count of received Syslog events waiting in stream buffer to be parsed.
+	 *
+	 * @return buffered Syslog events count
+	 */
+	public long getBufferedItemsCount() {
+		return bufferedItems.get();
+	}
+
 	@Override
 	protected boolean isInputEnded() {
 		return syslogDataReceiver.isInputEnded();
@@ -167,6 +716,82 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 		return payload == null ? 0 : payload.length;
 	}
 
+	/**
+	 * Syslog events route processor, having own bounded events buffer and worker threads applying route bound parsers
+	 * to buffered events and sending produced activities to stream output.
+	 */
+	private class RouteProcessor {
+		private final String name;
+		private final String[] tags;
+		private final BlockingQueue<SyslogServerEventIF> queue = new LinkedBlockingQueue<>(routeBufferSize);
+		private final Thread[] workers = new Thread[routeWorkers];
+		private final AtomicBoolean failureFlag = new AtomicBoolean();
+		private final LongAdder processed = new LongAdder();
+		private final LongAdder dropped = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+		private volatile boolean running = true;
+
+		private RouteProcessor(String name) {
+			this.name = name;
+			this.tags = new String[] { name };
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new Thread(this::process, getName() + ".route." + name + "-" + i); // NON-NLS
+				workers[i].setDaemon(true);
+			}
+		}
+
+		private void start() {
+			for (Thread worker : workers) {
+				worker.start();
+			}
+		}
+
+		private boolean offer(SyslogServerEventIF event) {
+			boolean accepted = queue.offer(event);
+			if (!accepted) {
+				dropped.increment();
+			}
+			return accepted;
+		}
+
+		private void process() {
+			while (running && !isHalted()) {
+				SyslogServerEventIF event;
+				try {
+					event = queue.poll(1, TimeUnit.SECONDS);
+				} catch (InterruptedException exc) {
+					break;
+				}
+				if (event == null) {
+					continue;
+				}
+				if (latencyTracker != null) {
+					latencyTracker.dequeued(event.getMessage());
+				}
+				try {
+					// same activity handling as stream buffered items: counters, filtering and stream events
+					processActivityItem(event, failureFlag);
+					processed.increment();
+				} catch (Exception exc) {
+					failed.increment();
+					Utils.logThrowable(logger(), OpLevel.WARNING,
+							StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogdStream.route.failed", name, exc);
+				}
+			}
+		}
+
+		private void shutdown() {
+			running = false;
+			for (Thread worker : workers) {
+				worker.interrupt();
+			}
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogdStream.route.stats", SyslogdStream.this.getName(), name, processed.sum(), dropped.sum(),
+					failed.sum());
+		}
+	}
+
 	private class SyslogDataReceiver extends InputProcessor implements SyslogServerSessionEventHandlerIF {
 		private static final long serialVersionUID = 1429130323098657827L;
 
@@ -267,9 +892,72 @@ public class SyslogdStream extends AbstractBufferedStream<SyslogServerEventIF> {
 		@Override
 		public void event(Object session, SyslogServerIF server, SocketAddress address,
 				SyslogServerEventIF syslogEvent) {
+			// senders ACL goes first, so denied sender events cost nothing more than source address lookup
+			if (acl != null && !acl.accept(address)) {
+				if (streamMonitor != null) {
+					streamMonitor.denied();
+				}
+				return;
+			}
+			if (preFilter != null && !preFilter.accept(syslogEvent)) {
+				if (streamMonitor != null) {
+					streamMonitor.filtered();
+				}
+				return;
+			}
+			SyslogFlightEvents.ReceiveEvent receiveEvent = new SyslogFlightEvents.ReceiveEvent();
+			receiveEvent.begin();
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
 					"SyslogdStream.event.received", syslogEvent.getMessage());
-			addInputToBuffer(syslogEvent);
+			if (latencyTracker != null) {
+				latencyTracker.received(syslogEvent.getMessage());
+			}
+			SyslogFlightEvents.BufferEnqueueEvent enqueueEvent = new SyslogFlightEvents.BufferEnqueueEvent();
+			enqueueEvent.begin();
+			int route = router == null ? -1 : router.route(syslogEvent);
+			// carry sender address along with event, so parsers need not to dig it from event internals, and routed
+			// event also carries route name used as data tag to pick route bound parsers
+			SyslogServerEventIF item = route >= 0
+					? new SyslogAddressedEvent(syslogEvent, address, routeProcessors[route].tags)
+					: SyslogAddressedEvent.wrap(syslogEvent, address);
+			boolean accepted;
+			long buffered;
+			if (route >= 0) {
+				accepted = routeProcessors[route].offer(item);
+				buffered = routeProcessors[route].queue.size();
+			} else {
+				// count before adding, so concurrently dequeued event never makes count negative
+				buffered = bufferedItems.incrementAndGet();
+				if (ringBuffer != null) {
+					accepted = ringBuffer.offer(item);
+				} else if (offHeapBuffer != null) {
+					accepted = offHeapBuffer.offer(item);
+				} else if (priorityBuffer != null) {
+					accepted = priorityBuffer.offer(item, item.getLevel() <= expressSeverity);
+				} else {
+					accepted = addInputToBuffer(item);
+				}
+				if (!accepted) {
+					buffered = bufferedItems.decrementAndGet();
+				}
+			}
+			if (streamMonitor != null) {
+				streamMonitor.received(accepted);
+			}
+			enqueueEvent.end();
+			if (enqueueEvent.shouldCommit()) {
+				enqueueEvent.accepted = accepted;
+				enqueueEvent.bufferedItems = buffered;
+				enqueueEvent.commit();
+			}
+
+			receiveEvent.end();
+			if (receiveEvent.shouldCommit()) {
+				receiveEvent.protocol = protocol;
+				receiveEvent.host = syslogEvent.getHost();
+				receiveEvent.size = getActivityItemByteSize(syslogEvent);
+				receiveEvent.commit();
+			}
 		}
 
 		@Override
@@ -20,6 +20,8 @@ package com.jkoolcloud.tnt4j.streams.parsers;
 
 import static com.jkoolcloud.tnt4j.streams.fields.StreamFieldType.*;
 
+import java.io.Closeable;
+import java.net.InetAddress;
 import java.security.MessageDigest;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -28,14 +30,13 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
-import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
-import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
-import com.jkoolcloud.tnt4j.streams.utils.Utils;
+import com.jkoolcloud.tnt4j.streams.utils.*;
 
 /**
  * Base class for abstract syslog entries data parser that assumes each activity data item is an Syslog server event
@@ -60,11 +61,32 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * minutes. Default value - {@value #DEFAULT_CACHE_EXPIRE_DURATION}. (Optional)</li>
  * <li>FlattenStructuredData - flag indicating to flatten structured data map if there is only one structure available.
  * Default value - {@code false}. (Optional)</li>
+ * <li>ElapsedTimeCacheSize - maximal count of log event sources (host and application pairs) last event timestamps
+ * kept to calculate elapsed time since last event of same source. When exceeded, least recently used sources are
+ * evicted and their next event elapsed time is {@code 0}. Default value -
+ * {@value #DEFAULT_MAX_ELAPSED_TIME_CACHE_SIZE}. (Optional)</li>
+ * <li>SourceStatistics - flag indicating to collect per log event source (host and application pair) throughput and lag
+ * statistics, see {@link SyslogSourceStats}. Default value - {@code false}. (Optional)</li>
+ * <li>SourceStatisticsMaxSources - maximal count of log event sources tracked by source statistics. Default value -
+ * {@value #DEFAULT_MAX_STATISTICS_SOURCES}. (Optional)</li>
+ * <li>SourceStatisticsTopCount - count of top (by message rate) log event sources reported by source statistics.
+ * Default value - {@value #DEFAULT_STATISTICS_TOP_COUNT}. (Optional)</li>
+ * <li>SourceStatisticsDumpInterval - source statistics dump to log interval in seconds, {@code 0} - disables dump.
+ * Default value - {@value #DEFAULT_STATISTICS_DUMP_INTERVAL}. (Optional)</li>
+ * <li>SamplingRates - Syslog messages sampling rules, applied before message is parsed, see {@link SyslogSampler} for
+ * rules syntax. Kept sampled messages have 'samplingWeight' field set to inverse of sample rate. Default value - none.
+ * (Optional)</li>
+ * <li>SamplingMode - Syslog messages sampling mode: 'random' or 'hash'. Default value - 'random'. (Optional)</li>
+ * <li>AssetFile - path of local CSV or JSON lines file of host assets attributes, see {@link SyslogAssetIndex} for
+ * file format. Attributes of host matched by sender address or host name are put into 'AssetMap' field. Default value
+ * - none. (Optional)</li>
+ * <li>AssetReloadInterval - host assets file changes check interval in seconds, {@code 0} - file is loaded once.
+ * Default value - {@value #DEFAULT_ASSET_RELOAD_INTERVAL}. (Optional)</li>
  * </ul>
  *
  * @version $Revision: 1 $
  */
-public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
+public abstract class AbstractSyslogParser extends AbstractActivityMapParser implements Closeable {
 
 	/**
 	 * Constant for default messages suppression cache maximum entries count.
@@ -78,6 +100,26 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 	 * Constant for default messages suppression level.
 	 */
 	public static final int DEFAULT_SUPPRESSION_LEVEL = 0;
+	/**
+	 * Constant for default maximal count of log event sources last event timestamps kept to calculate elapsed time.
+	 */
+	public static final long DEFAULT_MAX_ELAPSED_TIME_CACHE_SIZE = 10000;
+	/**
+	 * Constant for default maximal count of log event sources tracked by source statistics.
+	 */
+	public static final int DEFAULT_MAX_STATISTICS_SOURCES = 10000;
+	/**
+	 * Constant for default count of top log event sources reported by source statistics.
+	 */
+	public static final int DEFAULT_STATISTICS_TOP_COUNT = 20;
+	/**
+	 * Constant for default source statistics dump interval in seconds.
+	 */
+	public static final long DEFAULT_STATISTICS_DUMP_INTERVAL = 60;
+	/**
+	 * Constant for default host assets file changes check interval in seconds.
+	 */
+	public static final long DEFAULT_ASSET_RELOAD_INTERVAL = 60;
 
 	/**
 	 * Constant for default array of log entry suppression ignored fields.
@@ -89,11 +131,23 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 	private long cacheExpireDuration = DEFAULT_CACHE_EXPIRE_DURATION;
 	private List<String> ignoredFields = Arrays.asList(DEFAULT_IGNORED_FIELDS);
 	private boolean flattenStructuredData = false;
+	private long elapsedTimeCacheSize = DEFAULT_MAX_ELAPSED_TIME_CACHE_SIZE;
+	private boolean sourceStatistics = false;
+	private int statisticsMaxSources = DEFAULT_MAX_STATISTICS_SOURCES;
+	private int statisticsTopCount = DEFAULT_STATISTICS_TOP_COUNT;
+	private long statisticsDumpInterval = DEFAULT_STATISTICS_DUMP_INTERVAL;
+	private String samplingRates;
+	private String samplingMode = SyslogSampler.MODE_RANDOM;
+	private SyslogSampler sampler;
+	private String assetFile;
+	private long assetReloadInterval = DEFAULT_ASSET_RELOAD_INTERVAL;
 
 	private static final MessageDigest MSG_DIGEST = Utils.getMD5Digester();
-	private final Map<String, Long> EVENT_TIMESTAMP_MAP = new HashMap<>(8);
 
-	private Cache<String, AtomicInteger> msc;
+	private volatile Cache<String, AtomicInteger> msc;
+	private volatile Cache<String, Long> eventTimestamps;
+	private volatile SyslogSourceStats sourceStats;
+	private volatile SyslogAssetIndex assetIndex;
 
 	protected final ReentrantLock digestLock = new ReentrantLock();
 	protected final ReentrantLock cacheLock = new ReentrantLock();
@@ -131,6 +185,44 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 			flattenStructuredData = Utils.toBoolean(value);
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_ELAPSED_TIME_CACHE_SIZE.equalsIgnoreCase(name)) {
+			elapsedTimeCacheSize = NumberUtils.toLong(value, DEFAULT_MAX_ELAPSED_TIME_CACHE_SIZE);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_SOURCE_STATISTICS.equalsIgnoreCase(name)) {
+			sourceStatistics = Utils.toBoolean(value);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_SOURCE_STATISTICS_MAX_SOURCES.equalsIgnoreCase(name)) {
+			statisticsMaxSources = NumberUtils.toInt(value, DEFAULT_MAX_STATISTICS_SOURCES);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_SOURCE_STATISTICS_TOP_COUNT.equalsIgnoreCase(name)) {
+			statisticsTopCount = NumberUtils.toInt(value, DEFAULT_STATISTICS_TOP_COUNT);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_SOURCE_STATISTICS_DUMP_INTERVAL.equalsIgnoreCase(name)) {
+			statisticsDumpInterval = NumberUtils.toLong(value, DEFAULT_STATISTICS_DUMP_INTERVAL);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_SAMPLING_RATES.equalsIgnoreCase(name)) {
+			samplingRates = value;
+			sampler = SyslogSampler.create(samplingRates, samplingMode);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_SAMPLING_MODE.equalsIgnoreCase(name)) {
+			samplingMode = value;
+			sampler = SyslogSampler.create(samplingRates, samplingMode);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_ASSET_FILE.equalsIgnoreCase(name)) {
+			assetFile = value;
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_ASSET_RELOAD_INTERVAL.equalsIgnoreCase(name)) {
+			assetReloadInterval = NumberUtils.toLong(value, DEFAULT_ASSET_RELOAD_INTERVAL);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
 		}
 	}
 
@@ -151,6 +243,33 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 		if (SyslogParserProperties.PROP_FLATTEN_STRUCTURED_DATA.equalsIgnoreCase(name)) {
 			return flattenStructuredData;
 		}
+		if (SyslogParserProperties.PROP_ELAPSED_TIME_CACHE_SIZE.equalsIgnoreCase(name)) {
+			return elapsedTimeCacheSize;
+		}
+		if (SyslogParserProperties.PROP_SOURCE_STATISTICS.equalsIgnoreCase(name)) {
+			return sourceStatistics;
+		}
+		if (SyslogParserProperties.PROP_SOURCE_STATISTICS_MAX_SOURCES.equalsIgnoreCase(name)) {
+			return statisticsMaxSources;
+		}
+		if (SyslogParserProperties.PROP_SOURCE_STATISTICS_TOP_COUNT.equalsIgnoreCase(name)) {
+			return statisticsTopCount;
+		}
+		if (SyslogParserProperties.PROP_SOURCE_STATISTICS_DUMP_INTERVAL.equalsIgnoreCase(name)) {
+			return statisticsDumpInterval;
+		}
+		if (SyslogParserProperties.PROP_SAMPLING_RATES.equalsIgnoreCase(name)) {
+			return samplingRates;
+		}
+		if (SyslogParserProperties.PROP_SAMPLING_MODE.equalsIgnoreCase(name)) {
+			return samplingMode;
+		}
+		if (SyslogParserProperties.PROP_ASSET_FILE.equalsIgnoreCase(name)) {
+			return assetFile;
+		}
+		if (SyslogParserProperties.PROP_ASSET_RELOAD_INTERVAL.equalsIgnoreCase(name)) {
+			return assetReloadInterval;
+		}
 
 		return super.getProperty(name);
 	}
@@ -175,6 +294,8 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 	@SuppressWarnings("unchecked")
 	protected Map<String, Object> suppress(Map<String, Object> dataMap) {
 		if (suppressionLevel != 0) {
+			SyslogFlightEvents.SuppressEvent suppressEvent = new SyslogFlightEvents.SuppressEvent();
+			suppressEvent.begin();
 			AtomicInteger invocations;
 			cacheLock.lock();
 			try {
@@ -193,22 +314,27 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 				cacheLock.unlock();
 			}
 
-			if (invocations.incrementAndGet() > 1) {
+			int occurrences = invocations.incrementAndGet();
+			boolean suppressed = occurrences > 1
+					&& (suppressionLevel == -1 || suppressionLevel > 0 && occurrences % suppressionLevel != 0);
+			suppressEvent.end();
+			if (suppressEvent.shouldCommit()) {
+				suppressEvent.level = suppressionLevel;
+				suppressEvent.occurrences = occurrences;
+				suppressEvent.suppressed = suppressed;
+				suppressEvent.commit();
+			}
+
+			if (suppressed) {
 				if (suppressionLevel == -1) {
 					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
-							"AbstractSyslogParser.suppressing.event1", invocations);
-					return null;
-				}
-
-				if (suppressionLevel > 0) {
-					int evtSeqNumber = invocations.get() % suppressionLevel;
-					if (evtSeqNumber != 0) {
-						logger().log(OpLevel.DEBUG,
-								StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
-								"AbstractSyslogParser.suppressing.event2", evtSeqNumber, suppressionLevel);
-						return null;
-					}
+							"AbstractSyslogParser.suppressing.event1", occurrences);
+				} else {
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"AbstractSyslogParser.suppressing.event2", occurrences % suppressionLevel,
+							suppressionLevel);
 				}
+				return null;
 			}
 		}
 
@@ -274,14 +400,209 @@ public abstract class AbstractSyslogParser extends AbstractActivityMapParser {
 	 * @return elapsed microseconds since last event
 	 */
 	protected long getUsecSinceLastEvent(String eventKey, long eventTime) {
-		synchronized (EVENT_TIMESTAMP_MAP) {
-			Long prev_ts = EVENT_TIMESTAMP_MAP.put(eventKey, eventTime);
+		Cache<String, Long> timestamps = eventTimestamps;
+		if (timestamps == null) {
+			synchronized (this) {
+				timestamps = eventTimestamps;
+				if (timestamps == null) {
+					timestamps = CacheBuilder.newBuilder().maximumSize(elapsedTimeCacheSize).build();
+					eventTimestamps = timestamps;
+				}
+			}
+		}
+		Long prev_ts = timestamps.asMap().put(eventKey, eventTime);
+
+		if (prev_ts == null) {
+			prev_ts = eventTime;
+		}
+
+		return TimeUnit.MILLISECONDS.toMicros(eventTime - prev_ts);
+	}
+
+	/**
+	 * Makes sampling decision for Syslog message, if sampling is enabled.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return kept message sampling weight, {@code 0} if message is dropped, or {@code 1} if sampling is disabled
+	 */
+	protected double sample(SyslogServerEventIF event) {
+		SyslogSampler s = sampler;
+		return s == null ? 1 : s.sample(event);
+	}
+
+	/**
+	 * Makes sampling decision for Syslog log line, if sampling is enabled.
+	 *
+	 * @param line
+	 *            Syslog log line
+	 * @return kept log line sampling weight, {@code 0} if log line is dropped, or {@code 1} if sampling is disabled
+	 */
+	protected double sample(String line) {
+		SyslogSampler s = sampler;
+		return s == null ? 1 : s.sample(line);
+	}
+
+	/**
+	 * Puts sampling weight into log event data map, if log event has been sampled.
+	 *
+	 * @param dataMap
+	 *            log event data map
+	 * @param samplingWeight
+	 *            log event sampling weight
+	 */
+	protected static void putSamplingWeight(Map<String, Object> dataMap, double samplingWeight) {
+		if (samplingWeight != 1) {
+			dataMap.put(SyslogStreamConstants.FIELD_SAMPLING_WEIGHT, samplingWeight);
+		}
+	}
 
-			if (prev_ts == null) {
-				prev_ts = eventTime;
+	/**
+	 * Records log event into source statistics, if source statistics collection is enabled. Statistics table is created
+	 * and started on first recorded event.
+	 *
+	 * @param dataMap
+	 *            resolved log event data map
+	 * @param size
+	 *            Syslog message size
+	 */
+	protected void recordSourceStatistics(Map<String, Object> dataMap, long size) {
+		if (!sourceStatistics) {
+			return;
+		}
+		SyslogSourceStats stats = sourceStats;
+		if (stats == null) {
+			synchronized (this) {
+				stats = sourceStats;
+				if (stats == null) {
+					stats = new SyslogSourceStats(getName(), statisticsMaxSources, statisticsTopCount);
+					stats.start(statisticsDumpInterval);
+					sourceStats = stats;
+				}
+			}
+		}
+		String host = String.valueOf(dataMap.get(Location.name()));
+		String appName = String.valueOf(dataMap.get(ResourceName.name()));
+		Object endTime = dataMap.get(EndTime.name());
+		long now = System.currentTimeMillis();
+		long eventTime = endTime instanceof Long ? (Long) endTime / 1000 : now;
+		stats.record(host + '/' + appName, host, appName, size, eventTime, now);
+	}
+
+	/**
+	 * Puts host assets attributes into log event data map field {@value SyslogStreamConstants#FIELD_ASSET_MAP}, if
+	 * assets file is defined. Host is looked up by sender address first and then by data map host name. Assets index
+	 * is loaded on first call.
+	 *
+	 * @param dataMap
+	 *            resolved log event data map
+	 * @param address
+	 *            log event sender address, can be {@code null}
+	 */
+	protected void enrichAssets(Map<String, Object> dataMap, InetAddress address) {
+		if (assetFile == null) {
+			return;
+		}
+		Map<String, String> attrs = getAssetIndex().lookup((String) dataMap.get(SyslogStreamConstants.FIELD_HOSTNAME),
+				address);
+		if (attrs != null) {
+			dataMap.put(SyslogStreamConstants.FIELD_ASSET_MAP, attrs);
+		}
+	}
+
+	/**
+	 * Returns host assets index, creating and loading it on first call.
+	 *
+	 * @return host assets index, or {@code null} if assets file is not defined
+	 */
+	protected SyslogAssetIndex getAssetIndex() {
+		if (assetFile == null) {
+			return null;
+		}
+		SyslogAssetIndex index = assetIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = assetIndex;
+				if (index == null) {
+					index = new SyslogAssetIndex(assetFile);
+					index.start(assetReloadInterval);
+					assetIndex = index;
+				}
 			}
+		}
+		return index;
+	}
 
-			return TimeUnit.MILLISECONDS.toMicros(eventTime - prev_ts);
+	/**
+	 * Returns log event sources statistics table.
+	 *
+	 * @return log event sources statistics table, or {@code null} if source statistics collection is disabled or no
+	 *         event has been recorded yet
+	 */
+	public SyslogSourceStats getSourceStatistics() {
+		return sourceStats;
+	}
+
+	/**
+	 * Releases parser background resources: stops source statistics tasks and unregisters statistics MBean, and stops
+	 * host assets file changes check. Resources are created again on next parsed message, so parser can be reused
+	 * when stream gets restarted.
+	 */
+	@Override
+	public synchronized void close() {
+		SyslogSourceStats stats = sourceStats;
+		if (stats != null) {
+			sourceStats = null;
+			stats.close();
 		}
+		SyslogAssetIndex index = assetIndex;
+		if (index != null) {
+			assetIndex = null;
+			index.close();
+		}
+	}
+
+	/**
+	 * Commits Syslog message parse flight event, if it is enabled.
+	 *
+	 * @param parseEvent
+	 *            parse flight event started before parsing
+	 * @param host
+	 *            Syslog message header host name
+	 * @param size
+	 *            Syslog message size
+	 * @param outcome
+	 *            parse outcome
+	 */
+	protected void commitParseEvent(SyslogFlightEvents.ParseEvent parseEvent, String host, long size,
+			String outcome) {
+		parseEvent.end();
+		if (parseEvent.shouldCommit()) {
+			parseEvent.parser = getName();
+			parseEvent.host = host;
+			parseEvent.size = size;
+			parseEvent.outcome = outcome;
+			parseEvent.commit();
+		}
+	}
+
+	/**
+	 * Returns current count of messages suppression cache entries.
+	 *
+	 * @return messages suppression cache entries count
+	 */
+	public long getSuppressCacheEntriesCount() {
+		Cache<String, AtomicInteger> cache = msc;
+		return cache == null ? 0 : cache.size();
+	}
+
+	/**
+	 * Returns current count of log event sources last event timestamps kept to calculate elapsed time.
+	 *
+	 * @return log event sources last event timestamps count
+	 */
+	public long getElapsedTimeCacheEntriesCount() {
+		Cache<String, Long> cache = eventTimestamps;
+		return cache == null ? 0 : cache.size();
 	}
 }
@@ -22,24 +22,22 @@ import static com.jkoolcloud.tnt4j.streams.fields.StreamFieldType.*;
 import static com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants.*;
 
 import java.lang.Exception;
-import java.net.InetSocketAddress;
+import java.net.InetAddress;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.graylog2.syslog4j.impl.message.structured.StructuredSyslogMessage;
 import org.graylog2.syslog4j.server.SyslogServerEventIF;
-import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
 import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
-import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
-import com.jkoolcloud.tnt4j.streams.utils.SyslogUtils;
-import com.jkoolcloud.tnt4j.streams.utils.Utils;
+import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+import com.jkoolcloud.tnt4j.streams.utils.*;
 
 /**
  * Implements an activity data parser that assumes each activity data item is a Syslog server event
@@ -87,7 +85,10 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * <li>facility - resolved log event facility name</li>
  * <li>level - resolved log event level</li>
  * <li>hostname - resolved log event host name</li>
- * <li>hostaddr - resolved log event host address</li>
+ * <li>hostaddr - log event sender IP address, when event is received by
+ * {@link com.jkoolcloud.tnt4j.streams.inputs.SyslogdStream}</li>
+ * <li>hostaddrname - log event sender host name, resolved from sender IP address when 'ResolveHostNames' property
+ * value is set to {@code true} and address host name is already resolved</li>
  * <li>priority - resolved log event priority</li>
  * </ul>
  * </li>
@@ -101,8 +102,20 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * </li>
  * </ul>
  * <p>
- * This activity parser supports configuration properties from {@link AbstractSyslogParser} (and higher hierarchy
- * parsers).
+ * This parser supports the following properties (in addition to those supported by {@link AbstractSyslogParser}):
+ * <ul>
+ * <li>ResolveHostNames - flag indicating to resolve log event sender host names by reverse DNS lookup of sender IP
+ * address. Lookups are made asynchronously and never block parsing, so sender host name is filled in once resolved,
+ * see {@link SyslogHostResolver}. Default value - {@code false}. (Optional)</li>
+ * <li>HostNamesCacheSize - maximal count of cached sender addresses. Default value -
+ * {@value #DEFAULT_HOST_NAMES_CACHE_SIZE}. (Optional)</li>
+ * <li>HostNamesTTL - resolved sender host name cache time to live in seconds. Default value -
+ * {@value #DEFAULT_HOST_NAMES_TTL}. (Optional)</li>
+ * <li>HostNamesNegativeTTL - failed sender address resolution cache time to live in seconds. Default value -
+ * {@value #DEFAULT_HOST_NAMES_NEGATIVE_TTL}. (Optional)</li>
+ * <li>HostNamesResolverThreads - number of sender addresses resolver threads. Default value -
+ * {@value #DEFAULT_HOST_NAMES_RESOLVER_THREADS}. (Optional)</li>
+ * </ul>
  *
  * @version $Revision: 1 $
  */
@@ -114,6 +127,30 @@ public class ActivitySyslogEventParser extends AbstractSyslogParser {
 	private static final String ATTR_APPL_NAME = "appl.name"; // NON-NLS
 	private static final String ATTR_APPL_PID = "appl.pid"; // NON-NLS
 
+	/**
+	 * Constant for default maximal count of cached sender addresses.
+	 */
+	public static final long DEFAULT_HOST_NAMES_CACHE_SIZE = 10000;
+	/**
+	 * Constant for default resolved sender host name cache time to live in seconds.
+	 */
+	public static final long DEFAULT_HOST_NAMES_TTL = 3600;
+	/**
+	 * Constant for default failed sender address resolution cache time to live in seconds.
+	 */
+	public static final long DEFAULT_HOST_NAMES_NEGATIVE_TTL = 300;
+	/**
+	 * Constant for default number of sender addresses resolver threads.
+	 */
+	public static final int DEFAULT_HOST_NAMES_RESOLVER_THREADS = 2;
+
+	private boolean resolveHostNames = false;
+	private long hostNamesCacheSize = DEFAULT_HOST_NAMES_CACHE_SIZE;
+	private long hostNamesTtl = DEFAULT_HOST_NAMES_TTL;
+	private long hostNamesNegativeTtl = DEFAULT_HOST_NAMES_NEGATIVE_TTL;
+	private int hostNamesResolverThreads = DEFAULT_HOST_NAMES_RESOLVER_THREADS;
+	private volatile SyslogHostResolver hostResolver;
+
 	/**
 	 * Constructs a new ActivitySyslogEventParser.
 	 */
@@ -148,29 +185,113 @@ public class ActivitySyslogEventParser extends AbstractSyslogParser {
 	public void setProperty(String name, String value) {
 		super.setProperty(name, value);
 
-		// // no any additional properties are required yet.
-		// if (false) {
-		// logger().log(OpLevel.DEBUG,
-		// StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityParser.setting"),
-		// name, value);
-		// }
+		if (SyslogParserProperties.PROP_RESOLVE_HOST_NAMES.equalsIgnoreCase(name)) {
+			resolveHostNames = Utils.toBoolean(value);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_HOST_NAMES_CACHE_SIZE.equalsIgnoreCase(name)) {
+			hostNamesCacheSize = NumberUtils.toLong(value, DEFAULT_HOST_NAMES_CACHE_SIZE);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_HOST_NAMES_TTL.equalsIgnoreCase(name)) {
+			hostNamesTtl = NumberUtils.toLong(value, DEFAULT_HOST_NAMES_TTL);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_HOST_NAMES_NEGATIVE_TTL.equalsIgnoreCase(name)) {
+			hostNamesNegativeTtl = NumberUtils.toLong(value, DEFAULT_HOST_NAMES_NEGATIVE_TTL);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_HOST_NAMES_RESOLVER_THREADS.equalsIgnoreCase(name)) {
+			hostNamesResolverThreads = NumberUtils.toInt(value, DEFAULT_HOST_NAMES_RESOLVER_THREADS);
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		}
 	}
 
 	@Override
 	public Object getProperty(String name) {
+		if (SyslogParserProperties.PROP_RESOLVE_HOST_NAMES.equalsIgnoreCase(name)) {
+			return resolveHostNames;
+		}
+		if (SyslogParserProperties.PROP_HOST_NAMES_CACHE_SIZE.equalsIgnoreCase(name)) {
+			return hostNamesCacheSize;
+		}
+		if (SyslogParserProperties.PROP_HOST_NAMES_TTL.equalsIgnoreCase(name)) {
+			return hostNamesTtl;
+		}
+		if (SyslogParserProperties.PROP_HOST_NAMES_NEGATIVE_TTL.equalsIgnoreCase(name)) {
+			return hostNamesNegativeTtl;
+		}
+		if (SyslogParserProperties.PROP_HOST_NAMES_RESOLVER_THREADS.equalsIgnoreCase(name)) {
+			return hostNamesResolverThreads;
+		}
+
 		return super.getProperty(name);
 	}
 
+	/**
+	 * Returns sender addresses host names resolver, creating it on first call.
+	 *
+	 * @return sender addresses host names resolver
+	 */
+	protected SyslogHostResolver getHostResolver() {
+		SyslogHostResolver resolver = hostResolver;
+		if (resolver == null) {
+			synchronized (this) {
+				resolver = hostResolver;
+				if (resolver == null) {
+					resolver = createHostResolver();
+					hostResolver = resolver;
+				}
+			}
+		}
+		return resolver;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Also stops sender addresses host names resolver threads.
+	 */
+	@Override
+	public synchronized void close() {
+		SyslogHostResolver resolver = hostResolver;
+		if (resolver != null) {
+			hostResolver = null;
+			resolver.close();
+		}
+		super.close();
+	}
+
+	/**
+	 * Creates sender addresses host names resolver using parser configuration.
+	 *
+	 * @return sender addresses host names resolver
+	 */
+	protected SyslogHostResolver createHostResolver() {
+		return new SyslogHostResolver(hostNamesCacheSize, hostNamesTtl, hostNamesNegativeTtl,
+				hostNamesResolverThreads);
+	}
+
 	@Override
 	protected Map<String, Object> getDataMap(Object data) {
 		if (data == null) {
 			return null;
 		}
 
-		SyslogServerEventIF event = (SyslogServerEventIF) data;
+		SyslogServerEventIF event = SyslogAddressedEvent.unwrap((SyslogServerEventIF) data);
+		double samplingWeight = sample(event);
+		if (samplingWeight == 0) {
+			return null;
+		}
+
+		SyslogFlightEvents.ParseEvent parseEvent = new SyslogFlightEvents.ParseEvent();
+		parseEvent.begin();
+		byte[] raw = event.getRaw();
 
 		Map<String, Object> dataMap = new HashMap<>();
-		dataMap.put(RAW_ACTIVITY_STRING_KEY, Utils.getString(event.getRaw()));
+		dataMap.put(RAW_ACTIVITY_STRING_KEY, Utils.getString(raw));
+		putSamplingWeight(dataMap, samplingWeight);
 
 		Date date = (event.getDate() == null ? new Date() : event.getDate());
 		String facility = SyslogUtils.getFacilityString(event.getFacility());
@@ -184,20 +305,21 @@ public class ActivitySyslogEventParser extends AbstractSyslogParser {
 		dataMap.put(FIELD_LEVEL, event.getLevel());
 		dataMap.put(FIELD_PRIORITY, priority);
 
-		InetSocketAddress from = null;
-		if (event instanceof SyslogServerEvent) {
-			try {
-				from = (InetSocketAddress) FieldUtils.readDeclaredField(event, "inetAddress", true); // NON-NLS
-			} catch (Exception exc) {
-			}
-		}
+		InetAddress from = SyslogAddressedEvent.getSenderInetAddress((SyslogServerEventIF) data);
 		if (from == null) {
 			dataMap.put(Location.name(), event.getHost());
 		} else {
-			dataMap.put(FIELD_HOSTADDR, from.getAddress().getHostAddress());
-			dataMap.put(Location.name(), from.getAddress().getHostAddress());
+			dataMap.put(FIELD_HOSTADDR, from.getHostAddress());
+			dataMap.put(Location.name(), from.getHostAddress());
+			if (resolveHostNames) {
+				String hostName = getHostResolver().lookup(from);
+				if (hostName != null) {
+					dataMap.put(FIELD_HOSTADDR_NAME, hostName);
+				}
+			}
 		}
 		dataMap.put(MsgCharSet.name(), event.getCharSet());
+		enrichAssets(dataMap, from);
 
 		if (event instanceof StructuredSyslogServerEvent) {
 			processRFC5424(facility, (StructuredSyslogServerEvent) event, dataMap);
@@ -209,8 +331,12 @@ public class ActivitySyslogEventParser extends AbstractSyslogParser {
 		long eventTime = date.getTime();
 		dataMap.put(EndTime.name(), eventTime * 1000);
 		dataMap.put(ElapsedTime.name(), getUsecSinceLastEvent(eventKey, eventTime));
+		recordSourceStatistics(dataMap, raw == null ? 0 : raw.length);
 
-		return suppress(dataMap);
+		Map<String, Object> result = suppress(dataMap);
+		commitParseEvent(parseEvent, event.getHost(), raw == null ? 0 : raw.length,
+				result == null ? SyslogFlightEvents.OUTCOME_SUPPRESSED : SyslogFlightEvents.OUTCOME_PARSED);
+		return result;
 	}
 
 	private static final String[] ACTIVITY_DATA_TYPES = { "SYSLOG EVENT" }; // NON-NLS
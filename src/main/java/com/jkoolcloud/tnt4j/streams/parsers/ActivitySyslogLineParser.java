@@ -98,6 +98,8 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * This parser supports the following properties (in addition to those supported by {@link AbstractSyslogParser}):
  * <ul>
  * <li>CharSet - name of char set used by Syslog lines parser. Default value - 'UTF-8'. (Optional)</li>
+ * <li>PreFilter - Syslog lines pre-filter rules, applied to log line before parsing it, see {@link SyslogPriFilter}
+ * for rules syntax. Rejected log lines are not parsed and produce no activity. Default value - none. (Optional)</li>
  * </ul>
  *
  * @version $Revision: 1 $
@@ -108,6 +110,8 @@ public class ActivitySyslogLineParser extends AbstractSyslogParser {
 	private static final String DEFAULT_CHAR_SET = Utils.UTF8;
 
 	private String streamCharSet = DEFAULT_CHAR_SET;
+	private String preFilterRules;
+	private SyslogPriFilter preFilter;
 
 	private final SyslogParser syslogParser;
 
@@ -150,6 +154,12 @@ public class ActivitySyslogLineParser extends AbstractSyslogParser {
 		if (SyslogParserProperties.PROP_CHARSET.equalsIgnoreCase(name)) {
 			streamCharSet = value;
 
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (SyslogParserProperties.PROP_PRE_FILTER.equalsIgnoreCase(name)) {
+			preFilterRules = value;
+			preFilter = SyslogPriFilter.create(value);
+
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"ActivityParser.setting", name, value);
 		}
@@ -160,10 +170,22 @@ public class ActivitySyslogLineParser extends AbstractSyslogParser {
 		if (SyslogParserProperties.PROP_CHARSET.equalsIgnoreCase(name)) {
 			return streamCharSet;
 		}
+		if (SyslogParserProperties.PROP_PRE_FILTER.equalsIgnoreCase(name)) {
+			return preFilterRules;
+		}
 
 		return super.getProperty(name);
 	}
 
+	/**
+	 * Returns Syslog lines pre-filter.
+	 *
+	 * @return Syslog lines pre-filter, or {@code null} if pre-filter is not defined
+	 */
+	public SyslogPriFilter getPreFilter() {
+		return preFilter;
+	}
+
 	@Override
 	protected Map<String, Object> getDataMap(Object data) {
 		if (data == null) {
@@ -171,21 +193,42 @@ public class ActivitySyslogLineParser extends AbstractSyslogParser {
 		}
 
 		String msg = (String) data;
+		if (preFilter != null && !preFilter.accept(msg)) {
+			return null;
+		}
+		double samplingWeight = sample(msg);
+		if (samplingWeight == 0) {
+			return null;
+		}
+
+		SyslogFlightEvents.ParseEvent parseEvent = new SyslogFlightEvents.ParseEvent();
+		parseEvent.begin();
 
 		Map<String, Object> dataMap = new HashMap<>();
 		dataMap.put(RAW_ACTIVITY_STRING_KEY, msg);
+		putSamplingWeight(dataMap, samplingWeight);
 
+		boolean failed = false;
 		try {
 			synchronized (syslogParser) {
 				dataMap.putAll(syslogParser.parse(msg));
 			}
 		} catch (Exception exc) {
+			failed = true;
 			Utils.logThrowable(logger(), OpLevel.ERROR,
 					StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
 					"ActivitySyslogLineParser.line.parse.failed", exc);
 		}
+		if (!failed) {
+			enrichAssets(dataMap, null);
+			recordSourceStatistics(dataMap, msg.length());
+		}
 
-		return suppress(dataMap);
+		Map<String, Object> result = suppress(dataMap);
+		commitParseEvent(parseEvent, (String) dataMap.get(FIELD_HOSTNAME), msg.length(),
+				failed ? SyslogFlightEvents.OUTCOME_FAILED
+						: result == null ? SyslogFlightEvents.OUTCOME_SUPPRESSED : SyslogFlightEvents.OUTCOME_PARSED);
+		return result;
 	}
 
 	// @Override
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.net.InetAddresses;
+
+/**
+ * Compressed radix (PATRICIA) trie of IPv4 and IPv6 address ranges (CIDR blocks) used to find value of longest range
+ * containing an address. Single address is a range having full length prefix, e.g. {@code 10.0.0.1} is same as
+ * {@code 10.0.0.1/32}.
+ * <p>
+ * Trie nodes are created only for added ranges and branching points, so chains of single child nodes are collapsed
+ * into one node holding whole prefix. Node prefix is kept as 128 bit value in two {@code long}s and is matched against
+ * address by single masked comparison. Lookup walks at most count of added ranges nested one in another (plus
+ * branching nodes) and does not allocate memory, when address is provided as IPv4 address, IPv4 address value or
+ * string.
+ * <p>
+ * Trie nodes are kept in plain arrays. Trie is not thread safe for adding ranges, but once filled and safely published
+ * can be looked up by many threads concurrently.
+ *
+ * @param <V>
+ *            type of range value
+ *
+ * @version $Revision: 1 $
+ */
+public class CidrTrie<V> {
+	private static final int ROOT_V4 = 0;
+	private static final int ROOT_V6 = 1;
+	private static final int IPV6_BITS = 128;
+
+	private long[] keysHi = new long[16];
+	private long[] keysLo = new long[16];
+	private int[] lengths = new int[16];
+	private int[] children = new int[32];
+	private Object[] values = new Object[16];
+	private int nodes = 2;
+	private int size;
+
+	/**
+	 * Constructs a new CidrTrie.
+	 */
+	public CidrTrie() {
+	}
+
+	/**
+	 * Adds address range value. Value of same range added before is replaced.
+	 *
+	 * @param cidr
+	 *            address range in CIDR notation, e.g. {@code 10.0.0.0/8}, {@code 2001:db8::/32}, or single IP address
+	 * @param value
+	 *            range value
+	 *
+	 * @throws IllegalArgumentException
+	 *             if {@code cidr} is not a valid IP address or CIDR block
+	 */
+	public void put(String cidr, V value) throws IllegalArgumentException {
+		String addr = StringUtils.trim(cidr);
+		int prefix = -1;
+		int sIdx = addr == null ? -1 : addr.indexOf('/');
+		if (sIdx >= 0) {
+			try {
+				prefix = Integer.parseInt(addr.substring(sIdx + 1).trim());
+			} catch (NumberFormatException exc) {
+				throw new IllegalArgumentException(cidr);
+			}
+			addr = addr.substring(0, sIdx).trim();
+		}
+		if (!isIpAddress(addr)) {
+			throw new IllegalArgumentException(cidr);
+		}
+		byte[] bytes = InetAddresses.forString(addr).getAddress();
+		if (prefix > bytes.length * 8) {
+			throw new IllegalArgumentException(cidr);
+		}
+		put(bytes, prefix < 0 ? bytes.length * 8 : prefix, value);
+	}
+
+	/**
+	 * Adds address range value. Value of same range added before is replaced.
+	 *
+	 * @param address
+	 *            range address bytes: 4 bytes for IPv4, 16 bytes for IPv6
+	 * @param prefix
+	 *            range prefix length in bits
+	 * @param value
+	 *            range value
+	 *
+	 * @throws IllegalArgumentException
+	 *             if address length or prefix length is invalid
+	 */
+	public void put(byte[] address, int prefix, V value) throws IllegalArgumentException {
+		int root = root(address);
+		if (prefix < 0 || prefix > address.length * 8) {
+			throw new IllegalArgumentException(String.valueOf(prefix));
+		}
+		long hi = toLong(address, 0);
+		long lo = address.length == 16 ? toLong(address, 8) : 0;
+		hi &= maskHi(prefix);
+		lo &= maskLo(prefix);
+
+		int node = root;
+		while (true) {
+			// node prefix is a prefix of added range
+			int nodeLen = lengths[node];
+			if (nodeLen == prefix) {
+				if (values[node] == null) {
+					size++;
+				}
+				values[node] = value;
+				return;
+			}
+			int slot = (node << 1) + bit(hi, lo, nodeLen);
+			int child = children[slot];
+			if (child == 0) {
+				children[slot] = newNode(hi, lo, prefix, value);
+				return;
+			}
+			int childLen = lengths[child];
+			int common = Math.min(commonLength(hi, lo, keysHi[child], keysLo[child]), Math.min(prefix, childLen));
+			if (common == childLen) {
+				node = child;
+				continue;
+			}
+			// split child edge at common prefix
+			if (common == prefix) {
+				int split = newNode(hi, lo, prefix, value);
+				children[(split << 1) + bit(keysHi[child], keysLo[child], prefix)] = child;
+				children[slot] = split;
+			} else {
+				int split = newNode(hi & maskHi(common), lo & maskLo(common), common, null);
+				int leaf = newNode(hi, lo, prefix, value);
+				children[(split << 1) + bit(hi, lo, common)] = leaf;
+				children[(split << 1) + bit(keysHi[child], keysLo[child], common)] = child;
+				children[slot] = split;
+			}
+			return;
+		}
+	}
+
+	private int newNode(long hi, long lo, int length, Object value) {
+		if (nodes == values.length) {
+			int capacity = nodes << 1;
+			keysHi = Arrays.copyOf(keysHi, capacity);
+			keysLo = Arrays.copyOf(keysLo, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			values = Arrays.copyOf(values, capacity);
+			children = Arrays.copyOf(children, capacity << 1);
+		}
+		int node = nodes++;
+		keysHi[node] = hi;
+		keysLo[node] = lo;
+		lengths[node] = length;
+		values[node] = value;
+		if (value != null) {
+			size++;
+		}
+		return node;
+	}
+
+	private static int root(byte[] address) {
+		if (address.length == 4) {
+			return ROOT_V4;
+		}
+		if (address.length == 16) {
+			return ROOT_V6;
+		}
+		throw new IllegalArgumentException(String.valueOf(address.length));
+	}
+
+	/**
+	 * Finds value of longest range containing IPv4 address.
+	 *
+	 * @param address
+	 *            IPv4 address value
+	 * @return value of longest range containing address, or {@code null} if there is no such range
+	 */
+	public V get(int address) {
+		return get(ROOT_V4, (address & 0xFFFFFFFFL) << 32, 0);
+	}
+
+	/**
+	 * Finds value of longest range containing address.
+	 *
+	 * @param address
+	 *            address bytes: 4 bytes for IPv4, 16 bytes for IPv6
+	 * @return value of longest range containing address, or {@code null} if there is no such range or address length
+	 *         is invalid
+	 */
+	public V get(byte[] address) {
+		if (address.length == 4) {
+			return get(ROOT_V4, toLong(address, 0), 0);
+		}
+		if (address.length == 16) {
+			return get(ROOT_V6, toLong(address, 0), toLong(address, 8));
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V get(int root, long hi, long lo) {
+		int node = root;
+		Object best = values[node];
+		int len = 0;
+		while (len < IPV6_BITS) {
+			node = children[(node << 1) + bit(hi, lo, len)];
+			if (node == 0) {
+				break;
+			}
+			len = lengths[node];
+			if (((hi ^ keysHi[node]) & maskHi(len)) != 0 || ((lo ^ keysLo[node]) & maskLo(len)) != 0) {
+				break;
+			}
+			if (values[node] != null) {
+				best = values[node];
+			}
+		}
+		return (V) best;
+	}
+
+	/**
+	 * Finds value of longest range containing address.
+	 *
+	 * @param address
+	 *            IP address
+	 * @return value of longest range containing address, or {@code null} if there is no such range
+	 */
+	public V get(InetAddress address) {
+		if (address instanceof Inet4Address) {
+			return get(toInt((Inet4Address) address));
+		}
+		return address == null ? null : get(address.getAddress());
+	}
+
+	/**
+	 * Returns IPv4 address value without allocating memory, as {@link java.net.InetAddress#getAddress()} returns new
+	 * array on every call.
+	 *
+	 * @param address
+	 *            IPv4 address
+	 * @return IPv4 address value
+	 */
+	public static int toInt(Inet4Address address) {
+		// Inet4Address hash code is its address value, see Inet4Address.hashCode() implementation
+		return address.hashCode();
+	}
+
+	/**
+	 * Finds value of longest range containing address given as string. Host names are not resolved.
+	 *
+	 * @param address
+	 *            IP address string
+	 * @return value of longest range containing address, or {@code null} if there is no such range or string is not an
+	 *         IP address
+	 */
+	public V get(CharSequence address) {
+		long ipv4 = parseIPv4(address);
+		if (ipv4 >= 0) {
+			return get((int) ipv4);
+		}
+		if (address != null && StringUtils.contains(address, ':') && isIpAddress(address.toString())) {
+			return get(InetAddresses.forString(address.toString()).getAddress());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns count of ranges having value.
+	 *
+	 * @return count of ranges
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if string is an IPv4 or IPv6 address literal. Host names are not resolved.
+	 *
+	 * @param str
+	 *            string to check
+	 * @return {@code true} if string is an IP address, {@code false} - otherwise
+	 */
+	public static boolean isIpAddress(String str) {
+		return str != null && (parseIPv4(str) >= 0 || InetAddresses.isInetAddress(str));
+	}
+
+	/**
+	 * Parses IPv4 address in dotted decimal notation without allocating memory.
+	 *
+	 * @param str
+	 *            string to parse
+	 * @return IPv4 address value as unsigned integer, or {@code -1} if string is not an IPv4 address
+	 */
+	public static long parseIPv4(CharSequence str) {
+		if (str == null) {
+			return -1;
+		}
+		int len = str.length();
+		if (len < 7 || len > 15) {
+			return -1;
+		}
+		long address = 0;
+		int octet = 0;
+		int digits = 0;
+		int dots = 0;
+		for (int i = 0; i < len; i++) {
+			char ch = str.charAt(i);
+			if (ch >= '0' && ch <= '9') {
+				octet = octet * 10 + (ch - '0');
+				if (++digits > 3 || octet > 255) {
+					return -1;
+				}
+			} else if (ch == '.' && digits > 0 && ++dots <= 3) {
+				address = (address << 8) | octet;
+				octet = 0;
+				digits = 0;
+			} else {
+				return -1;
+			}
+		}
+		if (dots != 3 || digits == 0) {
+			return -1;
+		}
+		return (address << 8) | octet;
+	}
+
+	private static long toLong(byte[] address, int offset) {
+		long value = 0;
+		int end = Math.min(offset + 8, address.length);
+		for (int i = offset; i < end; i++) {
+			value = (value << 8) | (address[i] & 0xFF);
+		}
+		return value << ((offset + 8 - end) << 3);
+	}
+
+	private static int bit(long hi, long lo, int index) {
+		return (int) (index < 64 ? hi >>> (63 - index) : lo >>> (127 - index)) & 1;
+	}
+
+	private static long maskHi(int length) {
+		return length == 0 ? 0 : length >= 64 ? -1L : -1L << (64 - length);
+	}
+
+	private static long maskLo(int length) {
+		return length <= 64 ? 0 : -1L << (128 - length);
+	}
+
+	private static int commonLength(long hi1, long lo1, long hi2, long lo2) {
+		long diff = hi1 ^ hi2;
+		return diff != 0 ? Long.numberOfLeadingZeros(diff) : 64 + Long.numberOfLeadingZeros(lo1 ^ lo2);
+	}
+}
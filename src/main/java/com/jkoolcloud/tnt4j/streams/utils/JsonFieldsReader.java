@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+/**
+ * Single pass streaming reader of flat JSON object fields. Reader walks JSON object string once and passes top level
+ * fields having scalar values to provided handler. Nested objects and arrays are skipped without materializing them.
+ * <p>
+ * Scalar values are passed as strings: string values are unescaped, numbers and booleans are passed as they are
+ * written in JSON, {@code null} values are passed as {@code null}.
+ *
+ * @version $Revision: 1 $
+ */
+public final class JsonFieldsReader {
+
+	private JsonFieldsReader() {
+	}
+
+	/**
+	 * Reads top level scalar fields of provided JSON object string.
+	 *
+	 * @param json
+	 *            JSON object string
+	 * @param handler
+	 *            fields handler
+	 *
+	 * @throws IllegalArgumentException
+	 *             if provided string is not a valid JSON object
+	 */
+	public static void read(String json, FieldHandler handler) throws IllegalArgumentException {
+		Cursor c = new Cursor(json);
+		c.skipWhitespace();
+		c.expect('{');
+		c.skipWhitespace();
+		if (c.peek() == '}') {
+			return;
+		}
+
+		while (true) {
+			c.skipWhitespace();
+			String key = c.readString();
+			c.skipWhitespace();
+			c.expect(':');
+			c.skipWhitespace();
+
+			char ch = c.peek();
+			if (ch == '{' || ch == '[') {
+				c.skipComposite();
+			} else if (ch == '"') {
+				handler.field(key, c.readString());
+			} else {
+				String literal = c.readLiteral();
+				handler.field(key, "null".equals(literal) ? null : literal); // NON-NLS
+			}
+
+			c.skipWhitespace();
+			ch = c.next();
+			if (ch == '}') {
+				return;
+			}
+			if (ch != ',') {
+				throw c.unexpected(ch);
+			}
+		}
+	}
+
+	/**
+	 * Handler of JSON object fields.
+	 */
+	public interface FieldHandler {
+		/**
+		 * Handles JSON object field.
+		 *
+		 * @param key
+		 *            field key
+		 * @param value
+		 *            field value string, or {@code null} if field value is JSON {@code null}
+		 */
+		void field(String key, String value);
+	}
+
+	private static class Cursor {
+		private final String str;
+		private int pos;
+
+		Cursor(String str) {
+			this.str = str;
+		}
+
+		char peek() {
+			if (pos >= str.length()) {
+				throw new IllegalArgumentException(
+						StreamsResources.getStringFormatted(SyslogStreamConstants.RESOURCE_BUNDLE_NAME,
+								"JsonFieldsReader.unexpected.end", pos));
+			}
+			return str.charAt(pos);
+		}
+
+		char next() {
+			char ch = peek();
+			pos++;
+			return ch;
+		}
+
+		void expect(char ch) {
+			char actual = next();
+			if (actual != ch) {
+				throw unexpected(actual);
+			}
+		}
+
+		IllegalArgumentException unexpected(char ch) {
+			return new IllegalArgumentException(StreamsResources.getStringFormatted(
+					SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "JsonFieldsReader.unexpected.char", ch, pos - 1));
+		}
+
+		void skipWhitespace() {
+			while (pos < str.length() && Character.isWhitespace(str.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		String readString() {
+			expect('"');
+			int start = pos;
+			// fast path: no escapes
+			while (true) {
+				char ch = next();
+				if (ch == '"') {
+					return str.substring(start, pos - 1);
+				}
+				if (ch == '\\') {
+					break;
+				}
+			}
+
+			StringBuilder sb = new StringBuilder(pos - start + 16);
+			sb.append(str, start, pos - 1);
+			pos--;
+			while (true) {
+				char ch = next();
+				if (ch == '"') {
+					return sb.toString();
+				}
+				if (ch != '\\') {
+					sb.append(ch);
+					continue;
+				}
+				ch = next();
+				switch (ch) {
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'u':
+					if (pos + 4 > str.length()) {
+						throw unexpected(ch);
+					}
+					sb.append((char) Integer.parseInt(str.substring(pos, pos + 4), 16));
+					pos += 4;
+					break;
+				default:
+					sb.append(ch);
+				}
+			}
+		}
+
+		String readLiteral() {
+			int start = pos;
+			while (pos < str.length()) {
+				char ch = str.charAt(pos);
+				if (ch == ',' || ch == '}' || ch == ']' || Character.isWhitespace(ch)) {
+					break;
+				}
+				pos++;
+			}
+			if (pos == start) {
+				throw unexpected(peek());
+			}
+			return str.substring(start, pos);
+		}
+
+		void skipComposite() {
+			int depth = 0;
+			do {
+				char ch = next();
+				if (ch == '"') {
+					pos--;
+					skipString();
+				} else if (ch == '{' || ch == '[') {
+					depth++;
+				} else if (ch == '}' || ch == ']') {
+					depth--;
+				}
+			} while (depth > 0);
+		}
+
+		void skipString() {
+			expect('"');
+			while (true) {
+				char ch = next();
+				if (ch == '"') {
+					return;
+				}
+				if (ch == '\\') {
+					pos++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed memory, lock free histogram of non-negative long values (e.g. latencies in microseconds), used to calculate
+ * value percentiles.
+ * <p>
+ * Values below {@code 64} are counted exactly. Larger values are counted in log-linear buckets: every power of two
+ * range is split into {@code 32} equal sub-buckets, so percentile value relative error is at most ~3%. Negative values
+ * are counted as {@code 0}.
+ * <p>
+ * Values can be recorded by many threads concurrently. Percentiles calculated while values are being recorded reflect
+ * some consistent subset of recorded values.
+ *
+ * @version $Revision: 1 $
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+	private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+	private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Constructs a new empty LatencyHistogram.
+	 */
+	public LatencyHistogram() {
+	}
+
+	/**
+	 * Records value into this histogram.
+	 *
+	 * @param value
+	 *            value to record
+	 */
+	public void record(long value) {
+		long v = Math.max(value, 0);
+		counts.incrementAndGet(bucketIndex(v));
+		count.increment();
+		sum.add(v);
+		max.accumulate(v);
+	}
+
+	/**
+	 * Returns value at provided percentile: lower bound of bucket containing provided percentile value, or exact value
+	 * if it is below {@code 64}.
+	 *
+	 * @param percentile
+	 *            percentile in range {@code [0, 100]}
+	 * @return value at percentile, or {@code 0} if histogram is empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0;
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(bucketValue(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Returns recorded values count.
+	 *
+	 * @return recorded values count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns maximal recorded value.
+	 *
+	 * @return maximal recorded value, or {@code 0} if histogram is empty
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns mean of recorded values.
+	 *
+	 * @return mean of recorded values, or {@code 0} if histogram is empty
+	 */
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : sum.sum() / (double) n;
+	}
+
+	/**
+	 * Clears all recorded values. Values recorded concurrently with reset may be partially lost.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	static int bucketIndex(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int msb = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int shift = msb - SUB_BUCKET_BITS;
+		return LINEAR_LIMIT + (msb - LINEAR_BITS) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	static long bucketValue(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int msb = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+		long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+		return (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Input stream reading underlying stream ahead of consumer using dedicated thread. Read data is stored into a fixed
+ * set of reusable buffers, so reading (e.g., decompression) of underlying stream overlaps with processing of already
+ * read data.
+ * <p>
+ * Underlying stream read failure, including runtime exceptions thrown by decompressing streams on corrupt or truncated
+ * data, is rethrown to consumer as {@link IOException} on next read instead of ending the stream.
+ *
+ * @version $Revision: 1 $
+ */
+public class ReadAheadInputStream extends InputStream {
+	/**
+	 * Constant for default read ahead buffer size - 1MB.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+	/**
+	 * Constant for default read ahead buffers count.
+	 */
+	public static final int DEFAULT_BUFFERS_COUNT = 4;
+
+	private static final Block EOF_BLOCK = new Block(new byte[0]);
+
+	private final InputStream in;
+	private final BlockingQueue<Block> filled;
+	private final BlockingQueue<Block> free;
+	private final Thread reader;
+
+	private Block current;
+	private boolean eof;
+	private volatile boolean closed;
+	private volatile IOException failure;
+
+	/**
+	 * Constructs a new ReadAheadInputStream and starts read ahead thread.
+	 *
+	 * @param in
+	 *            underlying input stream
+	 * @param bufferSize
+	 *            size of single read ahead buffer in bytes
+	 * @param buffersCount
+	 *            number of read ahead buffers
+	 */
+	public ReadAheadInputStream(InputStream in, int bufferSize, int buffersCount) {
+		this.in = in;
+		int count = Math.max(buffersCount, 2);
+		this.filled = new ArrayBlockingQueue<>(count + 1);
+		this.free = new ArrayBlockingQueue<>(count);
+		for (int i = 0; i < count; i++) {
+			free.add(new Block(new byte[bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE]));
+		}
+
+		reader = new Thread(this::readAhead, "ReadAheadInputStream.reader"); // NON-NLS
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	private void readAhead() {
+		try {
+			while (!closed) {
+				Block block = free.take();
+				int n = fill(block.data);
+				if (n <= 0) {
+					break;
+				}
+				block.length = n;
+				block.pos = 0;
+				filled.put(block);
+			}
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		} catch (Exception exc) {
+			failure = exc instanceof IOException ? (IOException) exc : new IOException(exc);
+		} finally {
+			filled.offer(EOF_BLOCK);
+		}
+	}
+
+	private int fill(byte[] data) throws IOException {
+		int total = 0;
+		while (total < data.length) {
+			int n = in.read(data, total, data.length - total);
+			if (n < 0) {
+				break;
+			}
+			total += n;
+		}
+		return total;
+	}
+
+	private boolean nextBlock() throws IOException {
+		if (current != null) {
+			if (current.pos < current.length) {
+				return true;
+			}
+			free.offer(current);
+			current = null;
+		}
+		if (eof) {
+			return false;
+		}
+		try {
+			Block block = filled.take();
+			if (block == EOF_BLOCK) {
+				eof = true;
+				if (failure != null) {
+					throw failure;
+				}
+				return false;
+			}
+			current = block;
+			return true;
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!nextBlock()) {
+			return -1;
+		}
+		return current.data[current.pos++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!nextBlock()) {
+			return -1;
+		}
+		int n = Math.min(len, current.length - current.pos);
+		System.arraycopy(current.data, current.pos, b, off, n);
+		current.pos += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return current == null ? 0 : current.length - current.pos;
+	}
+
+	/**
+	 * Stops read ahead thread and closes underlying stream. Underlying stream is closed only after read ahead thread
+	 * has completed, so it is never closed under an ongoing read, e.g. GZIP stream inflater being released while
+	 * inflating.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs while closing underlying stream
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		reader.interrupt();
+		try {
+			reader.join();
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		} finally {
+			in.close();
+		}
+	}
+
+	private static class Block {
+		private final byte[] data;
+		private int length;
+		private int pos;
+
+		Block(byte[] data) {
+			this.data = data;
+		}
+	}
+}
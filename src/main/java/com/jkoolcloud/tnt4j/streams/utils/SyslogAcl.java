@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * Syslog senders access control list, allowing or denying Syslog messages by sender IP address. ACL rules are loaded
+ * from local file, having rule per line. Rule syntax is {@code ACTION RANGE}, where:
+ * <ul>
+ * <li>ACTION - {@value #ALLOW} or {@value #DENY}</li>
+ * <li>RANGE - IPv4 or IPv6 address range in CIDR notation, e.g. {@code 10.0.0.0/8}, or single IP address</li>
+ * </ul>
+ * Lines starting {@code #} are ignored. Rule of longest (most specific) range containing sender address is applied,
+ * and addresses not contained in any rule range get default action. E.g. rules {@code allow 10.0.0.0/8} and
+ * {@code deny 10.66.0.0/16} allow all {@code 10.*} addresses except {@code 10.66.*} ones.
+ * <p>
+ * Rules are kept in {@link CidrTrie}, so checking address costs few trie nodes walk without locking, and IPv4 address
+ * is checked without allocating memory. Counts of
+ * addresses matched by every rule are kept using {@link LongAdder}s, so checking addresses from many threads does not
+ * contend.
+ * <p>
+ * When reload interval is set, ACL periodically checks rules file modification time and size, and on change loads
+ * rules into new rules set swapped in atomically. Counts of rules having same definition are kept on reload. If file
+ * fails to load, old rules are kept.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogAcl implements Closeable {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogAcl.class);
+
+	/**
+	 * Constant for ACL rule action allowing message.
+	 */
+	public static final String ALLOW = "allow"; // NON-NLS
+	/**
+	 * Constant for ACL rule action denying message.
+	 */
+	public static final String DENY = "deny"; // NON-NLS
+
+	private static final String DEFAULT_RULE = "*"; // NON-NLS
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "SyslogAcl.Reloader"); // NON-NLS
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Path file;
+	private final boolean defaultAllow;
+	private final LongAdder defaultMatched = new LongAdder();
+	private volatile Rules rules = new Rules();
+	private long lastModified = Long.MIN_VALUE;
+	private long lastSize = -1;
+	private ScheduledFuture<?> task;
+
+	/**
+	 * Constructs a new SyslogAcl. ACL has no rules until loaded.
+	 *
+	 * @param file
+	 *            ACL rules file path
+	 * @param defaultAction
+	 *            action applied to addresses not matched by any rule: {@value #ALLOW} or {@value #DENY}
+	 *
+	 * @throws IllegalArgumentException
+	 *             if default action is not valid
+	 */
+	public SyslogAcl(String file, String defaultAction) throws IllegalArgumentException {
+		if (!isValidAction(defaultAction)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogAcl.invalid.action", defaultAction));
+		}
+		this.file = Paths.get(file);
+		this.defaultAllow = ALLOW.equalsIgnoreCase(defaultAction);
+	}
+
+	/**
+	 * Checks if provided string is valid ACL rule action.
+	 *
+	 * @param action
+	 *            action string to check
+	 * @return {@code true} if action is {@value #ALLOW} or {@value #DENY}, {@code false} - otherwise
+	 */
+	public static boolean isValidAction(String action) {
+		return ALLOW.equalsIgnoreCase(action) || DENY.equalsIgnoreCase(action);
+	}
+
+	/**
+	 * Loads ACL rules file and starts periodic rules file changes check.
+	 *
+	 * @param reloadInterval
+	 *            rules file changes check interval in seconds, {@code 0} - file is loaded once
+	 */
+	public synchronized void start(long reloadInterval) {
+		reload();
+		if (reloadInterval > 0 && task == null) {
+			task = SCHEDULER.scheduleWithFixedDelay(this::reload, reloadInterval, reloadInterval, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stops periodic rules file changes check.
+	 */
+	@Override
+	public synchronized void close() {
+		if (task != null) {
+			task.cancel(false);
+			task = null;
+		}
+	}
+
+	/**
+	 * Loads ACL rules file into new rules set, if file has changed since last load. Load failures are logged and old
+	 * rules are kept.
+	 *
+	 * @return {@code true} if rules have been reloaded, {@code false} - otherwise
+	 */
+	public synchronized boolean reload() {
+		try {
+			long modified = Files.getLastModifiedTime(file).toMillis();
+			long size = Files.size(file);
+			if (modified == lastModified && size == lastSize) {
+				return false;
+			}
+			Rules loaded = load(file, rules);
+			rules = loaded;
+			lastModified = modified;
+			lastSize = size;
+			LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogAcl.loaded", file, loaded.list.size());
+			return true;
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME), "SyslogAcl.load.failed",
+					file, exc);
+			return false;
+		}
+	}
+
+	/**
+	 * Checks if message of sender having provided socket address is allowed.
+	 *
+	 * @param address
+	 *            sender socket address
+	 * @return {@code true} if message is allowed, {@code false} - if denied
+	 */
+	public boolean accept(SocketAddress address) {
+		return accept(address instanceof InetSocketAddress ? ((InetSocketAddress) address).getAddress() : null);
+	}
+
+	/**
+	 * Checks if message of sender having provided address is allowed. Unknown ({@code null}) address gets default
+	 * action. IPv4 address is looked up by its value, see {@link CidrTrie#toInt(java.net.Inet4Address)}.
+	 *
+	 * @param address
+	 *            sender address
+	 * @return {@code true} if message is allowed, {@code false} - if denied
+	 */
+	public boolean accept(InetAddress address) {
+		Rule rule = address == null ? null : rules.trie.get(address);
+		if (rule == null) {
+			defaultMatched.increment();
+			return defaultAllow;
+		}
+		rule.matched.increment();
+		return rule.allow;
+	}
+
+	/**
+	 * Returns counts of addresses matched by every ACL rule. Addresses not matched by any rule are counted under
+	 * {@code "*"} key.
+	 *
+	 * @return map of rule definitions and matched addresses counts
+	 */
+	public Map<String, Long> getRuleCounts() {
+		List<Rule> list = rules.list;
+		Map<String, Long> counts = new LinkedHashMap<>(list.size() + 1);
+		for (Rule rule : list) {
+			counts.put(rule.definition, rule.matched.sum());
+		}
+		counts.put(DEFAULT_RULE, defaultMatched.sum());
+		return counts;
+	}
+
+	@Override
+	public String toString() {
+		return getRuleCounts().toString();
+	}
+
+	private static Rules load(Path file, Rules previous) throws IOException {
+		Map<String, LongAdder> counters = new HashMap<>();
+		for (Rule rule : previous.list) {
+			counters.put(rule.definition, rule.matched);
+		}
+		Rules loaded = new Rules();
+		int lineNo = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNo++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) { // NON-NLS
+					continue;
+				}
+				String[] tokens = StringUtils.split(line);
+				try {
+					if (tokens.length != 2 || !isValidAction(tokens[0])) {
+						throw new IllegalArgumentException(line);
+					}
+					String definition = tokens[0].toLowerCase(Locale.ROOT) + ' ' + tokens[1];
+					Rule rule = new Rule(definition, ALLOW.equalsIgnoreCase(tokens[0]),
+							counters.computeIfAbsent(definition, d -> new LongAdder()));
+					loaded.trie.put(tokens[1], rule);
+					loaded.list.add(rule);
+				} catch (IllegalArgumentException exc) {
+					LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogAcl.invalid.rule", file, lineNo, line);
+				}
+			}
+		}
+		return loaded;
+	}
+
+	private static class Rules {
+		private final CidrTrie<Rule> trie = new CidrTrie<>();
+		private final List<Rule> list = new ArrayList<>();
+	}
+
+	private static class Rule {
+		private final String definition;
+		private final boolean allow;
+		private final LongAdder matched;
+
+		private Rule(String definition, boolean allow, LongAdder matched) {
+			this.definition = definition;
+			this.allow = allow;
+			this.matched = matched;
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Date;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+
+/**
+ * Syslog server event wrapper, carrying address of event sender captured by Syslog server session handler along with
+ * event through stream buffers, so parsers can get sender address without accessing event internals. Wrapper also
+ * carries data tags of stream route event was dispatched to, so stream can pick route bound parsers for it.
+ * <p>
+ * All {@link SyslogServerEventIF} methods are delegated to wrapped event, so wrapper can be processed as any other
+ * Syslog server event. Use {@link #unwrap(SyslogServerEventIF)} to get wrapped event instance, e.g. to check its
+ * type.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogAddressedEvent implements SyslogServerEventIF {
+	private static final long serialVersionUID = -3624017896021352807L;
+
+	private final SyslogServerEventIF event;
+	private final SocketAddress senderAddress;
+	private final String[] routeTags;
+
+	/**
+	 * Constructs a new SyslogAddressedEvent.
+	 *
+	 * @param event
+	 *            Syslog server event to wrap
+	 * @param senderAddress
+	 *            event sender address
+	 */
+	public SyslogAddressedEvent(SyslogServerEventIF event, SocketAddress senderAddress) {
+		this(event, senderAddress, null);
+	}
+
+	/**
+	 * Constructs a new SyslogAddressedEvent.
+	 *
+	 * @param event
+	 *            Syslog server event to wrap
+	 * @param senderAddress
+	 *            event sender address, can be {@code null}
+	 * @param routeTags
+	 *            data tags of stream route event is dispatched to, {@code null} if event is not routed
+	 */
+	public SyslogAddressedEvent(SyslogServerEventIF event, SocketAddress senderAddress, String[] routeTags) {
+		this.event = event;
+		this.senderAddress = senderAddress;
+		this.routeTags = routeTags;
+	}
+
+	/**
+	 * Wraps Syslog server event with sender address.
+	 *
+	 * @param event
+	 *            Syslog server event to wrap
+	 * @param senderAddress
+	 *            event sender address
+	 * @return wrapped event, or provided event if sender address is {@code null}
+	 */
+	public static SyslogServerEventIF wrap(SyslogServerEventIF event, SocketAddress senderAddress) {
+		return senderAddress == null || event instanceof SyslogAddressedEvent ? event
+				: new SyslogAddressedEvent(event, senderAddress);
+	}
+
+	/**
+	 * Returns Syslog server event wrapped by provided event, or provided event itself if it is not wrapper.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return wrapped Syslog server event
+	 */
+	public static SyslogServerEventIF unwrap(SyslogServerEventIF event) {
+		return event instanceof SyslogAddressedEvent ? ((SyslogAddressedEvent) event).event : event;
+	}
+
+	/**
+	 * Returns IP address of provided Syslog server event sender.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return sender IP address, or {@code null} if event does not carry sender address
+	 */
+	public static InetAddress getSenderInetAddress(SyslogServerEventIF event) {
+		if (event instanceof SyslogAddressedEvent) {
+			SocketAddress address = ((SyslogAddressedEvent) event).senderAddress;
+			if (address instanceof InetSocketAddress) {
+				return ((InetSocketAddress) address).getAddress();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns wrapped Syslog server event.
+	 *
+	 * @return wrapped Syslog server event
+	 */
+	public SyslogServerEventIF getEvent() {
+		return event;
+	}
+
+	/**
+	 * Returns event sender address.
+	 *
+	 * @return event sender address
+	 */
+	public SocketAddress getSenderAddress() {
+		return senderAddress;
+	}
+
+	/**
+	 * Returns data tags of stream route event is dispatched to.
+	 *
+	 * @return route data tags, or {@code null} if event is not routed
+	 */
+	public String[] getRouteTags() {
+		return routeTags;
+	}
+
+	@Override
+	public byte[] getRaw() {
+		return event.getRaw();
+	}
+
+	@Override
+	public int getFacility() {
+		return event.getFacility();
+	}
+
+	@Override
+	public void setFacility(int facility) {
+		event.setFacility(facility);
+	}
+
+	@Override
+	public Date getDate() {
+		return event.getDate();
+	}
+
+	@Override
+	public void setDate(Date date) {
+		event.setDate(date);
+	}
+
+	@Override
+	public int getLevel() {
+		return event.getLevel();
+	}
+
+	@Override
+	public void setLevel(int level) {
+		event.setLevel(level);
+	}
+
+	@Override
+	public String getHost() {
+		return event.getHost();
+	}
+
+	@Override
+	public void setHost(String host) {
+		event.setHost(host);
+	}
+
+	@Override
+	public boolean isHostStrippedFromMessage() {
+		return event.isHostStrippedFromMessage();
+	}
+
+	@Override
+	public String getMessage() {
+		return event.getMessage();
+	}
+
+	@Override
+	public void setMessage(String message) {
+		event.setMessage(message);
+	}
+
+	@Override
+	public String getCharSet() {
+		return event.getCharSet();
+	}
+
+	@Override
+	public void setCharSet(String charSet) {
+		event.setCharSet(charSet);
+	}
+
+	@Override
+	public String toString() {
+		return event.toString();
+	}
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * In-memory index of host assets attributes loaded from local file. Index entry key is host name, IP address or
+ * address range in CIDR notation, and entry value is a map of host asset attributes, e.g. owner, environment or
+ * location.
+ * <p>
+ * Supported assets file formats:
+ * <ul>
+ * <li>CSV - first line is a header defining column names. First column is entry key, other columns are asset
+ * attributes named by header. Empty attribute values are omitted. Values can be quoted using {@code "}. Lines
+ * starting {@code #} are ignored.</li>
+ * <li>JSON lines (file name ends {@code .json} or {@code .jsonl}) - every line is a flat JSON object having entry key
+ * as field {@value #KEY_FIELD}, other top level scalar fields are asset attributes.</li>
+ * </ul>
+ * <p>
+ * Host names are matched ignoring case, IP addresses are matched by longest containing address range, see
+ * {@link CidrTrie}. Host name lookup costs a hash map lookup, address lookup - at most prefix length trie steps, and
+ * both return shared immutable attributes maps without allocating memory.
+ * <p>
+ * When reload interval is set, index periodically checks assets file modification time and size, and on change
+ * loads the whole file into new index swapped in atomically, so lookups always see either complete old or complete
+ * new index. If file fails to load, old index is kept.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogAssetIndex implements Closeable {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogAssetIndex.class);
+
+	/**
+	 * Constant for name of JSON lines assets file entry key field.
+	 */
+	public static final String KEY_FIELD = "host"; // NON-NLS
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "SyslogAssetIndex.Reloader"); // NON-NLS
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Path file;
+	private volatile Index index = new Index();
+	private long lastModified = Long.MIN_VALUE;
+	private long lastSize = -1;
+	private ScheduledFuture<?> task;
+
+	/**
+	 * Constructs a new SyslogAssetIndex. Index is empty until loaded.
+	 *
+	 * @param file
+	 *            assets file path
+	 */
+	public SyslogAssetIndex(String file) {
+		this.file = Paths.get(file);
+	}
+
+	/**
+	 * Loads assets file and starts periodic assets file changes check.
+	 *
+	 * @param reloadInterval
+	 *            assets file changes check interval in seconds, {@code 0} - file is loaded once
+	 */
+	public synchronized void start(long reloadInterval) {
+		reload();
+		if (reloadInterval > 0 && task == null) {
+			task = SCHEDULER.scheduleWithFixedDelay(this::reload, reloadInterval, reloadInterval, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stops periodic assets file changes check.
+	 */
+	@Override
+	public synchronized void close() {
+		if (task != null) {
+			task.cancel(false);
+			task = null;
+		}
+	}
+
+	/**
+	 * Loads assets file into new index, if file has changed since last load. Load failures are logged and old index is
+	 * kept.
+	 *
+	 * @return {@code true} if index has been reloaded, {@code false} - otherwise
+	 */
+	public synchronized boolean reload() {
+		try {
+			long modified = Files.getLastModifiedTime(file).toMillis();
+			long size = Files.size(file);
+			if (modified == lastModified && size == lastSize) {
+				return false;
+			}
+			Index loaded = load(file);
+			index = loaded;
+			lastModified = modified;
+			lastSize = size;
+			LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogAssetIndex.loaded", file, loaded.hosts.size(), loaded.ranges.size());
+			return true;
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogAssetIndex.load.failed", file, exc);
+			return false;
+		}
+	}
+
+	/**
+	 * Finds assets attributes of host by sender address and then by host name.
+	 *
+	 * @param hostName
+	 *            host name or IP address string, can be {@code null}
+	 * @param address
+	 *            host address, can be {@code null}
+	 * @return immutable host assets attributes map, or {@code null} if host has no assets entry
+	 */
+	public Map<String, String> lookup(String hostName, InetAddress address) {
+		Index idx = index;
+		Map<String, String> attrs = address == null ? null : idx.ranges.get(address);
+		return attrs == null ? idx.lookup(hostName) : attrs;
+	}
+
+	/**
+	 * Finds assets attributes of host by host name or IP address string.
+	 *
+	 * @param hostName
+	 *            host name or IP address string
+	 * @return immutable host assets attributes map, or {@code null} if host has no assets entry
+	 */
+	public Map<String, String> lookup(String hostName) {
+		return index.lookup(hostName);
+	}
+
+	/**
+	 * Finds assets attributes of host by address.
+	 *
+	 * @param address
+	 *            host address
+	 * @return immutable host assets attributes map, or {@code null} if host has no assets entry
+	 */
+	public Map<String, String> lookup(InetAddress address) {
+		return index.ranges.get(address);
+	}
+
+	/**
+	 * Returns count of index entries.
+	 *
+	 * @return count of host name and address range entries
+	 */
+	public int size() {
+		Index idx = index;
+		return idx.hosts.size() + idx.ranges.size();
+	}
+
+	private static Index load(Path file) throws IOException {
+		String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		boolean json = fileName.endsWith(".json") || fileName.endsWith(".jsonl"); // NON-NLS
+		Index idx = new Index();
+		// attributes maps are shared by all entries having same attributes
+		Map<Map<String, String>, Map<String, String>> attrsPool = new HashMap<>();
+		String[] header = null;
+		int lineNo = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNo++;
+				if (StringUtils.isBlank(line) || line.trim().startsWith("#")) { // NON-NLS
+					continue;
+				}
+				String key = null;
+				Map<String, String> attrs = new LinkedHashMap<>();
+				try {
+					if (json) {
+						String[] keyRef = new String[1];
+						JsonFieldsReader.read(line, (name, value) -> {
+							if (KEY_FIELD.equals(name)) {
+								keyRef[0] = value;
+							} else if (StringUtils.isNotEmpty(value)) {
+								attrs.put(name, value);
+							}
+						});
+						key = keyRef[0];
+					} else if (header == null) {
+						header = splitCsv(line);
+						continue;
+					} else {
+						String[] values = splitCsv(line);
+						key = values[0];
+						for (int i = 1; i < values.length && i < header.length; i++) {
+							if (StringUtils.isNotEmpty(values[i])) {
+								attrs.put(header[i], values[i]);
+							}
+						}
+					}
+					idx.put(key, attrsPool.computeIfAbsent(attrs, Collections::unmodifiableMap));
+				} catch (IllegalArgumentException exc) {
+					LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+							"SyslogAssetIndex.invalid.entry", file, lineNo, key == null ? exc.getMessage() : key);
+				}
+			}
+		}
+		return idx;
+	}
+
+	/**
+	 * Splits CSV line into values. Values can be quoted using {@code "}, quote inside quoted value is escaped by
+	 * doubling it.
+	 *
+	 * @param line
+	 *            CSV line
+	 * @return array of trimmed line values
+	 */
+	static String[] splitCsv(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char ch = line.charAt(i);
+			if (quoted) {
+				if (ch != '"') {
+					value.append(ch);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append(ch);
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (ch == '"') {
+				quoted = true;
+			} else if (ch == ',') {
+				values.add(value.toString().trim());
+				value.setLength(0);
+			} else {
+				value.append(ch);
+			}
+		}
+		values.add(value.toString().trim());
+		return values.toArray(new String[0]);
+	}
+
+	private static class Index {
+		private final Map<String, Map<String, String>> hosts = new HashMap<>();
+		private final CidrTrie<Map<String, String>> ranges = new CidrTrie<>();
+
+		private void put(String key, Map<String, String> attrs) throws IllegalArgumentException {
+			if (StringUtils.isBlank(key)) {
+				throw new IllegalArgumentException(key);
+			}
+			if (key.indexOf('/') >= 0 || CidrTrie.isIpAddress(key.trim())) {
+				ranges.put(key, attrs);
+			} else {
+				hosts.put(key.trim().toLowerCase(Locale.ROOT), attrs);
+			}
+		}
+
+		private Map<String, String> lookup(String hostName) {
+			if (hostName == null) {
+				return null;
+			}
+			Map<String, String> attrs = hosts.get(hostName);
+			if (attrs == null) {
+				attrs = ranges.get(hostName);
+			}
+			if (attrs == null && hasUpperCase(hostName)) {
+				attrs = hosts.get(hostName.toLowerCase(Locale.ROOT));
+			}
+			return attrs;
+		}
+
+		private static boolean hasUpperCase(String str) {
+			for (int i = 0; i < str.length(); i++) {
+				if (Character.isUpperCase(str.charAt(i))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
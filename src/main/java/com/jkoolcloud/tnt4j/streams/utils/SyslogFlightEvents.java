@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events of Syslog streams processing stages: message receive, stream buffer enqueue and dequeue,
+ * parsing, variables extraction and suppression decision.
+ * <p>
+ * All events are disabled by default. When disabled, event instances do not escape instrumented methods and are
+ * eliminated by JIT compiler, so instrumentation costs nearly nothing. To record events, start flight recording using
+ * settings file enabling them, e.g. {@code config/syslog-jfr.jfc}:
+ * 
+ * <pre>
+ * -XX:StartFlightRecording=settings=config/syslog-jfr.jfc,filename=syslog.jfr
+ * </pre>
+ *
+ * @version $Revision: 1 $
+ */
+public final class SyslogFlightEvents {
+	/**
+	 * Constant for Syslog flight events names prefix.
+	 */
+	public static final String NAME_PREFIX = "com.jkoolcloud.tnt4j.streams.syslog."; // NON-NLS
+
+	/**
+	 * Constant for parse outcome - Syslog message parsed.
+	 */
+	public static final String OUTCOME_PARSED = "parsed"; // NON-NLS
+	/**
+	 * Constant for parse outcome - Syslog message parsing failed.
+	 */
+	public static final String OUTCOME_FAILED = "failed"; // NON-NLS
+	/**
+	 * Constant for parse outcome - Syslog message parsed, but suppressed.
+	 */
+	public static final String OUTCOME_SUPPRESSED = "suppressed"; // NON-NLS
+
+	private SyslogFlightEvents() {
+	}
+
+	/**
+	 * Syslog message received by Syslog server and handed over to stream.
+	 */
+	@Name(NAME_PREFIX + "Receive")
+	@Label("Syslog Receive")
+	@Category({ "TNT4J Streams", "Syslog" })
+	@Description("Syslog message received by Syslog server and put into stream buffer")
+	@Enabled(false)
+	@StackTrace(false)
+	public static class ReceiveEvent extends Event {
+		/**
+		 * Syslog server protocol.
+		 */
+		@Label("Protocol")
+		public String protocol;
+		/**
+		 * Syslog message header host name.
+		 */
+		@Label("Host")
+		public String host;
+		/**
+		 * Syslog message size in bytes.
+		 */
+		@Label("Size")
+		@DataAmount
+		public long size;
+	}
+
+	/**
+	 * Syslog event put into stream buffer.
+	 */
+	@Name(NAME_PREFIX + "BufferEnqueue")
+	@Label("Syslog Buffer Enqueue")
+	@Category({ "TNT4J Streams", "Syslog" })
+	@Description("Syslog event put into stream buffer")
+	@Enabled(false)
+	@StackTrace(false)
+	public static class BufferEnqueueEvent extends Event {
+		/**
+		 * Flag indicating whether event has been accepted, or dropped because buffer is full.
+		 */
+		@Label("Accepted")
+		public boolean accepted;
+		/**
+		 * Buffered events count after enqueue.
+		 */
+		@Label("Buffered Items")
+		public long bufferedItems;
+	}
+
+	/**
+	 * Syslog event taken from stream buffer. Event duration is time waited for buffered event.
+	 */
+	@Name(NAME_PREFIX + "BufferDequeue")
+	@Label("Syslog Buffer Dequeue")
+	@Category({ "TNT4J Streams", "Syslog" })
+	@Description("Syslog event taken from stream buffer, duration is time waited for event")
+	@Enabled(false)
+	@StackTrace(false)
+	public static class BufferDequeueEvent extends Event {
+		/**
+		 * Buffered events count after dequeue.
+		 */
+		@Label("Buffered Items")
+		public long bufferedItems;
+	}
+
+	/**
+	 * Syslog message parsed into data map.
+	 */
+	@Name(NAME_PREFIX + "Parse")
+	@Label("Syslog Parse")
+	@Category({ "TNT4J Streams", "Syslog" })
+	@Description("Syslog message parsed into data map, including variables extraction and suppression")
+	@Enabled(false)
+	@StackTrace(false)
+	public static class ParseEvent extends Event {
+		/**
+		 * Parser name.
+		 */
+		@Label("Parser")
+		public String parser;
+		/**
+		 * Syslog message header host name.
+		 */
+		@Label("Host")
+		public String host;
+		/**
+		 * Syslog message size in bytes (chars for log lines).
+		 */
+		@Label("Size")
+		@DataAmount
+		public long size;
+		/**
+		 * Parse outcome: {@value SyslogFlightEvents#OUTCOME_PARSED}, {@value SyslogFlightEvents#OUTCOME_FAILED} or
+		 * {@value SyslogFlightEvents#OUTCOME_SUPPRESSED}.
+		 */
+		@Label("Outcome")
+		public String outcome;
+	}
+
+	/**
+	 * Syslog message variables extracted.
+	 */
+	@Name(NAME_PREFIX + "Variables")
+	@Label("Syslog Variables")
+	@Category({ "TNT4J Streams", "Syslog" })
+	@Description("Syslog message variables extracted")
+	@Enabled(false)
+	@StackTrace(false)
+	public static class VariablesEvent extends Event {
+		/**
+		 * Syslog message length in chars.
+		 */
+		@Label("Message Length")
+		public int length;
+		/**
+		 * Extracted variables count.
+		 */
+		@Label("Variables")
+		public int variables;
+	}
+
+	/**
+	 * Syslog message suppression decision made.
+	 */
+	@Name(NAME_PREFIX + "Suppress")
+	@Label("Syslog Suppress")
+	@Category({ "TNT4J Streams", "Syslog" })
+	@Description("Syslog message suppression decision, including message digest and suppression cache lookup")
+	@Enabled(false)
+	@StackTrace(false)
+	public static class SuppressEvent extends Event {
+		/**
+		 * Suppression level.
+		 */
+		@Label("Level")
+		public int level;
+		/**
+		 * Same message occurrences count.
+		 */
+		@Label("Occurrences")
+		public int occurrences;
+		/**
+		 * Flag indicating whether message has been suppressed.
+		 */
+		@Label("Suppressed")
+		public boolean suppressed;
+	}
+}
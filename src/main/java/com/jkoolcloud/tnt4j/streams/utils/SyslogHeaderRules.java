@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants.DEFAULT_FACILITY;
+import static com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants.DEFAULT_LEVEL;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+import org.graylog2.syslog4j.util.SyslogUtility;
+
+/**
+ * Ordered set of Syslog message header matching rules, used by {@link SyslogPriFilter}, {@link SyslogSampler} and
+ * {@link SyslogRouter}. Rule matches message by facility, severity and optionally host and application name prefixes.
+ * Rule definition syntax is {@code [FACILITIES:]SEVERITIES[:HOST_PREFIX[:APP_PREFIX]]}, where:
+ * <ul>
+ * <li>FACILITIES - comma separated facility names (e.g. {@code local0}) or codes, or {@code *} for any facility</li>
+ * <li>SEVERITIES - comma separated severity names ({@code debug}, {@code info}, {@code notice}, {@code warn},
+ * {@code error}, {@code critical}, {@code alert}, {@code emergency}) or codes, or {@code *} for any severity</li>
+ * <li>HOST_PREFIX - message host name prefix, empty for any host</li>
+ * <li>APP_PREFIX - message application name prefix, empty for any application</li>
+ * </ul>
+ * <p>
+ * For Syslog log lines only {@code <PRI>} prefix is decoded, and host/application name header tokens (at RFC 5424 or
+ * RFC 3164 header positions) are located only when rule having host/application prefix is evaluated. Log lines not
+ * having {@code <PRI>} prefix are treated as having default facility {@code user} and severity {@code info}.
+ * <p>
+ * Rules count matched messages. Rules can be used by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+final class SyslogHeaderRules {
+	static final String ANY = "*"; // NON-NLS
+
+	private static final int MAX_FACILITY = 23;
+	private static final int MAX_LEVEL = 7;
+
+	private final Rule[] rules;
+	private final LongAdder unmatched = new LongAdder();
+
+	/**
+	 * Constructs a new SyslogHeaderRules.
+	 *
+	 * @param rules
+	 *            ordered list of rules
+	 */
+	SyslogHeaderRules(List<Rule> rules) {
+		this.rules = rules.toArray(new Rule[0]);
+	}
+
+	/**
+	 * Splits rules definition string into rule definitions separated by {@code ';'}.
+	 *
+	 * @param definition
+	 *            rules definition
+	 * @return list of trimmed non-blank rule definitions
+	 */
+	static List<String> split(String definition) {
+		List<String> ruleDefs = new ArrayList<>();
+		if (StringUtils.isNotBlank(definition)) {
+			for (String ruleDef : definition.split(";")) {
+				if (StringUtils.isNotBlank(ruleDef)) {
+					ruleDefs.add(ruleDef.trim());
+				}
+			}
+		}
+		return ruleDefs;
+	}
+
+	/**
+	 * Parses header matching rule.
+	 *
+	 * @param ruleDef
+	 *            complete rule definition used in error message
+	 * @param tokens
+	 *            rule definition tokens separated by {@code ':'}
+	 * @param offset
+	 *            index of first header matching token
+	 * @param withFacilities
+	 *            flag indicating whether header matching tokens start with facilities
+	 * @return parsed rule
+	 *
+	 * @throws IllegalArgumentException
+	 *             if rule definition is invalid
+	 */
+	static Rule parseRule(String ruleDef, String[] tokens, int offset, boolean withFacilities) {
+		int i = offset;
+		int count = tokens.length - offset;
+		int minCount = withFacilities ? 2 : 1;
+		if (count < minCount || count > minCount + 2) {
+			throw invalidRule(ruleDef);
+		}
+
+		int facilities = withFacilities ? parseMask(ruleDef, tokens[i++], MAX_FACILITY, true) : -1;
+		int levels = parseMask(ruleDef, tokens[i++], MAX_LEVEL, false);
+		String hostPrefix = i < tokens.length ? StringUtils.trimToNull(tokens[i++]) : null;
+		String appPrefix = i < tokens.length ? StringUtils.trimToNull(tokens[i]) : null;
+
+		return new Rule(ruleDef, facilities, levels, hostPrefix, appPrefix);
+	}
+
+	private static int parseMask(String ruleDef, String values, int maxValue, boolean facility) {
+		if (ANY.equals(values.trim())) {
+			return -1;
+		}
+
+		int mask = 0;
+		for (String value : values.split(",")) {
+			String v = value.trim();
+			int code;
+			if (NumberUtils.isDigits(v)) {
+				code = NumberUtils.toInt(v, -1);
+			} else {
+				code = facility ? SyslogUtility.getFacility(v.toUpperCase()) >> 3
+						: SyslogUtility.getLevel(v.toUpperCase());
+			}
+			if (code < 0 || code > maxValue) {
+				throw invalidRule(ruleDef);
+			}
+			mask |= 1 << code;
+		}
+		return mask;
+	}
+
+	/**
+	 * Creates exception for invalid rule definition.
+	 *
+	 * @param ruleDef
+	 *            invalid rule definition
+	 * @return invalid rule exception
+	 */
+	static IllegalArgumentException invalidRule(String ruleDef) {
+		return new IllegalArgumentException(StreamsResources.getStringFormatted(
+				SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogPriFilter.invalid.rule", ruleDef));
+	}
+
+	/**
+	 * Finds first rule matching Syslog server event.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return matching rule index, or {@code -1} if no rule matches event
+	 */
+	int match(SyslogServerEventIF event) {
+		int facility = event.getFacility();
+		int level = event.getLevel();
+		String host = event.getHost();
+		String appSource = null;
+		int appStart = 0;
+		for (int r = 0; r < rules.length; r++) {
+			Rule rule = rules[r];
+			if (!rule.matches(facility, level) || !rule.matchesHost(host, 0)) {
+				continue;
+			}
+			if (rule.appPrefix != null) {
+				if (appSource == null) {
+					SyslogServerEventIF sourceEvent = SyslogAddressedEvent.unwrap(event);
+					appSource = getAppSource(sourceEvent);
+					appStart = getAppStart(sourceEvent, appSource);
+				}
+				if (!rule.matchesApp(appSource, appStart)) {
+					continue;
+				}
+			}
+			rule.matched.increment();
+			return r;
+		}
+		unmatched.increment();
+		return -1;
+	}
+
+	/**
+	 * Finds first rule matching Syslog log line.
+	 *
+	 * @param line
+	 *            Syslog log line
+	 * @return matching rule index, or {@code -1} if no rule matches log line
+	 */
+	int match(CharSequence line) {
+		int pos = getPriorityEnd(line);
+		int priority = getPriority(line, pos);
+		int facility = priority < 0 ? DEFAULT_FACILITY : priority >> 3;
+		int level = priority < 0 ? DEFAULT_LEVEL : priority & 0x07;
+
+		int hostStart = -1;
+		int appStart = -1;
+		for (int r = 0; r < rules.length; r++) {
+			Rule rule = rules[r];
+			if (!rule.matches(facility, level)) {
+				continue;
+			}
+			if ((rule.hostPrefix != null || rule.appPrefix != null) && hostStart < 0) {
+				hostStart = findHostStart(line, pos);
+				appStart = skipSpaces(line, skipToken(line, hostStart));
+			}
+			if (!rule.matchesHost(line, hostStart) || !rule.matchesApp(line, appStart)) {
+				continue;
+			}
+			rule.matched.increment();
+			return r;
+		}
+		unmatched.increment();
+		return -1;
+	}
+
+	/**
+	 * Returns counts of messages matched by every rule. Messages not matched by any rule are counted under {@code "*"}
+	 * key.
+	 *
+	 * @return map of rule definitions and matched messages counts
+	 */
+	Map<String, Long> getCounts() {
+		Map<String, Long> counts = new LinkedHashMap<>(rules.length + 1);
+		for (Rule rule : rules) {
+			counts.put(rule.definition, rule.matched.sum());
+		}
+		counts.put(ANY, unmatched.sum());
+		return counts;
+	}
+
+	private static String getAppSource(SyslogServerEventIF event) {
+		return event instanceof StructuredSyslogServerEvent
+				? ((StructuredSyslogServerEvent) event).getApplicationName() : event.getMessage();
+	}
+
+	private static int getAppStart(SyslogServerEventIF event, String appSource) {
+		// RFC 3164 event message starts with application name, unless host is left in message
+		String host = event.getHost();
+		if (!(event instanceof StructuredSyslogServerEvent) && !event.isHostStrippedFromMessage() && host != null
+				&& appSource != null && appSource.startsWith(host)) {
+			return skipSpaces(appSource, host.length());
+		}
+		return 0;
+	}
+
+	private static int getPriorityEnd(CharSequence line) {
+		if (line.length() > 2 && line.charAt(0) == '<') {
+			for (int i = 1; i < Math.min(line.length(), 5); i++) {
+				char ch = line.charAt(i);
+				if (ch == '>' && i > 1) {
+					return i + 1;
+				}
+				if (ch < '0' || ch > '9') {
+					break;
+				}
+			}
+		}
+		return 0;
+	}
+
+	private static int getPriority(CharSequence line, int end) {
+		if (end == 0) {
+			return -1;
+		}
+		int priority = 0;
+		for (int i = 1; i < end - 1; i++) {
+			priority = priority * 10 + (line.charAt(i) - '0');
+		}
+		return priority;
+	}
+
+	private static int findHostStart(CharSequence line, int pos) {
+		int i = pos;
+		if (i + 1 < line.length() && Character.isDigit(line.charAt(i)) && line.charAt(i + 1) == ' ') {
+			// RFC 5424: VERSION TIMESTAMP HOSTNAME APP-NAME
+			i = skipSpaces(line, skipToken(line, i));
+			i = skipSpaces(line, skipToken(line, i));
+		} else {
+			// RFC 3164: Mmm dd hh:mm:ss HOSTNAME TAG
+			for (int t = 0; t < 3; t++) {
+				i = skipSpaces(line, skipToken(line, i));
+			}
+		}
+		return i;
+	}
+
+	private static int skipToken(CharSequence line, int pos) {
+		int i = pos;
+		while (i < line.length() && line.charAt(i) != ' ') {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipSpaces(CharSequence line, int pos) {
+		int i = pos;
+		while (i < line.length() && line.charAt(i) == ' ') {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean startsWith(CharSequence str, int start, String prefix) {
+		if (str == null || start < 0 || str.length() - start < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (str.charAt(start + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Syslog message header matching rule.
+	 */
+	static final class Rule {
+		private final String definition;
+		private final int facilities;
+		private final int levels;
+		private final String hostPrefix;
+		private final String appPrefix;
+		private final LongAdder matched = new LongAdder();
+
+		private Rule(String definition, int facilities, int levels, String hostPrefix, String appPrefix) {
+			this.definition = definition;
+			this.facilities = facilities;
+			this.levels = levels;
+			this.hostPrefix = hostPrefix;
+			this.appPrefix = appPrefix;
+		}
+
+		private boolean matches(int facility, int level) {
+			return facility >= 0 && facility <= MAX_FACILITY && (facilities & (1 << facility)) != 0 && level >= 0
+					&& level <= MAX_LEVEL && (levels & (1 << level)) != 0;
+		}
+
+		private boolean matchesHost(CharSequence str, int start) {
+			return hostPrefix == null || startsWith(str, start, hostPrefix);
+		}
+
+		private boolean matchesApp(CharSequence str, int start) {
+			return appPrefix == null || startsWith(str, start, appPrefix);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Asynchronous reverse DNS resolver of Syslog sender addresses, caching resolved host names.
+ * <p>
+ * {@link #lookup(InetAddress)} never blocks: it returns cached host name, or {@code null} if address has not been
+ * resolved yet, and schedules address resolution on small resolver threads pool. So host name becomes available for
+ * following lookups of same address once resolution completes. Resolver queue is bounded, so lookups scheduled when
+ * queue is full are skipped and retried by later lookups.
+ * <p>
+ * Both resolved (positive) and failed to resolve (negative) addresses are cached, each for own time to live. Cache
+ * size is bounded, least recently used addresses are evicted first.
+ * <p>
+ * Resolver can be used by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogHostResolver implements Closeable {
+	private static final int QUEUE_SIZE = 1024;
+
+	private final Resolver resolver;
+	private final long positiveTtlNanos;
+	private final long negativeTtlNanos;
+	private final Cache<InetAddress, Entry> cache;
+	private final Set<InetAddress> pending = ConcurrentHashMap.newKeySet();
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Constructs a new SyslogHostResolver using system DNS resolver.
+	 *
+	 * @param cacheSize
+	 *            maximal number of cached addresses
+	 * @param positiveTtl
+	 *            resolved host name time to live in seconds
+	 * @param negativeTtl
+	 *            failed address resolution time to live in seconds
+	 * @param threads
+	 *            number of resolver threads
+	 */
+	public SyslogHostResolver(long cacheSize, long positiveTtl, long negativeTtl, int threads) {
+		this(SyslogHostResolver::resolveSystem, cacheSize, positiveTtl, negativeTtl, threads);
+	}
+
+	/**
+	 * Constructs a new SyslogHostResolver.
+	 *
+	 * @param resolver
+	 *            resolver of address host name
+	 * @param cacheSize
+	 *            maximal number of cached addresses
+	 * @param positiveTtl
+	 *            resolved host name time to live in seconds
+	 * @param negativeTtl
+	 *            failed address resolution time to live in seconds
+	 * @param threads
+	 *            number of resolver threads
+	 */
+	public SyslogHostResolver(Resolver resolver, long cacheSize, long positiveTtl, long negativeTtl, int threads) {
+		this.resolver = resolver;
+		this.positiveTtlNanos = TimeUnit.SECONDS.toNanos(positiveTtl);
+		this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtl);
+		this.cache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+
+		AtomicInteger count = new AtomicInteger();
+		int poolSize = Math.max(threads, 1);
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(QUEUE_SIZE), r -> {
+					Thread thread = new Thread(r, "SyslogHostResolver-" + count.incrementAndGet()); // NON-NLS
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * Returns cached host name of provided address, scheduling address resolution if address is not cached or cached
+	 * entry has expired.
+	 *
+	 * @param address
+	 *            address to get host name for
+	 * @return host name of address, or {@code null} if address is not resolved yet or can't be resolved
+	 */
+	public String lookup(InetAddress address) {
+		if (address == null) {
+			return null;
+		}
+		Entry entry = cache.getIfPresent(address);
+		if (entry != null && System.nanoTime() - entry.expiresAt < 0) {
+			return entry.hostName;
+		}
+
+		if (pending.add(address)) {
+			try {
+				executor.execute(() -> resolve(address));
+			} catch (RejectedExecutionException exc) {
+				// resolver queue is full - let later lookups retry
+				pending.remove(address);
+			}
+		}
+		// serve expired host name until it gets resolved again
+		return entry == null ? null : entry.hostName;
+	}
+
+	private void resolve(InetAddress address) {
+		String hostName = null;
+		try {
+			hostName = resolver.resolve(address);
+		} catch (Exception exc) {
+		}
+		if (hostName != null && hostName.equals(address.getHostAddress())) {
+			// address literal means address has no host name
+			hostName = null;
+		}
+		long ttl = hostName == null ? negativeTtlNanos : positiveTtlNanos;
+		cache.put(address, new Entry(hostName, System.nanoTime() + ttl));
+		pending.remove(address);
+	}
+
+	private static String resolveSystem(InetAddress address) throws Exception {
+		// new address instance, so host name address was created with is not reused
+		return InetAddress.getByAddress(address.getAddress()).getCanonicalHostName();
+	}
+
+	/**
+	 * Returns count of cached addresses.
+	 *
+	 * @return cached addresses count
+	 */
+	public long getCachedCount() {
+		return cache.size();
+	}
+
+	/**
+	 * Stops resolver threads.
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Resolver of address host name.
+	 */
+	@FunctionalInterface
+	public interface Resolver {
+		/**
+		 * Resolves host name of provided address.
+		 *
+		 * @param address
+		 *            address to resolve
+		 * @return host name of address, or {@code null} if address has no host name
+		 *
+		 * @throws Exception
+		 *             if address resolution fails
+		 */
+		String resolve(InetAddress address) throws Exception;
+	}
+
+	private static final class Entry {
+		private final String hostName;
+		private final long expiresAt;
+
+		private Entry(String hostName, long expiresAt) {
+			this.hostName = hostName;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,484 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * Synthetic Syslog traffic load generator. Sends RFC 3164 and/or RFC 5424 messages over UDP or TCP to Syslog server
+ * (e.g. {@link com.jkoolcloud.tnt4j.streams.inputs.SyslogdStream}) running on local host, from multiple threads at
+ * target total rate.
+ * <p>
+ * Generated traffic mimics real Syslog sources:
+ * <ul>
+ * <li>host and application names are picked from configured cardinality sets using skewed distribution, so few
+ * hosts/applications produce most of messages</li>
+ * <li>message sizes follow log-normal distribution around configured median size, bounded by configured maximal
+ * size</li>
+ * <li>severities are weighted towards informational levels</li>
+ * </ul>
+ * Every message text starts with {@value #SEND_TIME_VAR} variable, containing message send time in microseconds since
+ * epoch. Receiving stream uses it to measure end-to-end latency, see
+ * {@link com.jkoolcloud.tnt4j.streams.inputs.SyslogLatencyTracker}.
+ * <p>
+ * Generator accepts these command line arguments:
+ * <ul>
+ * <li>-protocol:{tcp|udp} - transport protocol. Default value - 'tcp'</li>
+ * <li>-host:{host} - local host name or address of Syslog server. Only loopback addresses are allowed. Default value -
+ * '127.0.0.1'</li>
+ * <li>-port:{port} - port of Syslog server. Default value - '514'</li>
+ * <li>-threads:{count} - sending threads count. Default value - '4'</li>
+ * <li>-rate:{msg/s} - target total messages rate, '0' means as fast as possible. Default value - '10000'</li>
+ * <li>-duration:{seconds} - load duration in seconds. Default value - '60'</li>
+ * <li>-format:{rfc3164|rfc5424|mixed} - messages format. Default value - 'mixed'</li>
+ * <li>-hosts:{count} - distinct host names count. Default value - '100'</li>
+ * <li>-apps:{count} - distinct application names count. Default value - '20'</li>
+ * <li>-size:{bytes} - median message size in bytes. Default value - '200'</li>
+ * <li>-maxSize:{bytes} - maximal message size in bytes. Default value - '4096'</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogLoadGenerator {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogLoadGenerator.class);
+
+	/**
+	 * Constant for name of Syslog message variable containing message send time in microseconds since epoch.
+	 */
+	public static final String SEND_TIME_VAR = "lgSendTime"; // NON-NLS
+
+	private static final String SEND_TIME_PREFIX = SEND_TIME_VAR + "="; // NON-NLS
+
+	static final String FORMAT_RFC3164 = "rfc3164"; // NON-NLS
+	static final String FORMAT_RFC5424 = "rfc5424"; // NON-NLS
+	static final String FORMAT_MIXED = "mixed"; // NON-NLS
+
+	private static final String[] WORDS = { "connection", "request", "user", "session", "accepted", "closed", "timeout",
+			"error", "started", "stopped", "from", "port", "service", "disk", "memory", "queue", "retry", "token",
+			"client", "server", "handshake", "completed", "failed", "update", "config", "cache", "worker" }; // NON-NLS
+	private static final String[] APP_NAMES = { "sshd", "kernel", "systemd", "cron", "nginx", "postfix", "dockerd",
+			"kubelet", "sudo", "haproxy", "mysqld", "java", "named", "ntpd", "auditd" }; // NON-NLS
+	private static final int[] FACILITIES = { 0, 1, 3, 4, 9, 10, 16, 17, 18, 19, 20, 21, 22, 23 };
+	private static final int[] SEVERITY_WEIGHTS = { 1, 1, 2, 6, 12, 20, 50, 8 };
+	private static final int MIN_SIZE = 48;
+	private static final double SIZE_SIGMA = 0.6;
+
+	private static final DateTimeFormatter RFC3164_TIME = DateTimeFormatter.ofPattern("MMM dd HH:mm:ss", // NON-NLS
+			Locale.US);
+	private static final DateTimeFormatter RFC5424_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss", // NON-NLS
+			Locale.US);
+
+	private String protocol = "tcp"; // NON-NLS
+	private String host = "127.0.0.1"; // NON-NLS
+	private int port = 514;
+	private int threads = 4;
+	private long rate = 10000;
+	private long duration = 60;
+	private String format = FORMAT_MIXED;
+	private int hosts = 100;
+	private int apps = 20;
+	private int medianSize = 200;
+	private int maxSize = 4096;
+
+	private final AtomicBoolean stopped = new AtomicBoolean();
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder sentBytes = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	/**
+	 * Main entry point for running load generator.
+	 *
+	 * @param args
+	 *            command-line arguments
+	 *
+	 * @throws Exception
+	 *             if load generation fails
+	 */
+	public static void main(String... args) throws Exception {
+		SyslogLoadGenerator generator = new SyslogLoadGenerator();
+		generator.configure(args);
+		generator.run();
+	}
+
+	void configure(String... args) {
+		for (String arg : args) {
+			int sep = arg.indexOf(':');
+			if (!arg.startsWith("-") || sep < 0) { // NON-NLS
+				throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+						SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogLoadGenerator.arg.invalid", arg));
+			}
+			String name = arg.substring(1, sep);
+			String value = arg.substring(sep + 1);
+			if ("protocol".equalsIgnoreCase(name)) { // NON-NLS
+				protocol = value.toLowerCase();
+			} else if ("host".equalsIgnoreCase(name)) { // NON-NLS
+				host = value;
+			} else if ("port".equalsIgnoreCase(name)) { // NON-NLS
+				port = toPositiveInt(arg, value);
+			} else if ("threads".equalsIgnoreCase(name)) { // NON-NLS
+				threads = toPositiveInt(arg, value);
+			} else if ("rate".equalsIgnoreCase(name)) { // NON-NLS
+				rate = NumberUtils.toLong(value, -1);
+			} else if ("duration".equalsIgnoreCase(name)) { // NON-NLS
+				duration = toPositiveInt(arg, value);
+			} else if ("format".equalsIgnoreCase(name)) { // NON-NLS
+				format = value.toLowerCase();
+			} else if ("hosts".equalsIgnoreCase(name)) { // NON-NLS
+				hosts = toPositiveInt(arg, value);
+			} else if ("apps".equalsIgnoreCase(name)) { // NON-NLS
+				apps = toPositiveInt(arg, value);
+			} else if ("size".equalsIgnoreCase(name)) { // NON-NLS
+				medianSize = toPositiveInt(arg, value);
+			} else if ("maxSize".equalsIgnoreCase(name)) { // NON-NLS
+				maxSize = toPositiveInt(arg, value);
+			} else {
+				throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+						SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogLoadGenerator.arg.invalid", arg));
+			}
+		}
+
+		if (!"tcp".equals(protocol) && !"udp".equals(protocol) || rate < 0 // NON-NLS
+				|| !StringUtils.equalsAny(format, FORMAT_RFC3164, FORMAT_RFC5424, FORMAT_MIXED)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogLoadGenerator.args.invalid", protocol, rate,
+					format));
+		}
+	}
+
+	private static int toPositiveInt(String arg, String value) {
+		int i = NumberUtils.toInt(value, -1);
+		if (i <= 0) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogLoadGenerator.arg.invalid", arg));
+		}
+		return i;
+	}
+
+	/**
+	 * Runs configured load: starts sending threads, logs achieved rate every second and waits for load duration to
+	 * elapse.
+	 *
+	 * @throws Exception
+	 *             if Syslog server address is not local or sending threads can't be started
+	 */
+	void run() throws Exception {
+		InetAddress address = InetAddress.getByName(host);
+		if (!address.isLoopbackAddress()) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogLoadGenerator.host.not.local", host));
+		}
+		InetSocketAddress target = new InetSocketAddress(address, port);
+
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogLoadGenerator.starting", protocol, target, threads, rate, duration, format, hosts, apps,
+				medianSize, maxSize);
+
+		Thread[] senders = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			Sender sender = new Sender(target, i);
+			senders[i] = new Thread(sender, "SyslogLoadGenerator.Sender-" + i); // NON-NLS
+			senders[i].setDaemon(true);
+			senders[i].start();
+		}
+
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(duration);
+		long lastSent = 0;
+		long now;
+		while ((now = System.nanoTime()) < end) {
+			Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(1), TimeUnit.NANOSECONDS.toMillis(end - now) + 1));
+			long total = sent.sum();
+			LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogLoadGenerator.progress", total, total - lastSent, failed.sum());
+			lastSent = total;
+		}
+
+		stopped.set(true);
+		for (Thread sender : senders) {
+			sender.join(TimeUnit.SECONDS.toMillis(5));
+		}
+
+		double elapsedSec = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogLoadGenerator.complete", sent.sum(), sentBytes.sum(), failed.sum(),
+				String.format("%.1f", elapsedSec), String.format("%.0f", sent.sum() / elapsedSec)); // NON-NLS
+	}
+
+	/**
+	 * Returns current wall clock time in microseconds since epoch.
+	 *
+	 * @return current time in microseconds
+	 */
+	public static long currentTimeMicros() {
+		Instant now = Instant.now();
+		return TimeUnit.SECONDS.toMicros(now.getEpochSecond()) + TimeUnit.NANOSECONDS.toMicros(now.getNano());
+	}
+
+	/**
+	 * Resolves load generator send time from Syslog message text.
+	 *
+	 * @param message
+	 *            Syslog message text
+	 * @return message send time in microseconds since epoch, or {@code -1} if message has no send time
+	 */
+	public static long parseSendTime(String message) {
+		if (message == null) {
+			return -1;
+		}
+		int idx = message.indexOf(SEND_TIME_PREFIX);
+		if (idx < 0) {
+			return -1;
+		}
+		long time = 0;
+		int i = idx + SEND_TIME_PREFIX.length();
+		int start = i;
+		for (; i < message.length(); i++) {
+			char ch = message.charAt(i);
+			if (ch < '0' || ch > '9') {
+				break;
+			}
+			time = time * 10 + (ch - '0');
+		}
+		return i == start ? -1 : time;
+	}
+
+	/**
+	 * Builds synthetic Syslog message.
+	 *
+	 * @param sb
+	 *            builder to append message to
+	 * @param rfc5424
+	 *            flag indicating whether to build RFC 5424 message, RFC 3164 message otherwise
+	 * @param sendTime
+	 *            message send time in microseconds since epoch
+	 * @param hostName
+	 *            message host name
+	 * @param appIdx
+	 *            message application index
+	 * @param size
+	 *            approximate message size in bytes
+	 */
+	static void buildMessage(StringBuilder sb, boolean rfc5424, long sendTime, String hostName, int appIdx,
+			int size) {
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+		int pri = FACILITIES[rnd.nextInt(FACILITIES.length)] * 8 + weighted(SEVERITY_WEIGHTS, rnd);
+		String appName = APP_NAMES[appIdx % APP_NAMES.length]
+				+ (appIdx < APP_NAMES.length ? "" : "-" + (appIdx / APP_NAMES.length)); // NON-NLS
+		int pid = 1000 + appIdx * 7;
+		LocalDateTime time = LocalDateTime.ofEpochSecond(TimeUnit.MICROSECONDS.toSeconds(sendTime),
+				(int) TimeUnit.MICROSECONDS.toNanos(sendTime % 1_000_000), ZoneOffset.UTC);
+
+		sb.append('<').append(pri).append('>');
+		if (rfc5424) {
+			sb.append("1 ").append(RFC5424_TIME.format(time)).append('.'); // NON-NLS
+			String micros = String.valueOf(sendTime % 1_000_000);
+			sb.append("000000", micros.length(), 6).append(micros).append("Z "); // NON-NLS
+			sb.append(hostName).append(' ').append(appName).append(' ').append(pid);
+			sb.append(" ID").append(pri % 50).append(" - "); // NON-NLS
+		} else {
+			sb.append(RFC3164_TIME.format(time)).append(' ').append(hostName).append(' ').append(appName).append('[')
+					.append(pid).append("]: "); // NON-NLS
+		}
+		sb.append(SEND_TIME_PREFIX).append(sendTime);
+		// at least one word follows send time, so it is resolved as regular message variable too
+		do {
+			sb.append(' ').append(WORDS[rnd.nextInt(WORDS.length)]);
+			if (rnd.nextInt(8) == 0) {
+				sb.append(' ').append(WORDS[rnd.nextInt(WORDS.length)]).append('=').append(rnd.nextInt(10000));
+			}
+		} while (sb.length() < size);
+	}
+
+	private static int weighted(int[] weights, ThreadLocalRandom rnd) {
+		int total = 0;
+		for (int w : weights) {
+			total += w;
+		}
+		int r = rnd.nextInt(total);
+		for (int i = 0; i < weights.length; i++) {
+			r -= weights[i];
+			if (r < 0) {
+				return i;
+			}
+		}
+		return weights.length - 1;
+	}
+
+	/**
+	 * Picks index in range {@code [0, count)} skewed towards lower indexes.
+	 */
+	static int skewed(int count, ThreadLocalRandom rnd) {
+		double r = rnd.nextDouble();
+		return (int) (count * r * r * r);
+	}
+
+	/**
+	 * Picks message size from log-normal distribution around median size.
+	 */
+	int messageSize(ThreadLocalRandom rnd) {
+		double size = medianSize * Math.exp(SIZE_SIGMA * rnd.nextGaussian());
+		return (int) Math.max(MIN_SIZE, Math.min(maxSize, size));
+	}
+
+	private class Sender implements Runnable {
+		private final InetSocketAddress target;
+		private final int id;
+		private final String[] hostNames = new String[hosts];
+
+		private Sender(InetSocketAddress target, int id) {
+			this.target = target;
+			this.id = id;
+			for (int i = 0; i < hosts; i++) {
+				hostNames[i] = String.format("host-%04d.example.com", i); // NON-NLS
+			}
+		}
+
+		@Override
+		public void run() {
+			Transport transport = null;
+			try {
+				transport = "udp".equals(protocol) ? new UdpTransport(target) : new TcpTransport(target); // NON-NLS
+				ThreadLocalRandom rnd = ThreadLocalRandom.current();
+				StringBuilder sb = new StringBuilder(maxSize + 256);
+				long intervalNanos = rate == 0 ? 0 : TimeUnit.SECONDS.toNanos(threads) / rate;
+				long next = System.nanoTime();
+				long count = 0;
+
+				while (!stopped.get()) {
+					if (intervalNanos > 0) {
+						long wait = next - System.nanoTime();
+						if (wait > 0) {
+							// ahead of schedule: push out buffered messages before parking
+							transport.flush();
+							LockSupport.parkNanos(wait);
+						}
+						next += intervalNanos;
+					}
+
+					boolean rfc5424 = FORMAT_RFC5424.equals(format)
+							|| FORMAT_MIXED.equals(format) && ((count + id) & 1) == 0;
+					sb.setLength(0);
+					buildMessage(sb, rfc5424, currentTimeMicros(), hostNames[skewed(hosts, rnd)], skewed(apps, rnd),
+							messageSize(rnd));
+					try {
+						sentBytes.add(transport.send(sb));
+						sent.increment();
+					} catch (IOException exc) {
+						failed.increment();
+						if (transport instanceof TcpTransport) {
+							throw exc;
+						}
+					}
+					count++;
+				}
+				transport.flush();
+			} catch (Exception exc) {
+				LOGGER.log(OpLevel.ERROR, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+						"SyslogLoadGenerator.sender.failed", id, target, exc);
+			} finally {
+				Utils.close(transport);
+			}
+		}
+	}
+
+	private interface Transport extends Closeable {
+		int send(CharSequence message) throws IOException;
+
+		void flush() throws IOException;
+	}
+
+	private static class UdpTransport implements Transport {
+		private final DatagramChannel channel;
+
+		UdpTransport(InetSocketAddress target) throws IOException {
+			channel = DatagramChannel.open();
+			channel.connect(target);
+		}
+
+		@Override
+		public int send(CharSequence message) throws IOException {
+			return channel.write(ByteBuffer.wrap(message.toString().getBytes(StandardCharsets.UTF_8)));
+		}
+
+		@Override
+		public void flush() {
+			// datagrams are not buffered
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	private static class TcpTransport implements Transport {
+		private final Socket socket;
+		private final OutputStream out;
+
+		TcpTransport(InetSocketAddress target) throws IOException {
+			socket = new Socket();
+			socket.setTcpNoDelay(true);
+			socket.connect(target);
+			out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+		}
+
+		@Override
+		public int send(CharSequence message) throws IOException {
+			byte[] bytes = message.toString().getBytes(StandardCharsets.UTF_8);
+			out.write(bytes);
+			out.write('\n');
+			return bytes.length + 1;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			socket.close();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+
+/**
+ * Syslog messages pre-parse filter, accepting or rejecting messages by facility, severity and optionally host and
+ * application name prefixes. For Syslog log lines only {@code <PRI>} prefix is decoded, and host/application name
+ * header tokens are located only when rule having host/application prefix is evaluated. So rejected messages are not
+ * parsed at all.
+ * <p>
+ * Filter is defined by rules separated by {@code ';'}. Rule syntax is
+ * {@code ACTION:FACILITIES:SEVERITIES[:HOST_PREFIX[:APP_PREFIX]]}, where:
+ * <ul>
+ * <li>ACTION - {@code accept} or {@code drop}</li>
+ * <li>FACILITIES - comma separated facility names (e.g. {@code local0}) or codes, or {@code *} for any facility</li>
+ * <li>SEVERITIES - comma separated severity names ({@code debug}, {@code info}, {@code notice}, {@code warn},
+ * {@code error}, {@code critical}, {@code alert}, {@code emergency}) or codes, or {@code *} for any severity</li>
+ * <li>HOST_PREFIX - message host name prefix, empty for any host</li>
+ * <li>APP_PREFIX - message application name prefix, empty for any application</li>
+ * </ul>
+ * Rules are evaluated in definition order and first matching rule action is applied. Messages not matched by any rule
+ * are accepted. E.g. {@code accept:*:*:core-;drop:local0,local1:*;drop:*:debug,info} drops all {@code local0} and
+ * {@code local1} facility messages and all {@code debug} and {@code info} severity messages, except those sent by
+ * hosts named {@code core-*}.
+ * <p>
+ * Log lines not having {@code <PRI>} prefix are treated as having default facility {@code user} and severity
+ * {@code info}. Log line host and application name are expected at RFC 5424 or RFC 3164 header positions.
+ * <p>
+ * Filter counts messages matched by every rule. Filter can be used by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogPriFilter {
+	private static final String ACCEPT = "accept"; // NON-NLS
+	private static final String DROP = "drop"; // NON-NLS
+
+	private final SyslogHeaderRules rules;
+	private final boolean[] actions;
+
+	private SyslogPriFilter(SyslogHeaderRules rules, boolean[] actions) {
+		this.rules = rules;
+		this.actions = actions;
+	}
+
+	/**
+	 * Creates filter from rules definition string.
+	 *
+	 * @param definition
+	 *            filter rules definition
+	 * @return filter instance, or {@code null} if definition is empty
+	 *
+	 * @throws IllegalArgumentException
+	 *             if any rule definition is invalid
+	 */
+	public static SyslogPriFilter create(String definition) throws IllegalArgumentException {
+		List<String> ruleDefs = SyslogHeaderRules.split(definition);
+		if (ruleDefs.isEmpty()) {
+			return null;
+		}
+
+		List<SyslogHeaderRules.Rule> rules = new ArrayList<>(ruleDefs.size());
+		boolean[] actions = new boolean[ruleDefs.size()];
+		for (int i = 0; i < actions.length; i++) {
+			String ruleDef = ruleDefs.get(i);
+			String[] tokens = ruleDef.split(":", -1);
+			String action = tokens[0].trim();
+			if (ACCEPT.equalsIgnoreCase(action)) {
+				actions[i] = true;
+			} else if (!DROP.equalsIgnoreCase(action)) {
+				throw SyslogHeaderRules.invalidRule(ruleDef);
+			}
+			rules.add(SyslogHeaderRules.parseRule(ruleDef, tokens, 1, true));
+		}
+		return new SyslogPriFilter(new SyslogHeaderRules(rules), actions);
+	}
+
+	/**
+	 * Checks whether Syslog server event shall be accepted.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return {@code true} if event is accepted, {@code false} - otherwise
+	 */
+	public boolean accept(SyslogServerEventIF event) {
+		int rule = rules.match(event);
+		return rule < 0 || actions[rule];
+	}
+
+	/**
+	 * Checks whether Syslog log line shall be accepted.
+	 *
+	 * @param line
+	 *            Syslog log line
+	 * @return {@code true} if log line is accepted, {@code false} - otherwise
+	 */
+	public boolean accept(CharSequence line) {
+		int rule = rules.match(line);
+		return rule < 0 || actions[rule];
+	}
+
+	/**
+	 * Returns counts of messages matched by every filter rule. Messages not matched by any rule are counted under
+	 * {@code "*"} key.
+	 *
+	 * @return map of rule definitions and matched messages counts
+	 */
+	public Map<String, Long> getRuleCounts() {
+		return rules.getCounts();
+	}
+
+	@Override
+	public String toString() {
+		return getRuleCounts().toString();
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+
+/**
+ * Syslog messages router, classifying messages into named routes by facility, severity and optionally host and
+ * application name prefixes. Classification uses only message {@code <PRI>} prefix and header, so message is parsed
+ * only once - by parsers of route it has been classified into.
+ * <p>
+ * Router is defined by rules separated by {@code ';'}. Rule syntax is
+ * {@code ROUTE:FACILITIES:SEVERITIES[:HOST_PREFIX[:APP_PREFIX]]}, where ROUTE is route name and other tokens are same
+ * as {@link SyslogPriFilter} rule tokens. Rules are evaluated in definition order and message is classified into first
+ * matching rule route. Many rules can define same route. E.g.
+ * {@code security:auth,authpriv:*;kernel:kern:*;apps:*:*::app-} routes {@code auth} and {@code authpriv} facility
+ * messages to route {@code security}, {@code kern} facility messages to route {@code kernel} and messages of
+ * applications named {@code app-*} to route {@code apps}.
+ * <p>
+ * Router counts messages matched by every rule. Router can be used by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogRouter {
+	private final SyslogHeaderRules rules;
+	private final int[] ruleRoutes;
+	private final String[] routes;
+
+	private SyslogRouter(SyslogHeaderRules rules, int[] ruleRoutes, String[] routes) {
+		this.rules = rules;
+		this.ruleRoutes = ruleRoutes;
+		this.routes = routes;
+	}
+
+	/**
+	 * Creates router from rules definition string.
+	 *
+	 * @param definition
+	 *            router rules definition
+	 * @return router instance, or {@code null} if definition is empty
+	 *
+	 * @throws IllegalArgumentException
+	 *             if any rule definition is invalid
+	 */
+	public static SyslogRouter create(String definition) throws IllegalArgumentException {
+		List<String> ruleDefs = SyslogHeaderRules.split(definition);
+		if (ruleDefs.isEmpty()) {
+			return null;
+		}
+
+		List<SyslogHeaderRules.Rule> rules = new ArrayList<>(ruleDefs.size());
+		List<String> routes = new ArrayList<>();
+		int[] ruleRoutes = new int[ruleDefs.size()];
+		for (int i = 0; i < ruleRoutes.length; i++) {
+			String ruleDef = ruleDefs.get(i);
+			String[] tokens = ruleDef.split(":", -1);
+			String route = tokens[0].trim();
+			if (StringUtils.isEmpty(route) || SyslogHeaderRules.ANY.equals(route)) {
+				throw SyslogHeaderRules.invalidRule(ruleDef);
+			}
+			int routeIdx = routes.indexOf(route);
+			if (routeIdx < 0) {
+				routeIdx = routes.size();
+				routes.add(route);
+			}
+			ruleRoutes[i] = routeIdx;
+			rules.add(SyslogHeaderRules.parseRule(ruleDef, tokens, 1, true));
+		}
+		return new SyslogRouter(new SyslogHeaderRules(rules), ruleRoutes, routes.toArray(new String[0]));
+	}
+
+	/**
+	 * Classifies Syslog server event into route.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return route index, or {@code -1} if event does not match any route
+	 */
+	public int route(SyslogServerEventIF event) {
+		int rule = rules.match(event);
+		return rule < 0 ? -1 : ruleRoutes[rule];
+	}
+
+	/**
+	 * Classifies Syslog log line into route.
+	 *
+	 * @param line
+	 *            Syslog log line
+	 * @return route index, or {@code -1} if log line does not match any route
+	 */
+	public int route(CharSequence line) {
+		int rule = rules.match(line);
+		return rule < 0 ? -1 : ruleRoutes[rule];
+	}
+
+	/**
+	 * Returns count of routes defined by router rules.
+	 *
+	 * @return routes count
+	 */
+	public int getRoutesCount() {
+		return routes.length;
+	}
+
+	/**
+	 * Returns route name.
+	 *
+	 * @param route
+	 *            route index
+	 * @return route name
+	 */
+	public String getRouteName(int route) {
+		return routes[route];
+	}
+
+	/**
+	 * Returns counts of messages matched by every router rule. Messages not matched by any rule are counted under
+	 * {@code "*"} key.
+	 *
+	 * @return map of rule definitions and matched messages counts
+	 */
+	public Map<String, Long> getRuleCounts() {
+		return rules.getCounts();
+	}
+}
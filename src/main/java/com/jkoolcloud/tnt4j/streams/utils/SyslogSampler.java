@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+
+/**
+ * Syslog messages sampler, keeping configured share (sample rate) of messages by severity and optionally host and
+ * application name prefixes. Kept message sampling weight (inverse of sample rate) allows to extrapolate counts of
+ * sampled messages. Sampling decision is made using only message {@code <PRI>} prefix and header, before message is
+ * parsed.
+ * <p>
+ * Sampler is defined by rules separated by {@code ';'}. Rule syntax is
+ * {@code SEVERITIES[:HOST_PREFIX[:APP_PREFIX]]=RATE}, where:
+ * <ul>
+ * <li>SEVERITIES - comma separated severity names ({@code debug}, {@code info}, {@code notice}, {@code warn},
+ * {@code error}, {@code critical}, {@code alert}, {@code emergency}) or codes, or {@code *} for any severity</li>
+ * <li>HOST_PREFIX - message host name prefix, empty for any host</li>
+ * <li>APP_PREFIX - message application name prefix, empty for any application</li>
+ * <li>RATE - sample rate in range {@code [0, 1]}</li>
+ * </ul>
+ * Rules are evaluated in definition order and first matching rule sample rate is applied. Messages not matched by any
+ * rule are kept. E.g. {@code debug=0;info:core-=0.1;info=0.01} drops all {@code debug} messages, keeps 10% of
+ * {@code info} messages sent by hosts named {@code core-*} and 1% of other {@code info} messages.
+ * <p>
+ * Sampler supports these modes:
+ * <ul>
+ * <li>{@value #MODE_RANDOM} - messages are sampled randomly</li>
+ * <li>{@value #MODE_HASH} - messages are sampled by message text hash, so same message of same host always gets same
+ * sampling decision, e.g. on every stream instance receiving same messages</li>
+ * </ul>
+ * <p>
+ * Sampler can be used by many threads concurrently.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogSampler {
+	/**
+	 * Constant for random sampling mode name.
+	 */
+	public static final String MODE_RANDOM = "random"; // NON-NLS
+	/**
+	 * Constant for message hash based sampling mode name.
+	 */
+	public static final String MODE_HASH = "hash"; // NON-NLS
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final SyslogHeaderRules rules;
+	private final double[] rates;
+	private final boolean hashMode;
+
+	private SyslogSampler(SyslogHeaderRules rules, double[] rates, boolean hashMode) {
+		this.rules = rules;
+		this.rates = rates;
+		this.hashMode = hashMode;
+	}
+
+	/**
+	 * Creates sampler from rules definition string.
+	 *
+	 * @param definition
+	 *            sampler rules definition
+	 * @param mode
+	 *            sampling mode: {@value #MODE_RANDOM} or {@value #MODE_HASH}
+	 * @return sampler instance, or {@code null} if definition is empty
+	 *
+	 * @throws IllegalArgumentException
+	 *             if any rule definition or sampling mode is invalid
+	 */
+	public static SyslogSampler create(String definition, String mode) throws IllegalArgumentException {
+		List<String> ruleDefs = SyslogHeaderRules.split(definition);
+		if (ruleDefs.isEmpty()) {
+			return null;
+		}
+		boolean hashMode = MODE_HASH.equalsIgnoreCase(mode);
+		if (!hashMode && StringUtils.isNotEmpty(mode) && !MODE_RANDOM.equalsIgnoreCase(mode)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					SyslogStreamConstants.RESOURCE_BUNDLE_NAME, "SyslogSampler.invalid.mode", mode));
+		}
+
+		List<SyslogHeaderRules.Rule> rules = new ArrayList<>(ruleDefs.size());
+		double[] rates = new double[ruleDefs.size()];
+		for (int i = 0; i < rates.length; i++) {
+			String ruleDef = ruleDefs.get(i);
+			int eqIdx = ruleDef.lastIndexOf('=');
+			if (eqIdx < 0) {
+				throw SyslogHeaderRules.invalidRule(ruleDef);
+			}
+			rates[i] = NumberUtils.toDouble(ruleDef.substring(eqIdx + 1).trim(), -1);
+			if (rates[i] < 0 || rates[i] > 1) {
+				throw SyslogHeaderRules.invalidRule(ruleDef);
+			}
+			rules.add(SyslogHeaderRules.parseRule(ruleDef, ruleDef.substring(0, eqIdx).split(":", -1), 0, false));
+		}
+		return new SyslogSampler(new SyslogHeaderRules(rules), rates, hashMode);
+	}
+
+	/**
+	 * Makes sampling decision for Syslog server event.
+	 *
+	 * @param event
+	 *            Syslog server event
+	 * @return kept event sampling weight, or {@code 0} if event is dropped
+	 */
+	public double sample(SyslogServerEventIF event) {
+		int rule = rules.match(event);
+		if (rule < 0) {
+			return 1;
+		}
+		return sample(rates[rule], hashMode ? hash(event.getMessage(), hash(event.getHost(), FNV_OFFSET)) : 0);
+	}
+
+	/**
+	 * Makes sampling decision for Syslog log line.
+	 *
+	 * @param line
+	 *            Syslog log line
+	 * @return kept log line sampling weight, or {@code 0} if log line is dropped
+	 */
+	public double sample(CharSequence line) {
+		int rule = rules.match(line);
+		if (rule < 0) {
+			return 1;
+		}
+		return sample(rates[rule], hashMode ? hash(line, FNV_OFFSET) : 0);
+	}
+
+	private double sample(double rate, long hash) {
+		if (rate >= 1) {
+			return 1;
+		}
+		if (rate <= 0) {
+			return 0;
+		}
+		double random = hashMode ? (hash >>> 11) * 0x1.0p-53 : ThreadLocalRandom.current().nextDouble();
+		return random < rate ? 1 / rate : 0;
+	}
+
+	/**
+	 * Calculates 64-bit FNV-1a hash of string characters, finalized by mixing function to spread hash bits evenly.
+	 *
+	 * @param str
+	 *            string to hash
+	 * @param seed
+	 *            hash seed
+	 * @return string hash
+	 */
+	static long hash(CharSequence str, long seed) {
+		long h = seed;
+		if (str != null) {
+			for (int i = 0; i < str.length(); i++) {
+				h = (h ^ str.charAt(i)) * FNV_PRIME;
+			}
+		}
+		h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+		h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+		return h ^ (h >>> 31);
+	}
+}
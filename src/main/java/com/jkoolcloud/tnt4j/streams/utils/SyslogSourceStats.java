@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * Bounded table of per Syslog source (host and application pair) statistics: message and byte rates, last seen time
+ * and lag between event time and processing time.
+ * <p>
+ * Recording message is lock free: source statistics counters are {@link LongAdder}s and sources are looked up in
+ * {@link ConcurrentHashMap}. Rates and lag are exponentially weighted moving averages (EWMA) over last minute,
+ * recalculated every {@value #UPDATE_INTERVAL_SEC} seconds by background thread, which also evicts sources idle longer
+ * than {@value #IDLE_TIMEOUT_MIN} minutes and orders top sources by message rate. So top sources are retrieved in
+ * {@code O(k)} time, without scanning all sources.
+ * <p>
+ * When table is full, messages of new sources are counted as overflow messages until idle sources are evicted.
+ * <p>
+ * Table is available over JMX as MBean named
+ * {@code com.jkoolcloud.tnt4j.streams:type=SyslogSourceStats,name=<table name>}, and can be periodically dumped to
+ * log.
+ *
+ * @version $Revision: 1 $
+ */
+public class SyslogSourceStats implements SyslogSourceStatsMBean, Closeable {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(SyslogSourceStats.class);
+
+	static final int UPDATE_INTERVAL_SEC = 5;
+	static final int IDLE_TIMEOUT_MIN = 15;
+	private static final double ALPHA = 1 - Math.exp(-UPDATE_INTERVAL_SEC / 60.0);
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "SyslogSourceStats.Updater"); // NON-NLS
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final String name;
+	private final int maxSources;
+	private final int topCount;
+	private final ConcurrentHashMap<String, Source> sources;
+	private final Source overflow = new Source("*", "*"); // NON-NLS
+	private volatile Source[] top = new Source[0];
+
+	private ObjectName objectName;
+	private final List<ScheduledFuture<?>> tasks = new ArrayList<>(2);
+
+	/**
+	 * Constructs a new SyslogSourceStats.
+	 *
+	 * @param name
+	 *            table name
+	 * @param maxSources
+	 *            maximal count of tracked sources
+	 * @param topCount
+	 *            count of top sources ordered by message rate
+	 */
+	public SyslogSourceStats(String name, int maxSources, int topCount) {
+		this.name = name;
+		this.maxSources = maxSources;
+		this.topCount = topCount;
+		this.sources = new ConcurrentHashMap<>(Math.min(maxSources, 1024));
+	}
+
+	/**
+	 * Starts periodic statistics update and dump, and registers table MBean.
+	 *
+	 * @param dumpInterval
+	 *            statistics dump to log interval in seconds, {@code 0} - no dump
+	 */
+	public synchronized void start(long dumpInterval) {
+		tasks.add(SCHEDULER.scheduleAtFixedRate(() -> update(UPDATE_INTERVAL_SEC, System.currentTimeMillis()),
+				UPDATE_INTERVAL_SEC, UPDATE_INTERVAL_SEC, TimeUnit.SECONDS));
+		if (dumpInterval > 0) {
+			tasks.add(SCHEDULER.scheduleAtFixedRate(this::dump, dumpInterval, dumpInterval, TimeUnit.SECONDS));
+		}
+
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			objectName = new ObjectName(
+					"com.jkoolcloud.tnt4j.streams:type=SyslogSourceStats,name=" + ObjectName.quote(name)); // NON-NLS
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			server.registerMBean(this, objectName);
+		} catch (Exception exc) {
+			objectName = null;
+			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+					"SyslogSourceStats.jmx.failed", name, exc);
+		}
+	}
+
+	/**
+	 * Stops periodic statistics update and dump, and unregisters table MBean.
+	 */
+	@Override
+	public synchronized void close() {
+		for (ScheduledFuture<?> task : tasks) {
+			task.cancel(false);
+		}
+		tasks.clear();
+
+		if (objectName != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			} catch (Exception exc) {
+			}
+			objectName = null;
+		}
+	}
+
+	/**
+	 * Records Syslog message of source.
+	 *
+	 * @param sourceKey
+	 *            source key, unique for host and application pair
+	 * @param host
+	 *            source host name
+	 * @param application
+	 *            source application name
+	 * @param size
+	 *            message size in bytes
+	 * @param eventTime
+	 *            message event time in milliseconds since epoch
+	 * @param now
+	 *            message processing time in milliseconds since epoch
+	 */
+	public void record(String sourceKey, String host, String application, long size, long eventTime, long now) {
+		Source source = sources.get(sourceKey);
+		if (source == null) {
+			source = sources.size() < maxSources
+					? sources.computeIfAbsent(sourceKey, k -> new Source(host, application)) : overflow;
+		}
+		source.record(size, now - eventTime, now);
+	}
+
+	/**
+	 * Recalculates sources rates and lag, evicts idle sources and orders top sources.
+	 *
+	 * @param intervalSec
+	 *            time elapsed since last update in seconds
+	 * @param now
+	 *            current time in milliseconds since epoch
+	 */
+	void update(double intervalSec, long now) {
+		long idleSince = now - TimeUnit.MINUTES.toMillis(IDLE_TIMEOUT_MIN);
+		PriorityQueue<Source> topQueue = new PriorityQueue<>(topCount + 1,
+				Comparator.comparingDouble(Source::getMessageRate));
+		for (Iterator<Source> it = sources.values().iterator(); it.hasNext();) {
+			Source source = it.next();
+			source.update(intervalSec);
+			if (source.lastSeen < idleSince) {
+				it.remove();
+				continue;
+			}
+			topQueue.offer(source);
+			if (topQueue.size() > topCount) {
+				topQueue.poll();
+			}
+		}
+		overflow.update(intervalSec);
+
+		Source[] sorted = new Source[topQueue.size()];
+		for (int i = sorted.length - 1; i >= 0; i--) {
+			sorted[i] = topQueue.poll();
+		}
+		top = sorted;
+	}
+
+	/**
+	 * Returns top sources ordered by message rate descending, as of last statistics update.
+	 *
+	 * @param count
+	 *            maximal count of top sources to return
+	 * @return list of top sources
+	 */
+	public List<Source> getTop(int count) {
+		Source[] topSources = top;
+		return Arrays.asList(Arrays.copyOf(topSources, Math.max(0, Math.min(count, topSources.length))));
+	}
+
+	/**
+	 * Logs top sources statistics.
+	 */
+	public void dump() {
+		StringBuilder sb = new StringBuilder();
+		for (Source source : getTop(topCount)) {
+			sb.append(System.lineSeparator()).append("  ").append(source); // NON-NLS
+		}
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(SyslogStreamConstants.RESOURCE_BUNDLE_NAME),
+				"SyslogSourceStats.dump", name, getSourcesCount(), getOverflowMessages(), sb);
+	}
+
+	@Override
+	public int getSourcesCount() {
+		return sources.size();
+	}
+
+	@Override
+	public long getOverflowMessages() {
+		return overflow.messages.sum();
+	}
+
+	@Override
+	public String[] getTopSources() {
+		return topSources(topCount);
+	}
+
+	@Override
+	public String[] topSources(int count) {
+		List<Source> topSources = getTop(count);
+		String[] descriptions = new String[topSources.size()];
+		for (int i = 0; i < descriptions.length; i++) {
+			descriptions[i] = topSources.get(i).toString();
+		}
+		return descriptions;
+	}
+
+	/**
+	 * Syslog source statistics.
+	 */
+	public static class Source {
+		private final String host;
+		private final String application;
+		private final LongAdder messages = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LongAdder lagSum = new LongAdder();
+		private volatile long lastSeen;
+
+		// updated by statistics updater thread only
+		private long prevMessages;
+		private long prevBytes;
+		private long prevLagSum;
+		private boolean updated;
+		private volatile double messageRate;
+		private volatile double byteRate;
+		private volatile double lag;
+
+		Source(String host, String application) {
+			this.host = host;
+			this.application = application;
+		}
+
+		void record(long size, long lagMillis, long now) {
+			messages.increment();
+			bytes.add(size);
+			lagSum.add(lagMillis);
+			lastSeen = now;
+		}
+
+		void update(double intervalSec) {
+			long msgCount = messages.sum();
+			long byteCount = bytes.sum();
+			long lagTotal = lagSum.sum();
+			long newMessages = msgCount - prevMessages;
+			double newMessageRate = newMessages / intervalSec;
+			double newByteRate = (byteCount - prevBytes) / intervalSec;
+			if (updated) {
+				messageRate += ALPHA * (newMessageRate - messageRate);
+				byteRate += ALPHA * (newByteRate - byteRate);
+				if (newMessages > 0) {
+					lag += ALPHA * ((lagTotal - prevLagSum) / (double) newMessages - lag);
+				}
+			} else {
+				messageRate = newMessageRate;
+				byteRate = newByteRate;
+				lag = newMessages > 0 ? (lagTotal - prevLagSum) / (double) newMessages : 0;
+				updated = newMessages > 0;
+			}
+			prevMessages = msgCount;
+			prevBytes = byteCount;
+			prevLagSum = lagTotal;
+		}
+
+		/**
+		 * Returns source host name.
+		 *
+		 * @return source host name
+		 */
+		public String getHost() {
+			return host;
+		}
+
+		/**
+		 * Returns source application name.
+		 *
+		 * @return source application name
+		 */
+		public String getApplication() {
+			return application;
+		}
+
+		/**
+		 * Returns total count of source messages.
+		 *
+		 * @return source messages count
+		 */
+		public long getMessages() {
+			return messages.sum();
+		}
+
+		/**
+		 * Returns total size of source messages in bytes.
+		 *
+		 * @return source messages size in bytes
+		 */
+		public long getBytes() {
+			return bytes.sum();
+		}
+
+		/**
+		 * Returns source message rate EWMA in messages per second.
+		 *
+		 * @return source message rate
+		 */
+		public double getMessageRate() {
+			return messageRate;
+		}
+
+		/**
+		 * Returns source byte rate EWMA in bytes per second.
+		 *
+		 * @return source byte rate
+		 */
+		public double getByteRate() {
+			return byteRate;
+		}
+
+		/**
+		 * Returns source messages lag (message processing time minus event time) EWMA in milliseconds.
+		 *
+		 * @return source messages lag
+		 */
+		public double getLag() {
+			return lag;
+		}
+
+		/**
+		 * Returns time source message was last seen in milliseconds since epoch.
+		 *
+		 * @return source last seen time
+		 */
+		public long getLastSeen() {
+			return lastSeen;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s/%s: %.1f msg/s, %.1f B/s, lag %.0f ms, last seen %s, messages %d", host, // NON-NLS
+					application, messageRate, byteRate, lag, Instant.ofEpochMilli(lastSeen), getMessages());
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+/**
+ * JMX management interface of {@link SyslogSourceStats} Syslog sources statistics table.
+ *
+ * @version $Revision: 1 $
+ */
+public interface SyslogSourceStatsMBean {
+
+	/**
+	 * Returns count of tracked Syslog sources.
+	 *
+	 * @return tracked Syslog sources count
+	 */
+	int getSourcesCount();
+
+	/**
+	 * Returns count of messages of Syslog sources not tracked because table is full.
+	 *
+	 * @return not tracked Syslog sources messages count
+	 */
+	long getOverflowMessages();
+
+	/**
+	 * Returns top Syslog sources ordered by message rate, as of last statistics update.
+	 *
+	 * @return top Syslog sources statistics descriptions
+	 */
+	String[] getTopSources();
+
+	/**
+	 * Returns provided count of top Syslog sources ordered by message rate, as of last statistics update.
+	 *
+	 * @param count
+	 *            maximal count of top sources to return
+	 * @return top Syslog sources statistics descriptions
+	 */
+	String[] topSources(int count);
+}
@@ -50,7 +50,7 @@ public class SyslogStreamConstants {
 	/**
 	 * Constant for default Syslog facility 'USER'.
 	 */
-	public static final int DEFAULT_FACILITY = SyslogUtility.getFacility("user");
+	public static final int DEFAULT_FACILITY = SyslogUtility.getFacility("user") >> 3;
 	/**
 	 * Constant for default Syslog entry level 'INFO'.
 	 */
@@ -64,6 +64,10 @@ public class SyslogStreamConstants {
 	 * Constant for name of built-in Syslog property field map {@value} for Syslog message contained variables.
 	 */
 	public static final String FIELD_SYSLOG_VARS = "SyslogVars"; // NON-NLS
+	/**
+	 * Constant for name of built-in Syslog property field map {@value} for host assets attributes.
+	 */
+	public static final String FIELD_ASSET_MAP = "AssetMap"; // NON-NLS
 
 	/**
 	 * Constant for name of built-in Syslog property field {@value}.
@@ -81,6 +85,10 @@ public class SyslogStreamConstants {
 	 * Constant for name of built-in Syslog property field {@value}.
 	 */
 	public static final String FIELD_HOSTADDR = "hostaddr"; // NON-NLS
+	/**
+	 * Constant for name of built-in Syslog property field {@value}.
+	 */
+	public static final String FIELD_HOSTADDR_NAME = "hostaddrname"; // NON-NLS
 	/**
 	 * Constant for name of built-in Syslog property field {@value}.
 	 */
@@ -89,6 +97,10 @@ public class SyslogStreamConstants {
 	 * Constant for name of built-in Syslog property field {@value}.
 	 */
 	public static final String FIELD_PRIORITY = "priority"; // NON-NLS
+	/**
+	 * Constant for name of built-in Syslog property field {@value}, containing sampled message sampling weight.
+	 */
+	public static final String FIELD_SAMPLING_WEIGHT = "samplingWeight"; // NON-NLS
 
 	/**
 	 * Constant for string value {@value}.
@@ -23,8 +23,10 @@ import static com.jkoolcloud.tnt4j.streams.fields.StreamFieldType.Exception;
 import static com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants.LEVELS;
 
 import java.lang.Exception;
+import java.time.OffsetDateTime;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -72,7 +74,15 @@ public final class SyslogUtils {
 		if (message == null) {
 			return null;
 		}
+		SyslogFlightEvents.VariablesEvent variablesEvent = new SyslogFlightEvents.VariablesEvent();
+		variablesEvent.begin();
 		Map<String, Object> vars = parseVariables(message);
+		variablesEvent.end();
+		if (variablesEvent.shouldCommit()) {
+			variablesEvent.length = message.length();
+			variablesEvent.variables = vars.size();
+			variablesEvent.commit();
+		}
 		if (MapUtils.isNotEmpty(vars)) {
 			extractSpecialKeys(vars, dataMap);
 			// PropertySnapshot snap = new PropertySnapshot(FIELD_SYSLOG_VARS,
@@ -202,11 +212,12 @@ public final class SyslogUtils {
 	 * Obtain string representation of Syslog facility.
 	 *
 	 * @param facility
-	 *            Syslog facility
+	 *            Syslog facility code ({@code priority / 8}), e.g. {@code 23} for 'local7'
 	 * @return string representation of Syslog facility
 	 */
 	public static String getFacilityString(int facility) {
-		return SyslogUtility.getFacilityString(facility);
+		// syslog4j facility constants are shifted by 3 bits
+		return SyslogUtility.getFacilityString(facility << 3);
 	}
 
 	/**
@@ -255,4 +266,68 @@ public final class SyslogUtils {
 		return mIdx == null ? -1 : mIdx;
 	}
 
+	/**
+	 * Resolves Syslog log line header defined timestamp. Both RFC 3164 ({@code MMM dd HH:mm:ss}, current year assumed)
+	 * and RFC 5424 (ISO 8601) timestamps are supported.
+	 *
+	 * @param line
+	 *            Syslog log line
+	 * @return timestamp in milliseconds since epoch, or {@code -1} if line has no recognizable timestamp
+	 */
+	public static long getHeaderTimestamp(String line) {
+		if (StringUtils.isEmpty(line)) {
+			return -1;
+		}
+
+		int i = 0;
+		if (line.charAt(0) == SyslogStreamConstants.LT) {
+			i = line.indexOf(SyslogStreamConstants.GT);
+			if (i < 0) {
+				return -1;
+			}
+			i++;
+		}
+
+		try {
+			if (i < line.length() && Character.isDigit(line.charAt(i))) {
+				// RFC 5424: VERSION SP TIMESTAMP
+				int tsStart = line.indexOf(SyslogStreamConstants.SPACE, i) + 1;
+				int tsEnd = line.indexOf(SyslogStreamConstants.SPACE, tsStart);
+				if (tsStart <= 0 || tsEnd < 0) {
+					return -1;
+				}
+				return OffsetDateTime.parse(line.substring(tsStart, tsEnd)).toInstant().toEpochMilli();
+			}
+
+			// RFC 3164: MMM dd HH:mm:ss
+			int month = getMonthIndex(line.substring(i, i + 3));
+			if (month < 0) {
+				return -1;
+			}
+			i += 3;
+			while (line.charAt(i) == SyslogStreamConstants.SPACE) {
+				i++;
+			}
+			int day = 0;
+			while (Character.isDigit(line.charAt(i))) {
+				day = day * 10 + (line.charAt(i++) - SyslogStreamConstants.ZERO);
+			}
+			i++;
+			int hh = Integer.parseInt(line.substring(i, i + 2));
+			int mm = Integer.parseInt(line.substring(i + 3, i + 5));
+			int ss = Integer.parseInt(line.substring(i + 6, i + 8));
+
+			Calendar cal = new GregorianCalendar();
+			cal.set(Calendar.MONTH, month);
+			cal.set(Calendar.DAY_OF_MONTH, day);
+			cal.set(Calendar.HOUR_OF_DAY, hh);
+			cal.set(Calendar.MINUTE, mm);
+			cal.set(Calendar.SECOND, ss);
+			cal.set(Calendar.MILLISECOND, 0);
+
+			return cal.getTimeInMillis();
+		} catch (RuntimeException exc) {
+			return -1;
+		}
+	}
 }
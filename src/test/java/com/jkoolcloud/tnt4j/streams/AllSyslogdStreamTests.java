@@ -22,13 +22,15 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 import com.jkoolcloud.tnt4j.streams.configure.sax.ConfigParserHandlerTest;
+import com.jkoolcloud.tnt4j.streams.inputs.AllInputsTests;
 import com.jkoolcloud.tnt4j.streams.parsers.AllParsersTests;
+import com.jkoolcloud.tnt4j.streams.utils.AllUtilsTests;
 
 /**
  * @author akausinis
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ConfigParserHandlerTest.class, AllParsersTests.class })
+@Suite.SuiteClasses({ ConfigParserHandlerTest.class, AllParsersTests.class, AllInputsTests.class, AllUtilsTests.class })
 public class AllSyslogdStreamTests {
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * @version 1.0
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({ SyslogFileInputsTest.class, SyslogFileRecordTest.class,
+		SyslogFileTailerTest.class, SyslogJournalReaderTest.class, SyslogSoakMonitorTest.class,
+		SyslogSoakTest.class, SyslogStreamMonitorTest.class, SyslogPriorityBufferTest.class,
+		SyslogOffHeapBufferTest.class, SyslogRingBufferTest.class, SyslogdStreamRoutingTest.class,
+		SyslogReplayPacerTest.class, MappedSyslogFileReaderTest.class,
+		SyslogLineReaderTest.class })
+public class AllInputsTests {
+}
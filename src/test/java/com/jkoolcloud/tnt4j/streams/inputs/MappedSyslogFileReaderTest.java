@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+
+/**
+ * @version 1.0
+ */
+public class MappedSyslogFileReaderTest {
+	private static final String CONTENT = "Nov 15 06:25:14 host1 app1[1]: first\n" // NON-NLS
+			+ "Nov 15 06:25:15 host1 app1[1]: crlf line\r\n" // NON-NLS
+			+ "\n" // NON-NLS
+			+ "\r\n" // NON-NLS
+			+ "{\"offset.usec\": 1500, \"msg\":\"json äöü\"}\n" // NON-NLS
+			+ "x\n" // NON-NLS
+			+ "Nov 15 06:25:16 host2 app2[2]: last line without newline"; // NON-NLS
+	private static final List<String> LINES = Arrays.asList("Nov 15 06:25:14 host1 app1[1]: first", // NON-NLS
+			"Nov 15 06:25:15 host1 app1[1]: crlf line", // NON-NLS
+			"{\"offset.usec\": 1500, \"msg\":\"json äöü\"}", // NON-NLS
+			"x", // NON-NLS
+			"Nov 15 06:25:16 host2 app2[2]: last line without newline"); // NON-NLS
+
+	private static List<String> read(Path file, int chunkSize, boolean preserveOrder, long expectedBytes)
+			throws Exception {
+		MappedSyslogFileReader reader = new MappedSyslogFileReader(file, StandardCharsets.UTF_8, chunkSize, 3,
+				preserveOrder);
+		SyslogFileProgress progress = new SyslogFileProgress(
+				LoggerUtils.getLoggerSink(MappedSyslogFileReaderTest.class), file.toString(), expectedBytes, 0);
+		List<String> lines = new ArrayList<>();
+		long count = reader.read(record -> lines.add(record.getLine()), progress);
+
+		assertEquals(lines.size(), count);
+		assertEquals(lines.size(), progress.getRecords());
+		assertEquals(expectedBytes, progress.getBytes());
+		return lines;
+	}
+
+	@Test
+	public void chunkBoundariesTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".log"); // NON-NLS
+		try {
+			byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+			Files.write(file, bytes);
+			// chunk ends at every possible position: inside line, before CR, before and after LF
+			for (int chunkSize = 1; chunkSize <= bytes.length + 1; chunkSize++) {
+				assertEquals("Chunk size " + chunkSize, LINES, read(file, chunkSize, true, bytes.length)); // NON-NLS
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void fileSizeTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".log"); // NON-NLS
+		try {
+			byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+			Files.write(file, bytes);
+
+			// file smaller than, equal to and larger than chunk
+			assertEquals(LINES, read(file, MappedSyslogFileReader.DEFAULT_CHUNK_SIZE, true, bytes.length));
+			assertEquals(LINES, read(file, bytes.length, true, bytes.length));
+			assertEquals(LINES, read(file, bytes.length / 2, true, bytes.length));
+
+			Files.write(file, new byte[0]);
+			assertTrue(read(file, 16, true, 0).isEmpty());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void unorderedTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".log"); // NON-NLS
+		try {
+			List<String> expected = new ArrayList<>();
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 5000; i++) {
+				String line = String.format("Nov 15 06:25:14 host%d app[%d]: message %05d", i % 7, i % 3, i); // NON-NLS
+				expected.add(line);
+				sb.append(line).append(i % 2 == 0 ? "\n" : "\r\n"); // NON-NLS
+			}
+			byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+			Files.write(file, bytes);
+
+			assertEquals(expected, read(file, 1024, true, bytes.length));
+
+			List<String> lines = read(file, 1024, false, bytes.length);
+			Collections.sort(lines);
+			Collections.sort(expected);
+			assertEquals(expected, lines);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void malformedInputTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".log"); // NON-NLS
+		try {
+			Files.write(file, new byte[] { 'a', (byte) 0xC3, '\n', (byte) 0xFF, 'b', '\r', '\n' });
+			assertEquals(Arrays.asList("a\uFFFD", "\uFFFDb"), read(file, 2, true, 7)); // NON-NLS
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void findLineEndTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".log"); // NON-NLS
+		try {
+			Files.write(file, "ab\r\ncd\n\nef".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				long size = channel.size();
+				assertEquals(4, MappedSyslogFileReader.findLineEnd(channel, 0, size));
+				assertEquals(4, MappedSyslogFileReader.findLineEnd(channel, 3, size));
+				assertEquals(7, MappedSyslogFileReader.findLineEnd(channel, 4, size));
+				assertEquals(8, MappedSyslogFileReader.findLineEnd(channel, 7, size));
+				assertEquals(size, MappedSyslogFileReader.findLineEnd(channel, 8, size));
+				assertEquals(size, MappedSyslogFileReader.findLineEnd(channel, size, size));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogFileInputsTest {
+
+	@Test
+	public void multiMemberGzipTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".gz");
+		try {
+			try (OutputStream os = Files.newOutputStream(file)) {
+				writeGzipMember(os, "Nov 15 06:25:14 host1 app1[1]: first rotation line\n");
+				writeGzipMember(os, "Nov 16 06:25:14 host1 app1[1]: second rotation line\n");
+			}
+
+			assertEquals(SyslogFileInputs.COMPRESSION_GZIP,
+					SyslogFileInputs.resolveCompression(file, SyslogFileInputs.COMPRESSION_AUTO));
+
+			List<String> lines = readLines(SyslogFileInputs.open(file, SyslogFileInputs.COMPRESSION_AUTO, 16, 2));
+			assertEquals(2, lines.size());
+			assertEquals("Nov 16 06:25:14 host1 app1[1]: second rotation line", lines.get(1));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void uncompressedTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".log");
+		try {
+			Files.write(file, "line1\nline2\nline3\n".getBytes(StandardCharsets.UTF_8));
+
+			assertEquals(SyslogFileInputs.COMPRESSION_NONE,
+					SyslogFileInputs.resolveCompression(file, SyslogFileInputs.COMPRESSION_AUTO));
+			assertEquals(3, readLines(SyslogFileInputs.open(file, SyslogFileInputs.COMPRESSION_AUTO, 4, 2)).size());
+			assertEquals(3, readLines(SyslogFileInputs.open(file, SyslogFileInputs.COMPRESSION_NONE, 0, 0)).size());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void expandGlobTest() throws Exception {
+		Path dir = Files.createTempDirectory("syslog-glob");
+		List<Path> created = new ArrayList<>();
+		try {
+			for (String name : new String[] { "host1/syslog", "host1/syslog.1.gz", "host2/syslog", "host2/messages",
+					"host2/old/syslog" }) {
+				Path file = dir.resolve(name);
+				Files.createDirectories(file.getParent());
+				created.add(Files.write(file, new byte[0]));
+			}
+
+			String pattern = dir.toString().replace('\\', '/') + "/*/syslog*";
+			assertTrue(SyslogFileInputs.isGlob(pattern));
+			assertFalse(SyslogFileInputs.isGlob(dir.toString()));
+
+			List<Path> files = SyslogFileInputs.expandGlob(pattern);
+			assertEquals(3, files.size());
+			assertEquals(dir.resolve("host1/syslog").toAbsolutePath().normalize(), files.get(0));
+
+			assertEquals(4, SyslogFileInputs.expandGlob(dir.toString() + "/**/syslog*").size());
+		} finally {
+			for (int i = created.size() - 1; i >= 0; i--) {
+				Files.deleteIfExists(created.get(i));
+			}
+			for (String name : new String[] { "host2/old", "host1", "host2", "" }) {
+				Files.deleteIfExists(dir.resolve(name));
+			}
+		}
+	}
+
+	private static void writeGzipMember(OutputStream os, String data) throws IOException {
+		GZIPOutputStream gos = new GZIPOutputStream(os);
+		gos.write(data.getBytes(StandardCharsets.UTF_8));
+		gos.finish();
+	}
+
+	private static List<String> readLines(InputStream is) throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogFileRecordTest {
+
+	@Test
+	public void plainLineTest() {
+		SyslogFileRecord record = SyslogFileRecord.parse("Nov 15 06:25:14 host1 app1[1]: plain line");
+
+		assertFalse(record.isJson());
+		assertEquals(-1, record.getOffsetUsec());
+		assertNull(record.getMessage());
+	}
+
+	@Test
+	public void jsonLineTest() {
+		SyslogFileRecord record = SyslogFileRecord.parse(
+				"{\"offset.usec\": 1500, \"facility\":\"LOCAL0\", \"level\":\"ERROR\", \"appl\":\"app\\\"1\\\"\", "
+						+ "\"pid\":4321, \"extra\":{\"msg\":\"nested\",\"list\":[1,\"]\",{}]}, \"tag\":null, "
+						+ "\"msg\":\"line\\twith \\u0041 escapes\"}");
+
+		assertTrue(record.isJson());
+		assertEquals(1500, record.getOffsetUsec());
+		assertEquals("LOCAL0", record.getFacility());
+		assertEquals("ERROR", record.getLevel());
+		assertEquals("app\"1\"", record.getAppl());
+		assertEquals("4321", record.getPid());
+		assertEquals("line\twith A escapes", record.getMessage());
+	}
+
+	@Test
+	public void jsonLineMissingFieldsTest() {
+		SyslogFileRecord record = SyslogFileRecord.parse("{\"msg\":\"only message\"}");
+
+		assertEquals(-1, record.getOffsetUsec());
+		assertNull(record.getAppl());
+		assertEquals("only message", record.getMessage());
+	}
+
+	@Test
+	public void malformedOffsetTest() {
+		assertEquals(12, SyslogFileRecord.parse("{\"offset.usec\": 12.5, \"msg\":\"fraction\"}").getOffsetUsec());
+		assertEquals(12, SyslogFileRecord.parse("{\"offset.usec\": \"12.5\", \"msg\":\"quoted\"}").getOffsetUsec());
+
+		SyslogFileRecord record = SyslogFileRecord.parse("{\"offset.usec\": \"n/a\", \"msg\":\"not a number\"}");
+		assertEquals(-1, record.getOffsetUsec());
+		assertEquals("not a number", record.getMessage());
+		assertEquals(-1, SyslogFileRecord.parse("{\"offset.usec\": null, \"msg\":\"null\"}").getOffsetUsec());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void malformedJsonLineTest() {
+		SyslogFileRecord.parse("{\"msg\":\"unterminated");
+	}
+}
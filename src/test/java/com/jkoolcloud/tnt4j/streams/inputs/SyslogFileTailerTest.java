@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+
+/**
+ * @version 1.0
+ */
+public class SyslogFileTailerTest {
+
+	@Test
+	public void rotationAndCheckpointTest() throws Exception {
+		Path dir = Files.createTempDirectory("syslog-tail");
+		Path file = dir.resolve("syslog");
+		Path offsetFile = dir.resolve("syslog.offset");
+		try {
+			append(file, "line1\nline2\npart");
+
+			List<String> lines = new CopyOnWriteArrayList<>();
+			AtomicBoolean halted = new AtomicBoolean();
+			Thread t = startTailer(file, offsetFile, lines, halted);
+
+			awaitLines(lines, 2);
+			append(file, "ial3\n");
+			awaitLines(lines, 3);
+
+			// rotate: rest of rotated file must be read before new file
+			append(file, "line4\n");
+			Files.move(file, dir.resolve("syslog.1"));
+			append(file, "line5\n");
+			awaitLines(lines, 5);
+
+			halted.set(true);
+			t.join(TimeUnit.SECONDS.toMillis(5));
+			assertEquals(Arrays.asList("line1", "line2", "partial3", "line4", "line5"), lines);
+
+			// restart continues from checkpointed offset
+			append(file, "line6\n");
+			lines.clear();
+			halted.set(false);
+			t = startTailer(file, offsetFile, lines, halted);
+			awaitLines(lines, 1);
+			halted.set(true);
+			t.join(TimeUnit.SECONDS.toMillis(5));
+			assertEquals(Arrays.asList("line6"), lines);
+		} finally {
+			for (String name : new String[] { "syslog", "syslog.1", "syslog.offset", "syslog.offset.tmp" }) {
+				Files.deleteIfExists(dir.resolve(name));
+			}
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	private static Thread startTailer(Path file, Path offsetFile, List<String> lines, AtomicBoolean halted) {
+		SyslogFileTailer tailer = new SyslogFileTailer(LoggerUtils.getLoggerSink(SyslogFileTailerTest.class), file,
+				StandardCharsets.UTF_8, 1024, 20, offsetFile, 0);
+		Thread t = new Thread(() -> {
+			try {
+				tailer.tail(record -> lines.add(record.getLine()), halted::get);
+			} catch (Exception exc) {
+				throw new RuntimeException(exc);
+			}
+		});
+		t.start();
+		return t;
+	}
+
+	private static void append(Path file, String str) throws Exception {
+		Files.write(file, str.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private static void awaitLines(List<String> lines, int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (lines.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+}
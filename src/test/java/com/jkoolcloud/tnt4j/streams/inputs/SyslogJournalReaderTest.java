@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+
+/**
+ * @version 1.0
+ */
+public class SyslogJournalReaderTest {
+
+	@Test
+	public void exportFormatTest() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		write(out, "__REALTIME_TIMESTAMP=1700000000123456\n_HOSTNAME=host1\nSYSLOG_IDENTIFIER=sshd\n_PID=4321\n"
+				+ "PRIORITY=3\nSYSLOG_FACILITY=4\nMESSAGE=Failed password for user=root\n\n");
+		// binary message field
+		write(out, "_HOSTNAME=host2\nSYSLOG_IDENTIFIER=app\nMESSAGE\n");
+		byte[] msg = "multi\nline message".getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i < Long.BYTES; i++) {
+			out.write((int) ((long) msg.length >>> (8 * i)) & 0xFF);
+		}
+		out.write(msg);
+		write(out, "\n_TRANSPORT=journal\n\n");
+
+		try (SyslogJournalReader reader = new SyslogJournalReader(new ByteArrayInputStream(out.toByteArray()), 16)) {
+			Map<String, Object> entry = reader.next();
+			assertEquals("host1", entry.get(SyslogStreamConstants.FIELD_HOSTNAME));
+			assertEquals("sshd", entry.get(StreamFieldType.ApplName.name()));
+			assertEquals(4321L, entry.get(StreamFieldType.ProcessId.name()));
+			assertEquals(3, entry.get(SyslogStreamConstants.FIELD_LEVEL));
+			assertEquals(OpLevel.ERROR, entry.get(StreamFieldType.Severity.name()));
+			assertEquals(1700000000123456L, entry.get(StreamFieldType.EndTime.name()));
+			// values truncated to maximal field size
+			assertEquals("Failed password ", entry.get(StreamFieldType.Message.name()));
+
+			entry = reader.next();
+			assertEquals("host2", entry.get(SyslogStreamConstants.FIELD_HOSTNAME));
+			assertEquals("multi\nline messa", entry.get(StreamFieldType.Message.name()));
+			assertNotNull(entry.get(SyslogStreamConstants.FIELD_SYSLOG_MAP));
+
+			assertNull(reader.next());
+		}
+	}
+
+	private static void write(ByteArrayOutputStream out, String str) {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.write(bytes, 0, bytes.length);
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogLineReaderTest {
+
+	@Test
+	public void readLinesTest() throws Exception {
+		String content = "Nov 15 06:25:14 host1 app: first\n" // NON-NLS
+				+ "Nov 15 06:25:15 host1 app: crlf äöü\r\n" // NON-NLS
+				+ "\n" // NON-NLS
+				+ "\r\n" // NON-NLS
+				+ "lone\rcr\n" // NON-NLS
+				+ "last without newline"; // NON-NLS
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		List<String> expected = Arrays.asList("Nov 15 06:25:14 host1 app: first", // NON-NLS
+				"Nov 15 06:25:15 host1 app: crlf äöü", "", "", "lone\rcr", "last without newline"); // NON-NLS
+		List<Integer> expectedBytes = Arrays.asList(33, 40, 1, 2, 8, 20);
+
+		// buffer ends at every possible position within lines
+		for (int bufferSize = 1; bufferSize <= bytes.length + 1; bufferSize++) {
+			List<String> lines = new ArrayList<>();
+			List<Integer> lineBytes = new ArrayList<>();
+			try (SyslogLineReader reader = new SyslogLineReader(new ByteArrayInputStream(bytes),
+					StandardCharsets.UTF_8, bufferSize)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					lines.add(line);
+					lineBytes.add(reader.getLineBytes());
+				}
+				assertNull(reader.readLine());
+			}
+			assertEquals("Buffer size " + bufferSize, expected, lines); // NON-NLS
+			assertEquals("Buffer size " + bufferSize, expectedBytes, lineBytes); // NON-NLS
+			assertEquals(bytes.length, lineBytes.stream().mapToInt(Integer::intValue).sum());
+		}
+	}
+
+	@Test
+	public void emptyStreamTest() throws Exception {
+		try (SyslogLineReader reader = new SyslogLineReader(new ByteArrayInputStream(new byte[0]),
+				StandardCharsets.UTF_8, 16)) {
+			assertNull(reader.readLine());
+			assertEquals(0, reader.getLineBytes());
+		}
+	}
+}
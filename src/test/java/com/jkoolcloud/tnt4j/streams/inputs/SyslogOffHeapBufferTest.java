@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.utils.SyslogAddressedEvent;
+
+/**
+ * @version 1.0
+ */
+public class SyslogOffHeapBufferTest {
+
+	@Test
+	public void materializeTest() throws Exception {
+		SyslogOffHeapBuffer buffer = new SyslogOffHeapBuffer(4096, 1024);
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		SyslogServerEventIF event = event("<131>Jun  1 10:15:30 host1 app[12]: message 1", address); // NON-NLS
+		Date date = new Date(1685614530000L);
+		event.setDate(date);
+		SyslogServerEventIF structured = new StructuredSyslogServerEvent(
+				"<14>1 2023-06-01T10:15:30Z host2 app 12 - - message 2", address); // NON-NLS
+
+		assertTrue(buffer.offer(event));
+		assertTrue(buffer.offer(structured));
+		assertEquals(2, buffer.size());
+		assertTrue(buffer.getUsedBytes() > event.getRaw().length + structured.getRaw().length);
+
+		SyslogServerEventIF taken = buffer.poll(0, TimeUnit.MILLISECONDS);
+		assertTrue(SyslogAddressedEvent.unwrap(taken) instanceof SyslogServerEvent);
+		assertEquals(new InetSocketAddress(address, 5140), ((SyslogAddressedEvent) taken).getSenderAddress());
+		assertEquals(event.getMessage(), taken.getMessage());
+		assertEquals(event.getHost(), taken.getHost());
+		assertEquals(event.getFacility(), taken.getFacility());
+		assertEquals(event.getLevel(), taken.getLevel());
+		assertEquals(date, taken.getDate());
+
+		taken = buffer.poll(0, TimeUnit.MILLISECONDS);
+		assertTrue(taken instanceof StructuredSyslogServerEvent);
+		assertNull(SyslogAddressedEvent.getSenderInetAddress(taken));
+		assertEquals(structured.getMessage(), taken.getMessage());
+		assertEquals(structured.getDate(), taken.getDate());
+
+		assertNull(buffer.poll(10, TimeUnit.MILLISECONDS));
+		assertEquals(0, buffer.getUsedBytes());
+	}
+
+	@Test
+	public void memoryLimitTest() throws Exception {
+		SyslogOffHeapBuffer buffer = new SyslogOffHeapBuffer(1100, 256);
+		assertEquals(1024, buffer.getMaxBytes());
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		StringBuilder sb = new StringBuilder("<14>Jun  1 10:15:30 host1 app: "); // NON-NLS
+		while (sb.length() < 300) {
+			sb.append('x');
+		}
+		assertFalse(buffer.offer(event(sb.toString(), address)));
+
+		int offered = 0;
+		while (buffer.offer(event("<14>Jun  1 10:15:30 host1 app: message " + offered, address))) { // NON-NLS
+			offered++;
+		}
+		assertEquals(2, buffer.getDropped());
+		assertEquals(1024, buffer.getAllocatedBytes());
+
+		// slabs get reused after being read
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < offered; i++) {
+				assertTrue(buffer.poll(0, TimeUnit.MILLISECONDS).getMessage().endsWith("message " + i)); // NON-NLS
+			}
+			assertEquals(0, buffer.size());
+			// drained slabs are kept for reuse instead of being left for GC
+			assertEquals(1024, buffer.getAllocatedBytes());
+			for (int i = 0; i < offered; i++) {
+				SyslogServerEventIF event = event("<14>Jun  1 10:15:30 host1 app: message " + i, address); // NON-NLS
+				assertTrue(buffer.offer(event));
+			}
+		}
+		assertEquals(2, buffer.getDropped());
+		assertEquals(1024, buffer.getAllocatedBytes());
+	}
+
+	private static SyslogServerEventIF event(String message, InetAddress address) {
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		return SyslogAddressedEvent.wrap(new SyslogServerEvent(bytes, bytes.length, address),
+				new InetSocketAddress(address, 5140));
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogPriorityBufferTest {
+
+	@Test
+	public void expressFirstTest() throws Exception {
+		SyslogPriorityBuffer<String> buffer = new SyslogPriorityBuffer<>(10, 10, 2);
+		assertTrue(buffer.offer("s1", false)); // NON-NLS
+		assertTrue(buffer.offer("s2", false)); // NON-NLS
+		for (int i = 1; i <= 5; i++) {
+			assertTrue(buffer.offer("e" + i, true)); // NON-NLS
+		}
+		assertEquals(7, buffer.size());
+		assertEquals(5, buffer.size(true));
+
+		// two express items in a row, then one standard while standard lane is not empty
+		String[] expected = { "e1", "e2", "s1", "e3", "e4", "s2", "e5" }; // NON-NLS
+		for (String item : expected) {
+			assertEquals(item, buffer.poll(0, TimeUnit.MILLISECONDS));
+		}
+		assertNull(buffer.poll(10, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void capacityTest() {
+		SyslogPriorityBuffer<String> buffer = new SyslogPriorityBuffer<>(1, 2, 1);
+		assertEquals(1, buffer.getCapacity(true));
+		assertEquals(2, buffer.getCapacity(false));
+		assertTrue(buffer.offer("s1", false)); // NON-NLS
+		assertTrue(buffer.offer("s2", false)); // NON-NLS
+		assertFalse(buffer.offer("s3", false)); // NON-NLS
+		assertTrue(buffer.offer("e1", true)); // NON-NLS
+		assertFalse(buffer.offer("e2", true)); // NON-NLS
+		assertEquals(1, buffer.getDropped(true));
+		assertEquals(1, buffer.getDropped(false));
+		assertEquals(3, buffer.size());
+	}
+
+	@Test
+	public void waitTest() throws Exception {
+		SyslogPriorityBuffer<String> buffer = new SyslogPriorityBuffer<>(10, 10, 1);
+		AtomicReference<String> taken = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		Thread consumer = new Thread(() -> {
+			try {
+				taken.set(buffer.poll(10, TimeUnit.SECONDS));
+			} catch (InterruptedException exc) {
+			}
+			done.countDown();
+		});
+		consumer.start();
+		Thread.sleep(50);
+		buffer.offer("e1", true); // NON-NLS
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals("e1", taken.get()); // NON-NLS
+	}
+}
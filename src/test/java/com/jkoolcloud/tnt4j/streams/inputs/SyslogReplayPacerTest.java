@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+
+/**
+ * @version 1.0
+ */
+public class SyslogReplayPacerTest {
+
+	private static SyslogReplayPacer pacer(double speed, AtomicBoolean halted) {
+		return new SyslogReplayPacer(LoggerUtils.getLoggerSink(SyslogReplayPacerTest.class), speed, 0, halted::get);
+	}
+
+	private static long replay(SyslogReplayPacer pacer, String... lines) throws InterruptedException {
+		long start = System.nanoTime();
+		for (String line : lines) {
+			assertTrue(pacer.pace(SyslogFileRecord.parse(line)));
+		}
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	private static void assertElapsed(long elapsed, long min, long max) {
+		assertTrue("Elapsed " + elapsed, elapsed >= min && elapsed < max); // NON-NLS
+	}
+
+	@Test
+	public void rfc3164GapTest() throws Exception {
+		assertElapsed(replay(pacer(10, new AtomicBoolean()), //
+				"<34>Oct 11 22:14:15 host1 app: first", // NON-NLS
+				"<34>Oct 11 22:14:16 host1 app: second"), 100, 500); // NON-NLS
+	}
+
+	@Test
+	public void rfc5424GapTest() throws Exception {
+		assertElapsed(replay(pacer(10, new AtomicBoolean()), //
+				"<34>1 2003-10-11T22:14:15.000Z host1 app - - - first", // NON-NLS
+				"<34>1 2003-10-11T22:14:15.800Z host1 app - - - second"), 80, 400); // NON-NLS
+	}
+
+	@Test
+	public void speedScalingTest() throws Exception {
+		assertElapsed(replay(pacer(4, new AtomicBoolean()), //
+				"Oct 11 22:14:15 host1 app: first", // NON-NLS
+				"Oct 11 22:14:16 host1 app: second"), 250, 750); // NON-NLS
+		assertElapsed(replay(pacer(0.5, new AtomicBoolean()), //
+				"<34>1 2003-10-11T22:14:15.000Z host1 app - - - first", // NON-NLS
+				"<34>1 2003-10-11T22:14:15.100Z host1 app - - - second"), 200, 600); // NON-NLS
+	}
+
+	@Test
+	public void nilTimestampTest() throws Exception {
+		// gap is measured from last entry having timestamp
+		assertElapsed(replay(pacer(10, new AtomicBoolean()), //
+				"<34>1 2003-10-11T22:14:15Z host1 app - - - first", // NON-NLS
+				"<34>1 - host1 app - - - no timestamp", // NON-NLS
+				"<34>1 2003-10-11T22:14:16Z host1 app - - - third"), 100, 500); // NON-NLS
+	}
+
+	@Test
+	public void backwardsTimestampTest() throws Exception {
+		// entry having earlier timestamp is sent without delay, and next gap is measured from it
+		assertElapsed(replay(pacer(10, new AtomicBoolean()), //
+				"Oct 11 22:14:15 host1 app: first", // NON-NLS
+				"Oct 11 22:10:00 host1 app: clock set back", // NON-NLS
+				"Oct 11 22:10:01 host1 app: third"), 100, 500); // NON-NLS
+	}
+
+	@Test
+	public void haltedTest() throws Exception {
+		AtomicBoolean halted = new AtomicBoolean();
+		SyslogReplayPacer pacer = pacer(1, halted);
+		replay(pacer, "Oct 11 22:14:15 host1 app: first"); // NON-NLS
+
+		Thread halter = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException exc) {
+			}
+			halted.set(true);
+		});
+		halter.start();
+		long start = System.nanoTime();
+		assertFalse(pacer.pace(SyslogFileRecord.parse("Oct 11 23:14:15 host1 app: hour later"))); // NON-NLS
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+		halter.join();
+	}
+
+	@Test
+	public void interruptedTest() throws Exception {
+		SyslogReplayPacer pacer = pacer(1, new AtomicBoolean());
+		replay(pacer, "Oct 11 22:14:15 host1 app: first"); // NON-NLS
+
+		Thread.currentThread().interrupt();
+		try {
+			pacer.pace(SyslogFileRecord.parse("Oct 11 23:14:15 host1 app: hour later")); // NON-NLS
+			fail("Interrupt ignored"); // NON-NLS
+		} catch (InterruptedException exc) {
+			assertFalse(Thread.currentThread().isInterrupted());
+		}
+	}
+}
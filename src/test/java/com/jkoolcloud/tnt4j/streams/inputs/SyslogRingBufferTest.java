@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogRingBufferTest {
+
+	@Test
+	public void offerPollTest() throws Exception {
+		SyslogRingBuffer<Integer> ring = new SyslogRingBuffer<>(3, true, SyslogRingBuffer.WAIT_BUSY_SPIN);
+		assertEquals(4, ring.getCapacity());
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(ring.offer(i));
+			}
+			assertFalse(ring.offer(4));
+			assertEquals(4, ring.size());
+			for (int i = 0; i < 4; i++) {
+				assertEquals(Integer.valueOf(i), ring.poll());
+			}
+			assertNull(ring.poll());
+		}
+		assertEquals(3, ring.getDropped());
+
+		try {
+			new SyslogRingBuffer<>(16, false, "sleep"); // NON-NLS
+			fail("Wait strategy accepted"); // NON-NLS
+		} catch (IllegalArgumentException exc) {
+		}
+	}
+
+	@Test
+	public void waitTest() throws Exception {
+		for (String strategy : new String[] { SyslogRingBuffer.WAIT_BUSY_SPIN, SyslogRingBuffer.WAIT_YIELD,
+				SyslogRingBuffer.WAIT_PARK }) {
+			SyslogRingBuffer<Integer> ring = new SyslogRingBuffer<>(16, false, strategy);
+			assertNull(ring.poll(5, TimeUnit.MILLISECONDS));
+			Thread producer = new Thread(() -> {
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException exc) {
+				}
+				ring.offer(1);
+			});
+			producer.start();
+			assertEquals(Integer.valueOf(1), ring.poll(5, TimeUnit.SECONDS));
+			producer.join();
+		}
+	}
+
+	@Test
+	public void concurrentTest() throws Exception {
+		int producers = 4;
+		int consumers = 2;
+		int items = 100000;
+		SyslogRingBuffer<Integer> ring = new SyslogRingBuffer<>(1024, false, SyslogRingBuffer.WAIT_YIELD);
+		BitSet taken = new BitSet(producers * items);
+		AtomicInteger duplicates = new AtomicInteger();
+		AtomicInteger remaining = new AtomicInteger(producers * items);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * items;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < items; i++) {
+					while (!ring.offer(base + i)) {
+						Thread.yield();
+					}
+				}
+			}));
+		}
+		for (int c = 0; c < consumers; c++) {
+			threads.add(new Thread(() -> {
+				try {
+					while (remaining.get() > 0) {
+						Integer item = ring.poll(10, TimeUnit.MILLISECONDS);
+						if (item != null) {
+							synchronized (taken) {
+								if (taken.get(item)) {
+									duplicates.incrementAndGet();
+								}
+								taken.set(item);
+							}
+							remaining.decrementAndGet();
+						}
+					}
+				} catch (InterruptedException exc) {
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(30));
+		}
+
+		assertEquals(0, duplicates.get());
+		assertEquals(producers * items, taken.cardinality());
+		assertEquals(0, ring.size());
+	}
+}
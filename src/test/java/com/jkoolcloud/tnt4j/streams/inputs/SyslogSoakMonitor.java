@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples heap used after GC and sizes of Syslog pipeline internal structures (buffers, caches) during soak test, and
+ * detects sustained growth of sampled values.
+ * <p>
+ * Gauge values series is considered to grow sustainably, when after first {@value #WARMUP_PCT}% of samples (warmup),
+ * remaining samples split into {@value #SEGMENTS} equal segments have strictly increasing segment mean values, and last
+ * segment mean exceeds first segment mean by more than both relative growth threshold and gauge minimal absolute
+ * growth. Bounded structures level off after warmup and pass, while leaking ones keep growing through all segments.
+ *
+ * @version 1.0
+ */
+public class SyslogSoakMonitor {
+	/**
+	 * Constant for name of heap used after GC gauge.
+	 */
+	public static final String HEAP_GAUGE = "heapAfterGC"; // NON-NLS
+
+	static final int WARMUP_PCT = 25;
+	static final int SEGMENTS = 4;
+
+	private final double growthPct;
+	private final Map<String, Gauge> gauges = new LinkedHashMap<>();
+
+	/**
+	 * Constructs a new SyslogSoakMonitor having heap used after GC gauge.
+	 *
+	 * @param growthPct
+	 *            relative growth threshold in percents
+	 * @param heapMinGrowth
+	 *            minimal absolute heap growth in bytes treated as growth
+	 */
+	public SyslogSoakMonitor(double growthPct, long heapMinGrowth) {
+		this.growthPct = growthPct;
+		addGauge(HEAP_GAUGE, heapMinGrowth, SyslogSoakMonitor::heapUsedAfterGC);
+	}
+
+	/**
+	 * Adds gauge of sampled value.
+	 *
+	 * @param name
+	 *            gauge name
+	 * @param minGrowth
+	 *            minimal absolute value growth treated as growth
+	 * @param value
+	 *            gauge value supplier
+	 */
+	public void addGauge(String name, long minGrowth, LongSupplier value) {
+		gauges.put(name, new Gauge(minGrowth, value));
+	}
+
+	/**
+	 * Samples values of all gauges. Runs garbage collection before sampling.
+	 *
+	 * @return sampled values map
+	 */
+	public Map<String, Long> sample() {
+		System.gc();
+		Map<String, Long> values = new LinkedHashMap<>();
+		for (Map.Entry<String, Gauge> ge : gauges.entrySet()) {
+			long value = ge.getValue().value.getAsLong();
+			ge.getValue().samples.add(value);
+			values.put(ge.getKey(), value);
+		}
+		return values;
+	}
+
+	/**
+	 * Returns descriptions of gauges having sustained growth of sampled values.
+	 *
+	 * @return list of growing gauges descriptions, empty if none of gauges grow
+	 */
+	public List<String> findGrowth() {
+		List<String> growing = new ArrayList<>();
+		for (Map.Entry<String, Gauge> ge : gauges.entrySet()) {
+			Gauge gauge = ge.getValue();
+			double[] means = segmentMeans(gauge.samples);
+			if (isGrowing(means, growthPct, gauge.minGrowth)) {
+				growing.add(String.format("%s: segment means %s", ge.getKey(), format(means))); // NON-NLS
+			}
+		}
+		return growing;
+	}
+
+	/**
+	 * Returns minimal samples count required to detect growth.
+	 *
+	 * @return minimal samples count
+	 */
+	public static int getMinSamples() {
+		return SEGMENTS * 2 * 100 / (100 - WARMUP_PCT) + 1;
+	}
+
+	static double[] segmentMeans(List<Long> samples) {
+		int from = samples.size() * WARMUP_PCT / 100;
+		int count = samples.size() - from;
+		if (count < SEGMENTS) {
+			return new double[0];
+		}
+		double[] means = new double[SEGMENTS];
+		for (int s = 0; s < SEGMENTS; s++) {
+			int start = from + count * s / SEGMENTS;
+			int end = from + count * (s + 1) / SEGMENTS;
+			double sum = 0;
+			for (int i = start; i < end; i++) {
+				sum += samples.get(i);
+			}
+			means[s] = sum / (end - start);
+		}
+		return means;
+	}
+
+	static boolean isGrowing(double[] means, double growthPct, long minGrowth) {
+		if (means.length < 2) {
+			return false;
+		}
+		for (int i = 1; i < means.length; i++) {
+			if (means[i] <= means[i - 1]) {
+				return false;
+			}
+		}
+		double growth = means[means.length - 1] - means[0];
+		return growth > minGrowth && growth > Math.abs(means[0]) * growthPct / 100;
+	}
+
+	private static String format(double[] means) {
+		StringBuilder sb = new StringBuilder("["); // NON-NLS
+		for (int i = 0; i < means.length; i++) {
+			sb.append(i == 0 ? "" : ", ").append(String.format("%.0f", means[i])); // NON-NLS
+		}
+		return sb.append(']').toString();
+	}
+
+	private static long heapUsedAfterGC() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+			if (usage != null) {
+				used += usage.getUsed();
+			}
+		}
+		return used > 0 ? used : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static class Gauge {
+		private final long minGrowth;
+		private final LongSupplier value;
+		private final List<Long> samples = new ArrayList<>();
+
+		private Gauge(long minGrowth, LongSupplier value) {
+			this.minGrowth = minGrowth;
+			this.value = value;
+		}
+	}
+}
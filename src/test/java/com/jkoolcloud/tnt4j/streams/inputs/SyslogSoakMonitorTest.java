@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogSoakMonitorTest {
+
+	@Test
+	public void boundedGrowthTest() {
+		SyslogSoakMonitor monitor = new SyslogSoakMonitor(10, Long.MAX_VALUE);
+		AtomicLong step = new AtomicLong();
+		// fills up to cache size limit during warmup and levels off
+		monitor.addGauge("cache", 0, () -> Math.min(step.get() * 1000, 5000));
+		// sawtooth of buffer being filled and drained
+		monitor.addGauge("buffer", 0, () -> step.get() % 3 * 100);
+		for (int i = 0; i < 40; i++) {
+			step.incrementAndGet();
+			monitor.sample();
+		}
+
+		assertTrue(monitor.findGrowth().isEmpty());
+	}
+
+	@Test
+	public void sustainedGrowthTest() {
+		SyslogSoakMonitor monitor = new SyslogSoakMonitor(10, Long.MAX_VALUE);
+		AtomicLong step = new AtomicLong();
+		monitor.addGauge("leak", 0, () -> step.get() * 100 + step.get() % 2 * 150);
+		monitor.addGauge("small", 1000, () -> step.get());
+		for (int i = 0; i < 40; i++) {
+			step.incrementAndGet();
+			monitor.sample();
+		}
+
+		List<String> growing = monitor.findGrowth();
+		assertEquals(growing.toString(), 1, growing.size());
+		assertTrue(growing.get(0), growing.get(0).startsWith("leak:"));
+	}
+
+	@Test
+	public void notEnoughSamplesTest() {
+		SyslogSoakMonitor monitor = new SyslogSoakMonitor(10, 0);
+		AtomicLong step = new AtomicLong();
+		monitor.addGauge("leak", 0, step::incrementAndGet);
+		for (int i = 0; i < 4; i++) {
+			monitor.sample();
+		}
+
+		assertTrue(monitor.findGrowth().isEmpty());
+		assertTrue(SyslogSoakMonitor.getMinSamples() > 4);
+	}
+}
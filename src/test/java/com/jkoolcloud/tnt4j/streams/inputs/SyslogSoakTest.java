@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+import com.jkoolcloud.tnt4j.streams.configure.SyslogStreamProperties;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivitySyslogEventParser;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogLoadGenerator;
+
+/**
+ * Long-running soak test of {@link SyslogdStream} and {@link ActivitySyslogEventParser} pipeline. High cardinality
+ * synthetic Syslog traffic (many distinct hosts, applications and messages) is sent by {@link SyslogLoadGenerator} to
+ * stream running on local host, while {@link SyslogSoakMonitor} samples heap used after GC, stream buffer size and
+ * parser caches sizes. Test fails if any of sampled values grows sustainably.
+ * <p>
+ * Test is skipped unless soak duration is set. Supported system properties:
+ * <ul>
+ * <li>{@code soak.duration} - soak duration in seconds</li>
+ * <li>{@code soak.interval} - sampling interval in seconds. Default value - '10'</li>
+ * <li>{@code soak.rate} - messages rate per second. Default value - '20000'</li>
+ * <li>{@code soak.protocol} - Syslog transport protocol: 'tcp' or 'udp'. Default value - 'tcp'</li>
+ * <li>{@code soak.growthPct} - relative growth threshold in percents. Default value - '10'</li>
+ * </ul>
+ *
+ * @version 1.0
+ */
+public class SyslogSoakTest {
+	private static final long HEAP_MIN_GROWTH = 16 * 1024 * 1024;
+	private static final long BUFFER_MIN_GROWTH = 10000;
+
+	@Test
+	public void soakTest() throws Exception {
+		long duration = Long.getLong("soak.duration", 0); // NON-NLS
+		assumeTrue("Soak duration is not set", duration > 0); // NON-NLS
+		long interval = Long.getLong("soak.interval", 10); // NON-NLS
+		long rate = Long.getLong("soak.rate", 20000); // NON-NLS
+		String protocol = System.getProperty("soak.protocol", "tcp"); // NON-NLS
+		double growthPct = Double.parseDouble(System.getProperty("soak.growthPct", "10")); // NON-NLS
+		assertTrue("Soak duration is too short to detect growth", // NON-NLS
+				duration / interval >= SyslogSoakMonitor.getMinSamples());
+
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+
+		ActivitySyslogEventParser parser = new ActivitySyslogEventParser();
+		parser.setName("SoakSyslogParser"); // NON-NLS
+		parser.setProperty(SyslogParserProperties.PROP_SUPPRESS_LEVEL, "-1"); // NON-NLS
+
+		SyslogdStream stream = new SyslogdStream();
+		stream.setProperty(StreamProperties.PROP_HOST, "127.0.0.1"); // NON-NLS
+		stream.setProperty(StreamProperties.PROP_PORT, String.valueOf(port));
+		stream.setProperty(SyslogStreamProperties.PROP_PROTOCOL, protocol);
+		stream.addParser(parser);
+		stream.applyProperties();
+		stream.initialize();
+		stream.start();
+
+		AtomicBoolean stopped = new AtomicBoolean();
+		AtomicLong parsed = new AtomicLong();
+		Thread consumer = new Thread(() -> {
+			try {
+				SyslogServerEventIF item;
+				while (!stopped.get() && (item = stream.getNextItem()) != null) {
+					stream.applyParsers(item);
+					parsed.incrementAndGet();
+				}
+			} catch (Exception exc) {
+				exc.printStackTrace();
+			}
+		}, "SyslogSoakTest.Consumer"); // NON-NLS
+		consumer.setDaemon(true);
+		consumer.start();
+
+		Thread generator = new Thread(() -> {
+			try {
+				SyslogLoadGenerator.main("-protocol:" + protocol, "-port:" + port, "-duration:" + duration, // NON-NLS
+						"-rate:" + rate, "-threads:2", "-hosts:100000", "-apps:5000"); // NON-NLS
+			} catch (Exception exc) {
+				exc.printStackTrace();
+			}
+		}, "SyslogSoakTest.Generator"); // NON-NLS
+		generator.setDaemon(true);
+		generator.start();
+
+		SyslogSoakMonitor monitor = new SyslogSoakMonitor(growthPct, HEAP_MIN_GROWTH);
+		monitor.addGauge("streamBuffer", BUFFER_MIN_GROWTH, stream::getBufferedItemsCount); // NON-NLS
+		monitor.addGauge("suppressCache", 0, parser::getSuppressCacheEntriesCount); // NON-NLS
+		monitor.addGauge("elapsedTimeCache", 0, parser::getElapsedTimeCacheEntriesCount); // NON-NLS
+
+		try {
+			int sampleNo = 0;
+			while (generator.isAlive()) {
+				generator.join(TimeUnit.SECONDS.toMillis(interval));
+				Map<String, Long> values = monitor.sample();
+				System.out.println(
+						String.format("Soak sample %d: parsed=%d, %s", ++sampleNo, parsed.get(), values)); // NON-NLS
+			}
+		} finally {
+			stopped.set(true);
+			stream.cleanup();
+		}
+
+		List<String> growing = monitor.findGrowth();
+		assertTrue("Sustained growth detected: " + growing, growing.isEmpty()); // NON-NLS
+	}
+}
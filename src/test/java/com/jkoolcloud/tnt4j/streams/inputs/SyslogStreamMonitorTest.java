@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogStreamMonitorTest {
+
+	@Test
+	public void snapshotTest() throws Exception {
+		SyslogStreamMonitor monitor = new SyslogStreamMonitor();
+		for (int i = 0; i < 10; i++) {
+			monitor.received(i < 8);
+		}
+		monitor.filtered();
+		monitor.denied();
+		for (int i = 1; i <= 5; i++) {
+			monitor.parsed(TimeUnit.MICROSECONDS.toNanos(i * 10), true);
+		}
+		monitor.parsed(TimeUnit.MICROSECONDS.toNanos(20), false);
+		monitor.parseFailed(TimeUnit.MICROSECONDS.toNanos(1000));
+		monitor.parseFailed(TimeUnit.MICROSECONDS.toNanos(1000));
+
+		Map<String, Object> metrics = monitor.snapshot(25, 25.0);
+		assertEquals(12L, metrics.get(SyslogStreamMonitor.PROP_MESSAGES_IN));
+		assertEquals(1L, metrics.get(SyslogStreamMonitor.PROP_DROPPED_ACL));
+		assertEquals(1L, metrics.get(SyslogStreamMonitor.PROP_DROPPED_PRE_FILTER));
+		assertEquals(5L, metrics.get(SyslogStreamMonitor.PROP_MESSAGES_OUT));
+		assertEquals(2L, metrics.get(SyslogStreamMonitor.PROP_DROPPED_BUFFER_FULL));
+		assertEquals(1L, metrics.get(SyslogStreamMonitor.PROP_DROPPED_SUPPRESSED));
+		assertEquals(2L, metrics.get(SyslogStreamMonitor.PROP_DROPPED_PARSE_FAILED));
+		assertEquals(0.25, (Double) metrics.get(SyslogStreamMonitor.PROP_PARSE_FAILURE_RATE), 0.0001);
+		assertEquals(0.125, (Double) metrics.get(SyslogStreamMonitor.PROP_SUPPRESSION_RATIO), 0.0001);
+		assertEquals(25L, metrics.get(SyslogStreamMonitor.PROP_BUFFERED_ITEMS));
+		assertEquals(25.0, (Double) metrics.get(SyslogStreamMonitor.PROP_BUFFER_FILL), 0.0001);
+		assertEquals(30L, metrics.get(SyslogStreamMonitor.PROP_PARSE_P50));
+		assertEquals(1000L, (long) metrics.get(SyslogStreamMonitor.PROP_PARSE_P99), 1000 / 32);
+		assertNotNull(SyslogStreamMonitor.toActivityInfo("SyslogStream", metrics)); // NON-NLS
+	}
+
+	@Test
+	public void intervalSwapTest() {
+		SyslogStreamMonitor monitor = new SyslogStreamMonitor();
+		monitor.received(true);
+		monitor.parsed(1000, true);
+		monitor.snapshot(0, -1);
+
+		Map<String, Object> metrics = monitor.snapshot(0, -1);
+		assertEquals(0L, metrics.get(SyslogStreamMonitor.PROP_MESSAGES_IN));
+		assertEquals(0L, metrics.get(SyslogStreamMonitor.PROP_MESSAGES_OUT));
+		assertEquals(0.0, (Double) metrics.get(SyslogStreamMonitor.PROP_PARSE_FAILURE_RATE), 0.0);
+		assertEquals(0L, metrics.get(SyslogStreamMonitor.PROP_PARSE_P99));
+		assertFalse(metrics.containsKey(SyslogStreamMonitor.PROP_BUFFER_FILL));
+	}
+}
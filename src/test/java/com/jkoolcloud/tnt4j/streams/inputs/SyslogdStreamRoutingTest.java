@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.configure.SyslogStreamProperties;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivitySyslogEventParser;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogAddressedEvent;
+
+/**
+ * @version 1.0
+ */
+public class SyslogdStreamRoutingTest {
+
+	@Test
+	public void routedFilteredActivitiesTest() throws Exception {
+		int port;
+		try (DatagramSocket socket = new DatagramSocket(0)) {
+			port = socket.getLocalPort();
+		}
+
+		FilteringParser parser = new FilteringParser();
+		parser.setName("SecurityParser"); // NON-NLS
+		parser.setTags("security"); // NON-NLS
+
+		SyslogdStream stream = new SyslogdStream();
+		stream.setProperty(StreamProperties.PROP_HOST, "127.0.0.1"); // NON-NLS
+		stream.setProperty(StreamProperties.PROP_PORT, String.valueOf(port));
+		stream.setProperty(SyslogStreamProperties.PROP_PROTOCOL, "udp"); // NON-NLS
+		stream.setProperty(SyslogStreamProperties.PROP_ROUTES, "security:auth:*"); // NON-NLS
+		stream.addParser(parser);
+		stream.applyProperties();
+		stream.initialize();
+		stream.start();
+		try {
+			int skipped;
+			int current;
+			try (DatagramSocket socket = new DatagramSocket()) {
+				// server is started asynchronously, so warm up until first message gets processed
+				long deadline = System.currentTimeMillis() + 10000;
+				while (stream.getSkippedActivitiesCount() == 0 && System.currentTimeMillis() < deadline) {
+					send(socket, port, "skip warmup"); // NON-NLS
+					Thread.sleep(100);
+				}
+				Thread.sleep(200);
+				skipped = stream.getSkippedActivitiesCount();
+				current = stream.getCurrentActivity();
+
+				String[] messages = { "denied root", "denied admin", "skip probe", "denied guest" }; // NON-NLS
+				for (String msg : messages) {
+					send(socket, port, msg);
+				}
+			}
+
+			long deadline = System.currentTimeMillis() + 10000;
+			while (stream.getCurrentActivity() < current + 4 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+			// filtered out activities never reach stream output, and are counted as stream does for buffered items
+			assertEquals(current + 4, stream.getCurrentActivity());
+			assertEquals(3, stream.getFilteredActivitiesCount());
+			assertEquals(skipped + 1, stream.getSkippedActivitiesCount());
+		} finally {
+			stream.cleanup();
+		}
+	}
+
+	private static void send(DatagramSocket socket, int port, String msg) throws Exception {
+		byte[] data = ("<38>Oct 11 22:14:15 core-sw1 sshd: " + msg).getBytes(StandardCharsets.UTF_8); // NON-NLS
+		socket.send(new DatagramPacket(data, data.length, InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Parser marking activities of 'denied' messages as filtered out, same as parser field filter excluding activity
+	 * would, and producing no activity for 'skip' messages.
+	 */
+	private static class FilteringParser extends ActivitySyslogEventParser {
+		@Override
+		public ActivityInfo parse(TNTInputStream<?, ?> stream, Object data) {
+			String msg = SyslogAddressedEvent.unwrap((SyslogServerEventIF) data).getMessage();
+			if (msg.contains("skip")) { // NON-NLS
+				return null;
+			}
+			ActivityInfo ai = new ActivityInfo();
+			ai.setFiltered(msg.contains("denied")); // NON-NLS
+			return ai;
+		}
+	}
+}
@@ -18,17 +18,25 @@
 
 package com.jkoolcloud.tnt4j.streams.parsers;
 
-import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.*;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections4.MapUtils;
 import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogAddressedEvent;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogHostResolver;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogSampler;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogSourceStats;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
 
 /**
  * @author akausinis
@@ -83,4 +91,117 @@ public class ActivitySyslogEventParserTest {
 
 		assertFalse(MapUtils.isEmpty(lDataMap));
 	}
+
+	@Test
+	public void samplingTest() throws Exception {
+		Map<String, String> props = new HashMap<>(2);
+		props.put(SyslogParserProperties.PROP_SAMPLING_RATES, "info=0.5;debug=0"); // NON-NLS
+		props.put(SyslogParserProperties.PROP_SAMPLING_MODE, SyslogSampler.MODE_HASH);
+
+		ActivitySyslogEventParser eParser = new ActivitySyslogEventParser();
+		eParser.setProperties(props.entrySet());
+		ActivitySyslogLineParser lParser = new ActivitySyslogLineParser();
+		lParser.setProperties(props.entrySet());
+
+		int kept = 0;
+		for (int i = 0; i < 100; i++) {
+			String msg = "<14>1 2023-06-01T10:15:30Z host1 app 12 - - message " + i; // NON-NLS
+			Map<?, ?> eDataMap = eParser.getDataMap(new StructuredSyslogServerEvent(msg, InetAddress.getLocalHost()));
+			Map<?, ?> lDataMap = lParser.getDataMap(msg);
+			if (lDataMap != null) {
+				assertEquals(2.0, lDataMap.get(SyslogStreamConstants.FIELD_SAMPLING_WEIGHT));
+				kept++;
+			}
+			if (eDataMap != null) {
+				assertEquals(2.0, eDataMap.get(SyslogStreamConstants.FIELD_SAMPLING_WEIGHT));
+			}
+		}
+		assertTrue(kept > 25 && kept < 75);
+
+		String msg = "<15>1 2023-06-01T10:15:30Z host1 app 12 - - message"; // NON-NLS
+		assertNull(eParser.getDataMap(new StructuredSyslogServerEvent(msg, InetAddress.getLocalHost())));
+		assertNull(lParser.getDataMap(msg));
+		msg = "<13>1 2023-06-01T10:15:30Z host1 app 12 - - message"; // NON-NLS
+		assertFalse(lParser.getDataMap(msg).containsKey(SyslogStreamConstants.FIELD_SAMPLING_WEIGHT));
+	}
+
+	@Test
+	public void senderAddressTest() throws Exception {
+		String msg = "<14>1 2023-06-01T10:15:30Z host1 app 12 - - message"; // NON-NLS
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		ActivitySyslogEventParser eParser = new ActivitySyslogEventParser();
+
+		Map<?, ?> eDataMap = eParser.getDataMap(SyslogAddressedEvent
+				.wrap(new StructuredSyslogServerEvent(msg, address), new InetSocketAddress(address, 5140)));
+		assertEquals("10.0.0.1", eDataMap.get(SyslogStreamConstants.FIELD_HOSTADDR)); // NON-NLS
+		assertEquals("10.0.0.1", eDataMap.get(StreamFieldType.Location.name())); // NON-NLS
+		assertEquals("app", eDataMap.get(StreamFieldType.ApplName.name())); // NON-NLS
+
+		eDataMap = eParser.getDataMap(new StructuredSyslogServerEvent(msg, address));
+		assertNull(eDataMap.get(SyslogStreamConstants.FIELD_HOSTADDR));
+		assertEquals("host1", eDataMap.get(StreamFieldType.Location.name())); // NON-NLS
+	}
+
+	@Test
+	public void hostNameTest() throws Exception {
+		String msg = "<14>1 2023-06-01T10:15:30Z host1 app 12 - - message"; // NON-NLS
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		ActivitySyslogEventParser eParser = new ActivitySyslogEventParser() {
+			@Override
+			protected SyslogHostResolver createHostResolver() {
+				return new SyslogHostResolver(a -> "core-sw1.example.com", 100, 3600, 300, 1); // NON-NLS
+			}
+		};
+		Map<String, String> props = new HashMap<>(1);
+		props.put(SyslogParserProperties.PROP_RESOLVE_HOST_NAMES, "true"); // NON-NLS
+		eParser.setProperties(props.entrySet());
+
+		Object hostName = null;
+		for (int i = 0; i < 500 && hostName == null; i++) {
+			Map<?, ?> eDataMap = eParser.getDataMap(SyslogAddressedEvent
+					.wrap(new StructuredSyslogServerEvent(msg, address), new InetSocketAddress(address, 5140)));
+			assertEquals("10.0.0.1", eDataMap.get(SyslogStreamConstants.FIELD_HOSTADDR)); // NON-NLS
+			hostName = eDataMap.get(SyslogStreamConstants.FIELD_HOSTADDR_NAME);
+			Thread.sleep(10);
+		}
+		assertEquals("core-sw1.example.com", hostName); // NON-NLS
+	}
+
+	@Test
+	public void closeTest() throws Exception {
+		String msg = "<14>1 2023-06-01T10:15:30Z host1 app 12 - - message"; // NON-NLS
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		AtomicInteger resolvers = new AtomicInteger();
+		ActivitySyslogEventParser eParser = new ActivitySyslogEventParser() {
+			@Override
+			protected SyslogHostResolver createHostResolver() {
+				resolvers.incrementAndGet();
+				return new SyslogHostResolver(a -> "core-sw1.example.com", 100, 3600, 300, 1); // NON-NLS
+			}
+		};
+		Map<String, String> props = new HashMap<>(3);
+		props.put(SyslogParserProperties.PROP_RESOLVE_HOST_NAMES, "true"); // NON-NLS
+		props.put(SyslogParserProperties.PROP_SOURCE_STATISTICS, "true"); // NON-NLS
+		props.put(SyslogParserProperties.PROP_HOST_NAMES_TTL, "1h"); // NON-NLS
+		eParser.setProperties(props.entrySet());
+		assertEquals(ActivitySyslogEventParser.DEFAULT_HOST_NAMES_TTL,
+				eParser.getProperty(SyslogParserProperties.PROP_HOST_NAMES_TTL));
+
+		eParser.getDataMap(SyslogAddressedEvent.wrap(new StructuredSyslogServerEvent(msg, address),
+				new InetSocketAddress(address, 5140)));
+		SyslogSourceStats stats = eParser.getSourceStatistics();
+		assertNotNull(stats);
+		assertEquals(1, resolvers.get());
+
+		eParser.close();
+		assertNull(eParser.getSourceStatistics());
+
+		// closed resources are created again, when parser is reused by restarted stream
+		eParser.getDataMap(SyslogAddressedEvent.wrap(new StructuredSyslogServerEvent(msg, address),
+				new InetSocketAddress(address, 5140)));
+		assertNotNull(eParser.getSourceStatistics());
+		assertNotSame(stats, eParser.getSourceStatistics());
+		assertEquals(2, resolvers.get());
+		eParser.close();
+	}
 }
@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({})
+@Suite.SuiteClasses({ SyslogParsersAllocationTest.class, SyslogCorpusTest.class,
+		SyslogFlightEventsTest.class })
 public class AllParsersTests {
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+
+/**
+ * Curated per vendor corpus of anonymized real-world Syslog messages with expected parse outputs, located in
+ * {@code corpus} test resources directory, one {@code <vendor>.txt} file per vendor.
+ * <p>
+ * Corpus file contains Syslog messages, one message per line. Message is followed by indented expected parse output
+ * lines {@code key=value}, where key is parsers resolved data map key. Nested map entries (e.g. {@code SyslogVars} or
+ * {@code SyslogMap}) keys are delimited using {@code /}, e.g. {@code SyslogVars/user=root}. Key prefixed with
+ * {@code line:} or {@code event:} is expected only for {@link ActivitySyslogLineParser} or
+ * {@link ActivitySyslogEventParser} respectively. Lines starting with {@code #} are comments.
+ *
+ * @version 1.0
+ */
+public class SyslogCorpus {
+	/**
+	 * Corpus vendors.
+	 */
+	public static final String[] VENDORS = { "cisco", "juniper", "f5", "rsyslog", "zos", "windows" }; // NON-NLS
+
+	/**
+	 * Parser type of {@link ActivitySyslogLineParser}.
+	 */
+	public static final String LINE = "line"; // NON-NLS
+	/**
+	 * Parser type of {@link ActivitySyslogEventParser}.
+	 */
+	public static final String EVENT = "event"; // NON-NLS
+
+	private static final Pattern RFC5424_PATTERN = Pattern.compile("^<\\d{1,3}>1 .*"); // NON-NLS
+
+	private SyslogCorpus() {
+	}
+
+	/**
+	 * Loads vendor corpus samples.
+	 *
+	 * @param vendor
+	 *            vendor name
+	 * @return list of vendor corpus samples
+	 *
+	 * @throws IOException
+	 *             if corpus file can't be read
+	 */
+	public static List<Sample> load(String vendor) throws IOException {
+		List<Sample> samples = new ArrayList<>();
+		try (InputStream is = SyslogCorpus.class.getResourceAsStream("/corpus/" + vendor + ".txt")) { // NON-NLS
+			if (is == null) {
+				throw new IOException("Corpus not found: " + vendor); // NON-NLS
+			}
+			BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+			String line;
+			int lineNo = 0;
+			Sample sample = null;
+			while ((line = reader.readLine()) != null) {
+				lineNo++;
+				if (line.isEmpty() || line.startsWith("#")) { // NON-NLS
+					continue;
+				}
+				if (Character.isWhitespace(line.charAt(0))) {
+					if (sample == null) {
+						throw new IOException(vendor + ":" + lineNo + " expectation without message"); // NON-NLS
+					}
+					sample.addExpected(line.trim());
+				} else {
+					sample = new Sample(vendor + ":" + lineNo, line);
+					samples.add(sample);
+				}
+			}
+		}
+		return samples;
+	}
+
+	/**
+	 * Creates new parser of provided type.
+	 *
+	 * @param parserType
+	 *            parser type: {@value #LINE} or {@value #EVENT}
+	 * @return new parser instance
+	 */
+	public static AbstractSyslogParser newParser(String parserType) {
+		return LINE.equals(parserType) ? new ActivitySyslogLineParser() : new ActivitySyslogEventParser();
+	}
+
+	/**
+	 * Resolves value of data map entry. Nested map entries keys are delimited using {@code /}.
+	 *
+	 * @param dataMap
+	 *            parser resolved data map
+	 * @param key
+	 *            entry key
+	 * @return entry value, or {@code null} if data map has no such entry
+	 */
+	public static Object getValue(Map<?, ?> dataMap, String key) {
+		Object value = dataMap;
+		for (String k : key.split("/")) { // NON-NLS
+			if (!(value instanceof Map)) {
+				return null;
+			}
+			value = ((Map<?, ?>) value).get(k);
+		}
+		return value;
+	}
+
+	/**
+	 * Corpus sample: Syslog message and its expected parse output.
+	 */
+	public static class Sample {
+		private final String id;
+		private final String message;
+		private final Map<String, Map<String, String>> expected = new HashMap<>(2);
+
+		Sample(String id, String message) {
+			this.id = id;
+			this.message = message;
+			expected.put(LINE, new LinkedHashMap<>());
+			expected.put(EVENT, new LinkedHashMap<>());
+		}
+
+		private void addExpected(String expectation) throws IOException {
+			int idx = expectation.indexOf('=');
+			if (idx <= 0) {
+				throw new IOException(id + " invalid expectation: " + expectation); // NON-NLS
+			}
+			String key = expectation.substring(0, idx);
+			String value = expectation.substring(idx + 1);
+			if (key.startsWith(LINE + ":")) {
+				expected.get(LINE).put(key.substring(LINE.length() + 1), value);
+			} else if (key.startsWith(EVENT + ":")) {
+				expected.get(EVENT).put(key.substring(EVENT.length() + 1), value);
+			} else {
+				expected.get(LINE).put(key, value);
+				expected.get(EVENT).put(key, value);
+			}
+		}
+
+		/**
+		 * Returns sample identifier: vendor and corpus file line number.
+		 *
+		 * @return sample identifier
+		 */
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * Returns sample Syslog message.
+		 *
+		 * @return Syslog message
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		/**
+		 * Returns expected parse output for provided parser type.
+		 *
+		 * @param parserType
+		 *            parser type: {@value #LINE} or {@value #EVENT}
+		 * @return map of expected data map entries
+		 */
+		public Map<String, String> getExpected(String parserType) {
+			return expected.get(parserType);
+		}
+
+		/**
+		 * Returns parser input data for provided parser type: message string for line parser, or Syslog server event
+		 * made the same way Syslog server makes it for event parser.
+		 *
+		 * @param parserType
+		 *            parser type: {@value #LINE} or {@value #EVENT}
+		 * @return parser input data
+		 */
+		public Object toData(String parserType) {
+			if (LINE.equals(parserType)) {
+				return message;
+			}
+			InetAddress address = InetAddress.getLoopbackAddress();
+			if (RFC5424_PATTERN.matcher(message).matches()) {
+				return new StructuredSyslogServerEvent(message, address);
+			}
+			byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+			return new SyslogServerEvent(bytes, bytes.length, address);
+		}
+	}
+}
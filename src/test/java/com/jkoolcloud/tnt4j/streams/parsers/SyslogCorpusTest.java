@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import com.jkoolcloud.tnt4j.streams.utils.SyslogStreamConstants;
+
+/**
+ * Checks parsers resolved data maps of every {@link SyslogCorpus} vendor corpus message against expected parse
+ * output. Line parser must resolve every corpus message without falling back to raw message only data map.
+ *
+ * @version 1.0
+ */
+@RunWith(Parameterized.class)
+public class SyslogCorpusTest {
+	private final String vendor;
+	private final String parserType;
+
+	public SyslogCorpusTest(String vendor, String parserType) {
+		this.vendor = vendor;
+		this.parserType = parserType;
+	}
+
+	@Parameterized.Parameters(name = "{0}.{1}")
+	public static Collection<Object[]> parameters() {
+		List<Object[]> params = new ArrayList<>();
+		for (String vendor : SyslogCorpus.VENDORS) {
+			params.add(new Object[] { vendor, SyslogCorpus.LINE });
+			params.add(new Object[] { vendor, SyslogCorpus.EVENT });
+		}
+		return params;
+	}
+
+	@Test
+	public void corpusTest() throws Exception {
+		List<SyslogCorpus.Sample> samples = SyslogCorpus.load(vendor);
+		assertFalse("Empty corpus " + vendor, samples.isEmpty()); // NON-NLS
+
+		AbstractSyslogParser parser = SyslogCorpus.newParser(parserType);
+		for (SyslogCorpus.Sample sample : samples) {
+			Map<String, ?> dataMap = parser.getDataMap(sample.toData(parserType));
+			assertNotNull(sample.getId() + " not parsed", dataMap); // NON-NLS
+			// failed line parse leaves only raw activity string in data map
+			assertNotNull(sample.getId() + " parse failed", dataMap.get(SyslogStreamConstants.FIELD_LEVEL)); // NON-NLS
+
+			for (Map.Entry<String, String> e : sample.getExpected(parserType).entrySet()) {
+				assertEquals(sample.getId() + " " + e.getKey(), e.getValue(), // NON-NLS
+						String.valueOf(SyslogCorpus.getValue(dataMap, e.getKey())));
+			}
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+import com.jkoolcloud.tnt4j.streams.utils.SyslogFlightEvents;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @version 1.0
+ */
+public class SyslogFlightEventsTest {
+	private static final String MSG = "<34>Oct 11 22:14:15 mymachine su[4123]: 'su root' failed user=lonvick tty=pts/8 done"; // NON-NLS
+
+	@Test
+	public void parseEventsTest() throws Exception {
+		ActivitySyslogLineParser parser = new ActivitySyslogLineParser();
+		parser.setProperty(SyslogParserProperties.PROP_SUPPRESS_LEVEL, "-1"); // NON-NLS
+
+		Path file = Files.createTempFile("syslog", ".jfr"); // NON-NLS
+		try (Recording recording = new Recording()) {
+			recording.enable(SyslogFlightEvents.NAME_PREFIX + "Parse").withThreshold(Duration.ZERO); // NON-NLS
+			recording.enable(SyslogFlightEvents.NAME_PREFIX + "Variables").withThreshold(Duration.ZERO); // NON-NLS
+			recording.enable(SyslogFlightEvents.NAME_PREFIX + "Suppress").withThreshold(Duration.ZERO); // NON-NLS
+			recording.start();
+			parser.getDataMap(MSG);
+			parser.getDataMap(MSG);
+			parser.getDataMap("not a syslog line"); // NON-NLS
+			recording.stop();
+			recording.dump(file);
+
+			Map<String, Integer> outcomes = new HashMap<>();
+			int variables = 0;
+			int suppressed = 0;
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			for (RecordedEvent event : events) {
+				String name = event.getEventType().getName();
+				if (name.endsWith(".Parse")) { // NON-NLS
+					outcomes.merge(event.getString("outcome"), 1, Integer::sum); // NON-NLS
+				} else if (name.endsWith(".Variables")) { // NON-NLS
+					assertEquals(2, event.getInt("variables")); // NON-NLS
+					variables++;
+				} else if (name.endsWith(".Suppress") && event.getBoolean("suppressed")) { // NON-NLS
+					suppressed++;
+				}
+			}
+			assertEquals(Integer.valueOf(1), outcomes.get(SyslogFlightEvents.OUTCOME_PARSED));
+			assertEquals(Integer.valueOf(1), outcomes.get(SyslogFlightEvents.OUTCOME_SUPPRESSED));
+			assertEquals(Integer.valueOf(1), outcomes.get(SyslogFlightEvents.OUTCOME_FAILED));
+			assertEquals(2, variables);
+			assertEquals(1, suppressed);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.graylog2.syslog4j.server.SyslogServerEventIF;
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import com.jkoolcloud.tnt4j.streams.configure.SyslogParserProperties;
+
+/**
+ * Enforces parsers allocation budgets: bytes allocated per parsed message, measured using
+ * {@link com.sun.management.ThreadMXBean} thread allocation counters, must not exceed budget recorded in
+ * {@code parsers/allocation-budgets.properties} test resource.
+ * <p>
+ * To re-record budgets (e.g. after intentional parser change), run test with system property
+ * {@code -Dallocation.budgets.record=true}: measured values increased by {@value #RECORD_HEADROOM_PCT}% headroom are
+ * written to {@code target/allocation-budgets.properties}, which shall be copied over test resource file.
+ * <p>
+ * Test is skipped if JVM does not support thread allocation counters.
+ *
+ * @version 1.0
+ */
+@RunWith(Parameterized.class)
+public class SyslogParsersAllocationTest {
+	private static final String BUDGETS_RESOURCE = "/parsers/allocation-budgets.properties"; // NON-NLS
+	private static final String ASSETS_RESOURCE = "/parsers/assets.csv"; // NON-NLS
+	private static final String RECORD_PROP = "allocation.budgets.record"; // NON-NLS
+	private static final Path RECORD_FILE = Paths.get("target", "allocation-budgets.properties"); // NON-NLS
+	private static final int RECORD_HEADROOM_PCT = 25;
+
+	private static final int WARMUP_ITERATIONS = 20000;
+	private static final int MEASURE_ITERATIONS = 10000;
+
+	private static final String RFC3164_MSG = "<34>Oct 11 22:14:15 mymachine su[4123]: 'su root' failed for lonvick on /dev/pts/8"; // NON-NLS
+	private static final String RFC3164_VARS_MSG = "<165>Aug 24 05:34:00 host-0001 app[321]: user=john tty=pts/8 opn=login rsn=auth cid=a1b2c3 status=ok, elapsed=1200"; // NON-NLS
+	private static final String RFC5424_MSG = "<165>1 2003-10-11T22:14:15.003Z mymachine.example.com evntslog - ID47 - An application event log entry"; // NON-NLS
+	private static final String RFC5424_SD_MSG = "<194>1 2018-05-07T14:36:54.199084Z SVSCPLEX-S0W1 CICSTS51 STC03822 HASP893 [zXpert@1796 SYSID=\"S0W1\" TYPE=\"CONSOLE\" SUBTYPE=\"JES2\" RESOURCE=\"HASP893\" MSG_DATE=\"18122\" MSG_TIME=\"14.35.16\" SEQID=\"55\" SEQNO=\"00015547\" ASIDX=\"001E\" MSGTYPE=\"WTO\"]    $HASP893 VOLUME(VPSPOL) STATUS=ACTIVE,PERCENT=100"; // NON-NLS
+
+	private static final Properties RECORDED = new Properties();
+
+	private final String name;
+	private final AbstractSyslogParser parser;
+	private final Supplier<Object> data;
+
+	public SyslogParsersAllocationTest(String name, AbstractSyslogParser parser, Supplier<Object> data) {
+		this.name = name;
+		this.parser = parser;
+		this.data = data;
+	}
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> parameters() throws Exception {
+		InetAddress address = InetAddress.getLoopbackAddress();
+		List<Object[]> params = new ArrayList<>();
+		for (Map.Entry<String, String> sample : samples().entrySet()) {
+			String msg = sample.getValue();
+			params.add(new Object[] { "line." + sample.getKey(), new ActivitySyslogLineParser(),
+					(Supplier<Object>) () -> msg });
+
+			boolean rfc5424 = sample.getKey().startsWith("rfc5424"); // NON-NLS
+			params.add(new Object[] { "event." + sample.getKey(), new ActivitySyslogEventParser(),
+					(Supplier<Object>) () -> toEvent(msg, rfc5424, address) });
+		}
+
+		// host assets are looked up by sender address for events and by host name for lines
+		params.add(new Object[] { "line.rfc3164.assets", withAssets(new ActivitySyslogLineParser()), // NON-NLS
+				(Supplier<Object>) () -> RFC3164_MSG });
+		params.add(new Object[] { "event.rfc3164.assets", withAssets(new ActivitySyslogEventParser()), // NON-NLS
+				(Supplier<Object>) () -> toEvent(RFC3164_MSG, false, address) });
+		return params;
+	}
+
+	private static AbstractSyslogParser withAssets(AbstractSyslogParser parser) throws Exception {
+		String assetFile = Paths.get(SyslogParsersAllocationTest.class.getResource(ASSETS_RESOURCE).toURI()).toString();
+		parser.setProperty(SyslogParserProperties.PROP_ASSET_FILE, assetFile);
+		parser.setProperty(SyslogParserProperties.PROP_ASSET_RELOAD_INTERVAL, "0"); // NON-NLS
+		return parser;
+	}
+
+	private static Map<String, String> samples() {
+		Map<String, String> samples = new LinkedHashMap<>();
+		samples.put("rfc3164", RFC3164_MSG); // NON-NLS
+		samples.put("rfc3164.vars", RFC3164_VARS_MSG); // NON-NLS
+		samples.put("rfc5424", RFC5424_MSG); // NON-NLS
+		samples.put("rfc5424.sd", RFC5424_SD_MSG); // NON-NLS
+		return samples;
+	}
+
+	private static SyslogServerEventIF toEvent(String msg, boolean rfc5424, InetAddress address) {
+		if (rfc5424) {
+			return new StructuredSyslogServerEvent(msg, address);
+		}
+		byte[] bytes = msg.getBytes(StandardCharsets.UTF_8);
+		return new SyslogServerEvent(bytes, bytes.length, address);
+	}
+
+	@Test
+	public void allocationBudgetTest() throws Exception {
+		com.sun.management.ThreadMXBean threadBean = threadBean();
+		assumeTrue("Thread allocation counters are not supported", threadBean != null); // NON-NLS
+
+		// syslog4j events are parsed on construction: pre-create them, so only parser allocations are measured
+		Object[] items = new Object[MEASURE_ITERATIONS];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = data.get();
+		}
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			parser.getDataMap(items[i % items.length]);
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (Object item : items) {
+			parser.getDataMap(item);
+		}
+		long perMessage = (threadBean.getThreadAllocatedBytes(threadId) - before) / items.length;
+
+		if (Boolean.getBoolean(RECORD_PROP)) {
+			RECORDED.setProperty(name, String.valueOf(perMessage * (100 + RECORD_HEADROOM_PCT) / 100));
+			return;
+		}
+
+		long budget = Long.parseLong(loadBudgets().getProperty(name, "-1"));
+		assumeTrue("No allocation budget recorded for " + name, budget > 0); // NON-NLS
+		String msg = String.format("%s allocates %d bytes per message, budget is %d bytes", name, perMessage, budget); // NON-NLS
+		assertTrue(msg, perMessage <= budget);
+	}
+
+	@AfterClass
+	public static void writeRecorded() throws Exception {
+		if (RECORDED.isEmpty()) {
+			return;
+		}
+		List<String> lines = new ArrayList<>();
+		lines.add("# Syslog parsers allocation budgets: bytes per parsed message"); // NON-NLS
+		for (Map.Entry<Object, Object> e : new TreeMap<>(RECORDED).entrySet()) {
+			lines.add(e.getKey() + "=" + e.getValue()); // NON-NLS
+		}
+		Files.createDirectories(RECORD_FILE.getParent());
+		Files.write(RECORD_FILE, lines, StandardCharsets.UTF_8);
+	}
+
+	private static Properties loadBudgets() throws Exception {
+		Properties budgets = new Properties();
+		try (InputStream is = SyslogParsersAllocationTest.class.getResourceAsStream(BUDGETS_RESOURCE)) {
+			if (is != null) {
+				budgets.load(is);
+			}
+		}
+		return budgets;
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		if (!threadBean.isThreadAllocatedMemorySupported()) {
+			return null;
+		}
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		return threadBean;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class CidrTrieTest {
+
+	@Test
+	public void longestPrefixTest() throws Exception {
+		CidrTrie<String> trie = new CidrTrie<>();
+		trie.put("10.0.0.0/8", "net"); // NON-NLS
+		trie.put("10.1.0.0/16", "site"); // NON-NLS
+		trie.put("10.1.2.3", "host"); // NON-NLS
+		trie.put("2001:db8::/32", "net6"); // NON-NLS
+		trie.put("2001:db8::1/128", "host6"); // NON-NLS
+		assertEquals(5, trie.size());
+
+		assertEquals("host", trie.get("10.1.2.3")); // NON-NLS
+		assertEquals("site", trie.get("10.1.2.4")); // NON-NLS
+		assertEquals("net", trie.get("10.2.0.1")); // NON-NLS
+		assertNull(trie.get("11.0.0.1")); // NON-NLS
+		assertEquals("site", trie.get(InetAddress.getByName("10.1.200.1"))); // NON-NLS
+		assertEquals("host6", trie.get("2001:db8::1")); // NON-NLS
+		assertEquals("net6", trie.get(InetAddress.getByName("2001:db8:1::5"))); // NON-NLS
+		assertNull(trie.get("2001:db9::1")); // NON-NLS
+		assertNull(trie.get("core-sw1")); // NON-NLS
+		assertNull(trie.get((CharSequence) null));
+
+		trie.put("0.0.0.0/0", "any"); // NON-NLS
+		assertEquals("any", trie.get("11.0.0.1")); // NON-NLS
+		trie.put("10.1.0.0/16", "site2"); // NON-NLS
+		assertEquals("site2", trie.get("10.1.2.4")); // NON-NLS
+		assertEquals(6, trie.size());
+	}
+
+	@Test
+	public void randomRangesTest() {
+		Random rnd = new Random(42);
+		int[] addrs = new int[300];
+		int[] prefixes = new int[addrs.length];
+		CidrTrie<Integer> trie = new CidrTrie<>();
+		for (int i = 0; i < addrs.length; i++) {
+			// few top bits make ranges nested and sharing prefixes
+			addrs[i] = (rnd.nextInt(4) << 30) | (rnd.nextInt(16) << 20) | rnd.nextInt(1 << 20);
+			prefixes[i] = rnd.nextInt(33);
+			byte[] bytes = { (byte) (addrs[i] >>> 24), (byte) (addrs[i] >>> 16), (byte) (addrs[i] >>> 8),
+					(byte) addrs[i] };
+			trie.put(bytes, prefixes[i], i);
+		}
+
+		for (int n = 0; n < 20000; n++) {
+			int address = n % 2 == 0 ? addrs[rnd.nextInt(addrs.length)] ^ rnd.nextInt(1 << rnd.nextInt(31))
+					: rnd.nextInt();
+			Integer expected = null;
+			int bestPrefix = -1;
+			for (int i = 0; i < addrs.length; i++) {
+				long mask = prefixes[i] == 0 ? 0 : -1L << (32 - prefixes[i]);
+				// later value of same range replaces earlier one
+				if (((address ^ addrs[i]) & mask) == 0 && prefixes[i] >= bestPrefix) {
+					expected = i;
+					bestPrefix = prefixes[i];
+				}
+			}
+			assertEquals(expected, trie.get(address));
+		}
+	}
+
+	@Test
+	public void invalidRangeTest() {
+		CidrTrie<String> trie = new CidrTrie<>();
+		String[] invalid = { "10.0.0.0/33", "10.0.0/8", "host/8", "10.0.0.0/x", "::1/129", "" }; // NON-NLS
+		for (String cidr : invalid) {
+			try {
+				trie.put(cidr, "v"); // NON-NLS
+				fail(cidr);
+			} catch (IllegalArgumentException exc) {
+			}
+		}
+		assertEquals(0, trie.size());
+	}
+
+	@Test
+	public void parseIPv4Test() {
+		assertEquals(0x0A010203L, CidrTrie.parseIPv4("10.1.2.3")); // NON-NLS
+		assertEquals(0xFFFFFFFFL, CidrTrie.parseIPv4("255.255.255.255")); // NON-NLS
+		assertEquals(-1, CidrTrie.parseIPv4("256.1.1.1")); // NON-NLS
+		assertEquals(-1, CidrTrie.parseIPv4("1.2.3")); // NON-NLS
+		assertEquals(-1, CidrTrie.parseIPv4("1.2.3.4.5")); // NON-NLS
+		assertEquals(-1, CidrTrie.parseIPv4("1..2.3")); // NON-NLS
+		assertEquals(-1, CidrTrie.parseIPv4("1.2.3.")); // NON-NLS
+		assertEquals(-1, CidrTrie.parseIPv4("a.b.c.d")); // NON-NLS
+	}
+
+	@Test
+	public void toIntTest() throws Exception {
+		String[] addresses = { "0.0.0.0", "10.1.2.3", "127.0.0.1", "192.168.255.1", "255.255.255.255" }; // NON-NLS
+		for (String addr : addresses) {
+			assertEquals(addr, CidrTrie.parseIPv4(addr),
+					CidrTrie.toInt((Inet4Address) InetAddress.getByName(addr)) & 0xFFFFFFFFL);
+		}
+	}
+}
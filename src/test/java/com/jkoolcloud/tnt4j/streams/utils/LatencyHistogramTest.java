@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void bucketsTest() {
+		for (long v = 0; v < 64; v++) {
+			assertEquals(v, LatencyHistogram.bucketValue(LatencyHistogram.bucketIndex(v)));
+		}
+		long[] values = { 64, 65, 100, 1000, 123456, 1L << 40, Long.MAX_VALUE };
+		for (long v : values) {
+			long lower = LatencyHistogram.bucketValue(LatencyHistogram.bucketIndex(v));
+			assertTrue(lower <= v);
+			assertTrue((v - lower) <= v / 32);
+		}
+		assertEquals(LatencyHistogram.bucketIndex(Long.MAX_VALUE), LatencyHistogram.bucketIndex(Long.MAX_VALUE - 1));
+	}
+
+	@Test
+	public void percentilesTest() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(99));
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		histogram.record(-5);
+
+		assertEquals(1001, histogram.getCount());
+		assertEquals(1000, histogram.getMax());
+		assertEquals(0, histogram.getValueAtPercentile(0));
+		assertEquals(500, histogram.getValueAtPercentile(50), 500 / 32);
+		assertEquals(990, histogram.getValueAtPercentile(99), 990 / 32);
+		assertEquals(1000, histogram.getValueAtPercentile(100), 1000 / 32);
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class ReadAheadInputStreamTest {
+
+	@Test
+	public void readFailureTest() throws Exception {
+		InputStream failing = new InputStream() {
+			private int count;
+
+			@Override
+			public int read() {
+				if (count++ < 10) {
+					return 'a';
+				}
+				throw new IllegalStateException("Inflater has been closed"); // NON-NLS
+			}
+		};
+
+		try (ReadAheadInputStream in = new ReadAheadInputStream(failing, 4, 2)) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try {
+				int b;
+				while ((b = in.read()) != -1) {
+					out.write(b);
+				}
+				fail("Runtime failure read as clean EOF"); // NON-NLS
+			} catch (IOException exc) {
+				assertTrue(exc.getCause() instanceof IllegalStateException);
+			}
+			assertEquals(8, out.size());
+		}
+	}
+
+	@Test
+	public void closeWaitsForReaderTest() throws Exception {
+		CountDownLatch readStarted = new CountDownLatch(1);
+		AtomicBoolean reading = new AtomicBoolean();
+		AtomicBoolean closedWhileReading = new AtomicBoolean();
+		InputStream slow = new InputStream() {
+			@Override
+			public int read() {
+				reading.set(true);
+				readStarted.countDown();
+				long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+				while (System.nanoTime() < end) {
+					Thread.onSpinWait();
+				}
+				reading.set(false);
+				return 'a';
+			}
+
+			@Override
+			public void close() {
+				closedWhileReading.set(reading.get());
+			}
+		};
+
+		ReadAheadInputStream in = new ReadAheadInputStream(slow, 1, 2);
+		assertTrue(readStarted.await(5, TimeUnit.SECONDS));
+		in.close();
+		assertFalse(closedWhileReading.get());
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogAclTest {
+
+	@Test
+	public void acceptTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".acl"); // NON-NLS
+		try {
+			Files.write(file, ("# collectors ACL\n" // NON-NLS
+					+ "allow 10.0.0.0/8\n" // NON-NLS
+					+ "deny  10.66.0.0/16\n" // NON-NLS
+					+ "ALLOW 10.66.1.1\n" // NON-NLS
+					+ "allow 2001:db8::/32\n" // NON-NLS
+					+ "permit 192.168.0.0/16\n" // NON-NLS
+					+ "deny 300.0.0.0/8\n").getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			SyslogAcl acl = new SyslogAcl(file.toString(), SyslogAcl.DENY);
+			assertFalse(acl.accept(InetAddress.getByName("10.1.2.3"))); // NON-NLS
+			acl.start(0);
+
+			assertTrue(acl.accept(InetAddress.getByName("10.1.2.3"))); // NON-NLS
+			assertTrue(acl.accept(new InetSocketAddress(InetAddress.getByName("10.1.2.4"), 514))); // NON-NLS
+			assertFalse(acl.accept(InetAddress.getByName("10.66.7.7"))); // NON-NLS
+			assertTrue(acl.accept(InetAddress.getByName("10.66.1.1"))); // NON-NLS
+			assertTrue(acl.accept(InetAddress.getByName("2001:db8::5"))); // NON-NLS
+			assertFalse(acl.accept(InetAddress.getByName("192.168.0.1"))); // NON-NLS
+			assertFalse(acl.accept((InetAddress) null));
+
+			Map<String, Long> counts = acl.getRuleCounts();
+			assertEquals(5, counts.size());
+			assertEquals(2L, (long) counts.get("allow 10.0.0.0/8")); // NON-NLS
+			assertEquals(1L, (long) counts.get("deny 10.66.0.0/16")); // NON-NLS
+			assertEquals(1L, (long) counts.get("allow 10.66.1.1")); // NON-NLS
+			assertEquals(1L, (long) counts.get("allow 2001:db8::/32")); // NON-NLS
+			assertEquals(3L, (long) counts.get("*")); // NON-NLS
+			acl.close();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void acceptAllocationTest() throws Exception {
+		assumeTrue("Thread allocation counters are not supported", ThreadAllocations.isSupported()); // NON-NLS
+		Path file = Files.createTempFile("syslog", ".acl"); // NON-NLS
+		try {
+			Files.write(file, ("allow 10.0.0.0/8\n" // NON-NLS
+					+ "deny 10.66.0.0/16\n").getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			SyslogAcl acl = new SyslogAcl(file.toString(), SyslogAcl.DENY);
+			acl.start(0);
+			InetAddress allowed = InetAddress.getByName("10.1.2.3"); // NON-NLS
+			InetSocketAddress denied = new InetSocketAddress(InetAddress.getByName("10.66.7.7"), 514); // NON-NLS
+			InetAddress unknown = InetAddress.getByName("192.168.0.1"); // NON-NLS
+
+			assertEquals(0, ThreadAllocations.perRun(() -> {
+				acl.accept(allowed);
+				acl.accept(denied);
+				acl.accept(unknown);
+			}, 10000));
+			acl.close();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void reloadTest() throws Exception {
+		Path file = Files.createTempFile("syslog", ".acl"); // NON-NLS
+		try {
+			Files.write(file, "deny 10.66.0.0/16\n".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			SyslogAcl acl = new SyslogAcl(file.toString(), SyslogAcl.ALLOW);
+			assertTrue(acl.reload());
+			assertFalse(acl.reload());
+			assertFalse(acl.accept(InetAddress.getByName("10.66.0.1"))); // NON-NLS
+			assertTrue(acl.accept(InetAddress.getByName("10.1.0.1"))); // NON-NLS
+
+			Files.write(file, "deny 10.66.0.0/16\ndeny 10.1.0.0/16\n".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+			assertTrue(acl.reload());
+			assertFalse(acl.accept(InetAddress.getByName("10.1.0.1"))); // NON-NLS
+			// counts of unchanged rules are kept
+			assertEquals(1L, (long) acl.getRuleCounts().get("deny 10.1.0.0/16")); // NON-NLS
+			assertEquals(1L, (long) acl.getRuleCounts().get("deny 10.66.0.0/16")); // NON-NLS
+
+			// failed load keeps old rules
+			Files.delete(file);
+			assertFalse(acl.reload());
+			assertFalse(acl.accept(InetAddress.getByName("10.1.0.1"))); // NON-NLS
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidActionTest() {
+		new SyslogAcl("syslog.acl", "permit"); // NON-NLS
+	}
+}
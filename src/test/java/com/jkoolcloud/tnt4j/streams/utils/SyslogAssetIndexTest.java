@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogAssetIndexTest {
+
+	@Test
+	public void csvTest() throws Exception {
+		Path file = Files.createTempFile("assets", ".csv"); // NON-NLS
+		try {
+			Files.write(file, ("host,owner,env\n" // NON-NLS
+					+ "# comment\n" // NON-NLS
+					+ "Core-SW1,\"network, core\",prod\n" // NON-NLS
+					+ "10.0.0.0/8,it,\n" // NON-NLS
+					+ "10.1.2.3,db,prod\n" // NON-NLS
+					+ "bad/range,x,y\n").getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			SyslogAssetIndex index = new SyslogAssetIndex(file.toString());
+			assertTrue(index.reload());
+			assertFalse(index.reload());
+			assertEquals(3, index.size());
+
+			Map<String, String> attrs = index.lookup("core-sw1"); // NON-NLS
+			assertEquals("network, core", attrs.get("owner")); // NON-NLS
+			assertEquals("prod", attrs.get("env")); // NON-NLS
+			assertSame(attrs, index.lookup("CORE-SW1")); // NON-NLS
+			assertNull(index.lookup("core-sw2")); // NON-NLS
+
+			attrs = index.lookup("10.9.9.9"); // NON-NLS
+			assertEquals("it", attrs.get("owner")); // NON-NLS
+			assertFalse(attrs.containsKey("env")); // NON-NLS
+			assertEquals("db", index.lookup(InetAddress.getByName("10.1.2.3")).get("owner")); // NON-NLS
+			// address is looked up before host name
+			assertEquals("db", index.lookup("core-sw1", InetAddress.getByName("10.1.2.3")).get("owner")); // NON-NLS
+			assertEquals("prod", index.lookup("core-sw1", InetAddress.getByName("192.168.0.1")).get("env")); // NON-NLS
+			assertNull(index.lookup(null, InetAddress.getByName("192.168.0.1"))); // NON-NLS
+
+			try {
+				attrs.put("owner", "me"); // NON-NLS
+				fail();
+			} catch (UnsupportedOperationException exc) {
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void jsonReloadTest() throws Exception {
+		Path file = Files.createTempFile("assets", ".jsonl"); // NON-NLS
+		try {
+			Files.write(file, ("{\"host\":\"web1\",\"owner\":\"web\",\"tags\":[\"a\"],\"rack\":12}\n" // NON-NLS
+					+ "{\"owner\":\"nobody\"}\n" // NON-NLS
+					+ "not json\n").getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			SyslogAssetIndex index = new SyslogAssetIndex(file.toString());
+			assertNull(index.lookup("web1")); // NON-NLS
+			index.start(0);
+			assertEquals(1, index.size());
+			Map<String, String> attrs = index.lookup("web1"); // NON-NLS
+			assertEquals("web", attrs.get("owner")); // NON-NLS
+			assertEquals("12", attrs.get("rack")); // NON-NLS
+			assertFalse(attrs.containsKey("tags")); // NON-NLS
+
+			Files.write(file,
+					"{\"host\":\"192.168.0.0/24\",\"owner\":\"lab\"}\n".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+			assertTrue(index.reload());
+			assertNull(index.lookup("web1")); // NON-NLS
+			assertEquals("lab", index.lookup("192.168.0.7").get("owner")); // NON-NLS
+
+			// failed load keeps old index
+			Files.delete(file);
+			assertFalse(index.reload());
+			assertEquals("lab", index.lookup("192.168.0.7").get("owner")); // NON-NLS
+			index.close();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void lookupAllocationTest() throws Exception {
+		assumeTrue("Thread allocation counters are not supported", ThreadAllocations.isSupported()); // NON-NLS
+		Path file = Files.createTempFile("assets", ".csv"); // NON-NLS
+		try {
+			Files.write(file, ("host,owner\n" // NON-NLS
+					+ "10.0.0.0/8,it\n" // NON-NLS
+					+ "core-sw1,network\n").getBytes(StandardCharsets.UTF_8)); // NON-NLS
+			SyslogAssetIndex index = new SyslogAssetIndex(file.toString());
+			index.reload();
+			InetAddress address = InetAddress.getByName("10.1.2.3"); // NON-NLS
+			InetAddress unknown = InetAddress.getByName("192.168.0.1"); // NON-NLS
+
+			assertEquals(0, ThreadAllocations.perRun(() -> {
+				index.lookup("core-sw1", address); // NON-NLS
+				index.lookup("core-sw1", unknown); // NON-NLS
+				index.lookup("10.1.2.4"); // NON-NLS
+			}, 10000));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void splitCsvTest() {
+		assertArrayEquals(new String[] { "a", "b c", "" }, SyslogAssetIndex.splitCsv("a, b c ,")); // NON-NLS
+		assertArrayEquals(new String[] { "x,\"y\"", "z" }, SyslogAssetIndex.splitCsv("\"x,\"\"y\"\"\",z")); // NON-NLS
+	}
+}
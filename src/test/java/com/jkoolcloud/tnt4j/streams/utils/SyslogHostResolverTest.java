@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogHostResolverTest {
+
+	@Test
+	public void lookupTest() throws Exception {
+		Map<InetAddress, AtomicInteger> calls = new ConcurrentHashMap<>();
+		SyslogHostResolver.Resolver stub = address -> {
+			calls.computeIfAbsent(address, a -> new AtomicInteger()).incrementAndGet();
+			switch (address.getHostAddress()) {
+			case "10.0.0.1":
+				return "core-sw1.example.com"; // NON-NLS
+			case "10.0.0.2":
+				return null;
+			case "10.0.0.3":
+				return address.getHostAddress();
+			default:
+				throw new IllegalStateException("DNS failure"); // NON-NLS
+			}
+		};
+		InetAddress[] addresses = { InetAddress.getByName("10.0.0.1"), InetAddress.getByName("10.0.0.2"), // NON-NLS
+				InetAddress.getByName("10.0.0.3"), InetAddress.getByName("10.0.0.4") }; // NON-NLS
+
+		try (SyslogHostResolver resolver = new SyslogHostResolver(stub, 100, 3600, 3600, 2)) {
+			assertNull(resolver.lookup(null));
+			for (InetAddress address : addresses) {
+				assertNull(resolver.lookup(address));
+			}
+			assertEquals("core-sw1.example.com", awaitLookup(resolver, addresses[0])); // NON-NLS
+			awaitCached(resolver, addresses.length);
+
+			// negative entries are cached too
+			for (int i = 0; i < 10; i++) {
+				for (int a = 1; a < addresses.length; a++) {
+					assertNull(resolver.lookup(addresses[a]));
+				}
+			}
+			for (InetAddress address : addresses) {
+				assertEquals(1, calls.get(address).get());
+			}
+		}
+	}
+
+	@Test
+	public void expirationTest() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		try (SyslogHostResolver resolver = new SyslogHostResolver(a -> "host" + calls.incrementAndGet(), 100, 0, 0,
+				1)) {
+			assertNull(resolver.lookup(address));
+			assertEquals("host1", awaitLookup(resolver, address)); // NON-NLS
+			// expired host name is served until address is resolved again
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (!"host3".equals(resolver.lookup(address)) && System.nanoTime() < deadline) { // NON-NLS
+				Thread.sleep(5);
+			}
+			assertTrue(calls.get() >= 3);
+		}
+	}
+
+	private static String awaitLookup(SyslogHostResolver resolver, InetAddress address) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		String hostName;
+		while ((hostName = resolver.lookup(address)) == null && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		return hostName;
+	}
+
+	private static void awaitCached(SyslogHostResolver resolver, int count) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (resolver.getCachedCount() < count && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(count, resolver.getCachedCount());
+	}
+}
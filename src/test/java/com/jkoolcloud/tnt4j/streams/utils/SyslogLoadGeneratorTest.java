@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogLoadGeneratorTest {
+
+	@Test
+	public void rfc3164MessageTest() {
+		StringBuilder sb = new StringBuilder();
+		SyslogLoadGenerator.buildMessage(sb, false, 1700000000123456L, "host-0001.example.com", 16, 300);
+
+		String msg = sb.toString();
+		assertTrue(msg, msg.matches("<\\d+>Nov 14 22:13:20 host-0001\\.example\\.com kernel-1\\[1112\\]: "
+				+ "lgSendTime=1700000000123456 .*"));
+		assertTrue(msg.length() >= 300);
+		assertEquals(1700000000123456L, SyslogLoadGenerator.parseSendTime(msg));
+	}
+
+	@Test
+	public void rfc5424MessageTest() {
+		StringBuilder sb = new StringBuilder();
+		SyslogLoadGenerator.buildMessage(sb, true, 1700000000000042L, "host-0002.example.com", 0, 10);
+
+		String msg = sb.toString();
+		assertTrue(msg, msg.matches("<\\d+>1 2023-11-14T22:13:20\\.000042Z host-0002\\.example\\.com sshd 1000 "
+				+ "ID\\d+ - lgSendTime=1700000000000042 .*"));
+		Map<String, Object> vars = SyslogUtils.parseVariables(msg.substring(msg.indexOf(" - ") + 3));
+		assertEquals(1700000000000042L, vars.get(SyslogLoadGenerator.SEND_TIME_VAR));
+	}
+
+	@Test
+	public void parseSendTimeTest() {
+		assertEquals(-1, SyslogLoadGenerator.parseSendTime(null));
+		assertEquals(-1, SyslogLoadGenerator.parseSendTime("no send time"));
+		assertEquals(-1, SyslogLoadGenerator.parseSendTime("lgSendTime= 12"));
+		assertEquals(12, SyslogLoadGenerator.parseSendTime("x lgSendTime=12, y"));
+	}
+
+	@Test
+	public void distributionsTest() {
+		SyslogLoadGenerator generator = new SyslogLoadGenerator();
+		generator.configure("-size:200", "-maxSize:1000");
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+		int low = 0;
+		long sizes = 0;
+		for (int i = 0; i < 10000; i++) {
+			int host = SyslogLoadGenerator.skewed(100, rnd);
+			assertTrue(host >= 0 && host < 100);
+			if (host < 10) {
+				low++;
+			}
+			int size = generator.messageSize(rnd);
+			assertTrue(size >= 48 && size <= 1000);
+			sizes += size;
+		}
+		// ~46% of messages come from 10% of hosts
+		assertTrue(low > 4000);
+		assertEquals(200 * 1.2, sizes / 10000.0, 30);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidArgTest() {
+		new SyslogLoadGenerator().configure("-protocol:sctp");
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogPriFilterTest {
+
+	@Test
+	public void createTest() {
+		assertNull(SyslogPriFilter.create(null));
+		assertNull(SyslogPriFilter.create(" ; "));
+		assertNotNull(SyslogPriFilter.create("drop:local0,16,kern:debug,7,info;accept:*:*:host:app")); // NON-NLS
+
+		String[] invalid = { "skip:*:*", "drop:*", "drop:local9:*", "drop:*:verbose", "drop:*:8", // NON-NLS
+				"drop:*:*:a:b:c" }; // NON-NLS
+		for (String rules : invalid) {
+			try {
+				SyslogPriFilter.create(rules);
+				fail("Rule accepted: " + rules); // NON-NLS
+			} catch (IllegalArgumentException exc) {
+			}
+		}
+	}
+
+	@Test
+	public void priorityTest() {
+		SyslogPriFilter filter = SyslogPriFilter.create("drop:local0,local1:*;drop:*:debug,info"); // NON-NLS
+		// local0.err
+		assertFalse(filter.accept("<131>Jun  1 10:15:30 host1 app: message")); // NON-NLS
+		// local1.emergency
+		assertFalse(filter.accept("<136>1 2023-06-01T10:15:30Z host1 app - - - message")); // NON-NLS
+		// user.info
+		assertFalse(filter.accept("<14>Jun  1 10:15:30 host1 app: message")); // NON-NLS
+		// user.notice
+		assertTrue(filter.accept("<13>Jun  1 10:15:30 host1 app: message")); // NON-NLS
+		// auth.err
+		assertTrue(filter.accept("<35>message")); // NON-NLS
+		// no PRI - user.info
+		assertFalse(filter.accept("Jun  1 10:15:30 host1 app: message")); // NON-NLS
+		// malformed PRI - user.info
+		assertFalse(filter.accept("<1x>message")); // NON-NLS
+
+		Map<String, Long> counts = filter.getRuleCounts();
+		assertEquals(Long.valueOf(2), counts.get("drop:local0,local1:*")); // NON-NLS
+		assertEquals(Long.valueOf(3), counts.get("drop:*:debug,info")); // NON-NLS
+		assertEquals(Long.valueOf(2), counts.get("*"));
+	}
+
+	@Test
+	public void prefixTest() {
+		SyslogPriFilter filter = SyslogPriFilter.create("accept:*:*:core-;drop:*:*::cron;drop:*:debug"); // NON-NLS
+		assertTrue(filter.accept("<15>Jun  1 10:15:30 core-sw1 cron[12]: message")); // NON-NLS
+		assertFalse(filter.accept("<14>Jun  1 10:15:30 edge-sw1 cron[12]: message")); // NON-NLS
+		assertFalse(filter.accept("<15>Jun 11 10:15:30 edge-sw1 sshd[1]: message")); // NON-NLS
+		assertTrue(filter.accept("<14>Jun 11 10:15:30 edge-sw1 sshd[1]: message")); // NON-NLS
+		assertTrue(filter.accept("<15>1 2023-06-01T10:15:30Z core-sw1 cron 12 - - message")); // NON-NLS
+		assertFalse(filter.accept("<14>1 2023-06-01T10:15:30Z edge-sw1 cron 12 - - message")); // NON-NLS
+		assertTrue(filter.accept("<14>1 2023-06-01T10:15:30Z edge-sw1 sshd 12 - - message")); // NON-NLS
+		assertTrue(filter.accept("<14>")); // NON-NLS
+	}
+
+	@Test
+	public void eventTest() throws Exception {
+		SyslogPriFilter filter = SyslogPriFilter.create("drop:*:*:10.0.:cron;drop:local0:*"); // NON-NLS
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+
+		assertFalse(filter.accept(event("<14>Jun  1 10:15:30 10.0.0.1 cron[12]: message", address))); // NON-NLS
+		assertTrue(filter.accept(event("<14>Jun  1 10:15:30 10.0.0.1 sshd[12]: message", address))); // NON-NLS
+		assertFalse(filter.accept(event("<131>Jun  1 10:15:30 10.0.0.1 sshd[12]: message", address))); // NON-NLS
+		assertFalse(filter.accept(
+				new StructuredSyslogServerEvent("<14>1 2023-06-01T10:15:30Z 10.0.0.1 cron 12 - - message", address))); // NON-NLS
+		assertTrue(filter.accept(
+				new StructuredSyslogServerEvent("<14>1 2023-06-01T10:15:30Z 10.0.0.1 sshd 12 - - message", address))); // NON-NLS
+	}
+
+	private static SyslogServerEvent event(String message, InetAddress address) {
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		return new SyslogServerEvent(bytes, bytes.length, address);
+	}
+}
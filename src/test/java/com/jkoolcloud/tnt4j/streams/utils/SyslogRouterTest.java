@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.graylog2.syslog4j.server.impl.event.SyslogServerEvent;
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogRouterTest {
+
+	@Test
+	public void createTest() {
+		assertNull(SyslogRouter.create(null));
+		assertNull(SyslogRouter.create(" ; "));
+
+		SyslogRouter router = SyslogRouter
+				.create("security:auth,authpriv:*;kernel:kern:*;security:*:*::sshd;apps:*:*::app-"); // NON-NLS
+		assertEquals(3, router.getRoutesCount());
+		assertEquals("security", router.getRouteName(0)); // NON-NLS
+		assertEquals("kernel", router.getRouteName(1)); // NON-NLS
+		assertEquals("apps", router.getRouteName(2)); // NON-NLS
+
+		String[] invalid = { ":*:*", "*:*:*", "route:*", "route:local9:*", "route:*:8", "route:*:*:a:b:c" }; // NON-NLS
+		for (String rules : invalid) {
+			try {
+				SyslogRouter.create(rules);
+				fail("Rule accepted: " + rules); // NON-NLS
+			} catch (IllegalArgumentException exc) {
+			}
+		}
+	}
+
+	@Test
+	public void routeTest() {
+		SyslogRouter router = SyslogRouter
+				.create("security:auth,authpriv:*;kernel:kern:*;security:*:*::sshd;apps:*:*::app-"); // NON-NLS
+		// auth.err
+		assertEquals(0, router.route("<35>Jun  1 10:15:30 host1 su: message")); // NON-NLS
+		// authpriv.info
+		assertEquals(0, router.route("<86>1 2023-06-01T10:15:30Z host1 sudo - - - message")); // NON-NLS
+		// kern.warning
+		assertEquals(1, router.route("<4>Jun  1 10:15:30 host1 kernel: message")); // NON-NLS
+		// user.info
+		assertEquals(0, router.route("<14>Jun  1 10:15:30 host1 sshd[12]: message")); // NON-NLS
+		assertEquals(2, router.route("<14>Jun  1 10:15:30 host1 app-web[12]: message")); // NON-NLS
+		assertEquals(-1, router.route("<14>Jun  1 10:15:30 host1 cron[12]: message")); // NON-NLS
+
+		Map<String, Long> counts = router.getRuleCounts();
+		assertEquals(Long.valueOf(2), counts.get("security:auth,authpriv:*")); // NON-NLS
+		assertEquals(Long.valueOf(1), counts.get("kernel:kern:*")); // NON-NLS
+		assertEquals(Long.valueOf(1), counts.get("security:*:*::sshd")); // NON-NLS
+		assertEquals(Long.valueOf(1), counts.get("apps:*:*::app-")); // NON-NLS
+		assertEquals(Long.valueOf(1), counts.get("*"));
+	}
+
+	@Test
+	public void eventTest() throws Exception {
+		SyslogRouter router = SyslogRouter.create("local:local0,local1:*;net:*:*:10.0.:cron"); // NON-NLS
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+
+		assertEquals(0, router.route(event("<131>Jun  1 10:15:30 10.0.0.1 cron[12]: message", address))); // NON-NLS
+		assertEquals(1, router.route(event("<14>Jun  1 10:15:30 10.0.0.1 cron[12]: message", address))); // NON-NLS
+		assertEquals(-1, router.route(event("<14>Jun  1 10:15:30 10.0.0.1 sshd[12]: message", address))); // NON-NLS
+	}
+
+	private static SyslogServerEvent event(String message, InetAddress address) {
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		return new SyslogServerEvent(bytes, bytes.length, address);
+	}
+}
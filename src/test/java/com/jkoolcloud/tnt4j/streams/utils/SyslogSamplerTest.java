@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+
+import org.graylog2.syslog4j.server.impl.event.structured.StructuredSyslogServerEvent;
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogSamplerTest {
+
+	@Test
+	public void createTest() {
+		assertNull(SyslogSampler.create("", SyslogSampler.MODE_HASH));
+		assertNotNull(SyslogSampler.create("debug,info=0.1;*:host:app=1", null)); // NON-NLS
+
+		String[] invalid = { "info", "info=2", "info=-0.5", "info=x", "verbose=0.1", "info:a:b:c=0.1" }; // NON-NLS
+		for (String rules : invalid) {
+			try {
+				SyslogSampler.create(rules, SyslogSampler.MODE_RANDOM);
+				fail("Rule accepted: " + rules); // NON-NLS
+			} catch (IllegalArgumentException exc) {
+			}
+		}
+		try {
+			SyslogSampler.create("info=0.1", "sometimes"); // NON-NLS
+			fail("Mode accepted"); // NON-NLS
+		} catch (IllegalArgumentException exc) {
+		}
+	}
+
+	@Test
+	public void randomSamplingTest() {
+		SyslogSampler sampler = SyslogSampler.create("debug=0;info=0.1", SyslogSampler.MODE_RANDOM); // NON-NLS
+		int kept = 0;
+		for (int i = 0; i < 10000; i++) {
+			double weight = sampler.sample("<14>Jun  1 10:15:30 host1 app: message " + i); // NON-NLS
+			if (weight != 0) {
+				assertEquals(10.0, weight, 0.0001);
+				kept++;
+			}
+		}
+		assertEquals(1000, kept, 200);
+		assertEquals(0.0, sampler.sample("<15>Jun  1 10:15:30 host1 app: message"), 0.0); // NON-NLS
+		assertEquals(1.0, sampler.sample("<13>Jun  1 10:15:30 host1 app: message"), 0.0); // NON-NLS
+	}
+
+	@Test
+	public void hashSamplingTest() {
+		SyslogSampler sampler = SyslogSampler.create("info=0.25", SyslogSampler.MODE_HASH); // NON-NLS
+		SyslogSampler sampler2 = SyslogSampler.create("info=0.25", SyslogSampler.MODE_HASH); // NON-NLS
+		int kept = 0;
+		for (int i = 0; i < 10000; i++) {
+			String line = "<14>Jun  1 10:15:30 host1 app: message " + i; // NON-NLS
+			double weight = sampler.sample(line);
+			assertEquals(weight, sampler.sample(line), 0.0);
+			assertEquals(weight, sampler2.sample(line), 0.0);
+			if (weight != 0) {
+				assertEquals(4.0, weight, 0.0001);
+				kept++;
+			}
+		}
+		assertEquals(2500, kept, 250);
+	}
+
+	@Test
+	public void prefixTest() throws Exception {
+		SyslogSampler sampler = SyslogSampler.create("info:core-=1;info::cron=0.5;info=0", // NON-NLS
+				SyslogSampler.MODE_HASH);
+		assertEquals(1.0, sampler.sample("<14>Jun  1 10:15:30 core-sw1 sshd[1]: message"), 0.0); // NON-NLS
+		assertEquals(0.0, sampler.sample("<14>Jun  1 10:15:30 edge-sw1 sshd[1]: message"), 0.0); // NON-NLS
+		int kept = 0;
+		for (int i = 0; i < 1000; i++) {
+			double weight = sampler.sample("<14>1 2023-06-01T10:15:30Z edge-sw1 cron 12 - - message " + i); // NON-NLS
+			assertTrue(weight == 0 || weight == 2);
+			kept += weight == 0 ? 0 : 1;
+		}
+		assertEquals(500, kept, 100);
+
+		InetAddress address = InetAddress.getByName("10.0.0.1"); // NON-NLS
+		String msg = "<14>1 2023-06-01T10:15:30Z edge-sw1 sshd 12 - - message"; // NON-NLS
+		assertEquals(0.0, sampler.sample(new StructuredSyslogServerEvent(msg, address)), 0.0);
+		msg = "<14>1 2023-06-01T10:15:30Z core-sw1 sshd 12 - - message"; // NON-NLS
+		assertEquals(1.0, sampler.sample(new StructuredSyslogServerEvent(msg, address)), 0.0);
+	}
+}
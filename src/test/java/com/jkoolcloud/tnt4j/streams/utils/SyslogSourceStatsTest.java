@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogSourceStatsTest {
+
+	@Test
+	public void ratesTest() {
+		SyslogSourceStats stats = new SyslogSourceStats("ratesTest", 10, 5); // NON-NLS
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 50; i++) {
+			stats.record("host1/app1", "host1", "app1", 100, now - 20, now); // NON-NLS
+		}
+		stats.update(5, now);
+
+		SyslogSourceStats.Source source = stats.getTop(1).get(0);
+		assertEquals("host1", source.getHost()); // NON-NLS
+		assertEquals("app1", source.getApplication()); // NON-NLS
+		assertEquals(50, source.getMessages());
+		assertEquals(5000, source.getBytes());
+		assertEquals(10.0, source.getMessageRate(), 0.001);
+		assertEquals(1000.0, source.getByteRate(), 0.001);
+		assertEquals(20.0, source.getLag(), 0.001);
+		assertEquals(now, source.getLastSeen());
+
+		// no messages during next interval - rate decays, lag is kept
+		stats.update(5, now);
+		assertTrue(source.getMessageRate() < 10.0);
+		assertTrue(source.getMessageRate() > 0.0);
+		assertEquals(20.0, source.getLag(), 0.001);
+	}
+
+	@Test
+	public void topSourcesTest() {
+		SyslogSourceStats stats = new SyslogSourceStats("topSourcesTest", 100, 3); // NON-NLS
+		long now = System.currentTimeMillis();
+		for (int s = 1; s <= 10; s++) {
+			for (int i = 0; i < s; i++) {
+				stats.record("host" + s + "/app", "host" + s, "app", 10, now, now); // NON-NLS
+			}
+		}
+		stats.update(1, now);
+
+		assertEquals(10, stats.getSourcesCount());
+		List<SyslogSourceStats.Source> top = stats.getTop(5);
+		assertEquals(3, top.size());
+		assertEquals("host10", top.get(0).getHost()); // NON-NLS
+		assertEquals("host9", top.get(1).getHost()); // NON-NLS
+		assertEquals("host8", top.get(2).getHost()); // NON-NLS
+		assertEquals(2, stats.topSources(2).length);
+		assertTrue(stats.getTopSources()[0].startsWith("host10/app: 10.0 msg/s")); // NON-NLS
+	}
+
+	@Test
+	public void overflowAndEvictionTest() {
+		SyslogSourceStats stats = new SyslogSourceStats("overflowTest", 2, 5); // NON-NLS
+		long now = System.currentTimeMillis();
+		long old = now - TimeUnit.MINUTES.toMillis(SyslogSourceStats.IDLE_TIMEOUT_MIN + 1);
+		stats.record("host1/app", "host1", "app", 10, old, old); // NON-NLS
+		stats.record("host2/app", "host2", "app", 10, now, now); // NON-NLS
+		stats.record("host3/app", "host3", "app", 10, now, now); // NON-NLS
+		stats.record("host1/app", "host1", "app", 10, old, old); // NON-NLS
+
+		assertEquals(2, stats.getSourcesCount());
+		assertEquals(1, stats.getOverflowMessages());
+
+		stats.update(5, now);
+		assertEquals(1, stats.getSourcesCount());
+		assertEquals("host2", stats.getTop(5).get(0).getHost()); // NON-NLS
+
+		stats.record("host3/app", "host3", "app", 10, now, now); // NON-NLS
+		assertEquals(2, stats.getSourcesCount());
+		assertEquals(1, stats.getOverflowMessages());
+	}
+
+	@Test
+	public void jmxTest() throws Exception {
+		SyslogSourceStats stats = new SyslogSourceStats("jmxTest", 10, 5); // NON-NLS
+		stats.start(0);
+		try {
+			ObjectName name = new ObjectName(
+					"com.jkoolcloud.tnt4j.streams:type=SyslogSourceStats,name=\"jmxTest\""); // NON-NLS
+			assertEquals(0, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "SourcesCount")); // NON-NLS
+		} finally {
+			stats.close();
+		}
+		stats.dump();
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+
+import org.junit.Test;
+
+/**
+ * @version 1.0
+ */
+public class SyslogUtilsTest {
+
+	@Test
+	public void rfc3164HeaderTimestampTest() {
+		long timestamp = SyslogUtils.getHeaderTimestamp("<34>Oct  1 22:14:15 host1 su: 'su root' failed"); // NON-NLS
+		Calendar cal = Calendar.getInstance();
+		int year = cal.get(Calendar.YEAR);
+		cal.setTimeInMillis(timestamp);
+
+		assertEquals(year, cal.get(Calendar.YEAR));
+		assertEquals(Calendar.OCTOBER, cal.get(Calendar.MONTH));
+		assertEquals(1, cal.get(Calendar.DAY_OF_MONTH));
+		assertEquals(22, cal.get(Calendar.HOUR_OF_DAY));
+		assertEquals(14, cal.get(Calendar.MINUTE));
+		assertEquals(15, cal.get(Calendar.SECOND));
+		assertEquals(0, cal.get(Calendar.MILLISECOND));
+
+		assertEquals(timestamp + 1000, SyslogUtils.getHeaderTimestamp("Oct 01 22:14:16 host1 su: message")); // NON-NLS
+	}
+
+	@Test
+	public void rfc5424HeaderTimestampTest() {
+		assertEquals(1065910455003L,
+				SyslogUtils.getHeaderTimestamp("<34>1 2003-10-11T22:14:15.003Z host1 su - ID47 - message")); // NON-NLS
+		assertEquals(1065910455003L - 7 * 3600_000L,
+				SyslogUtils.getHeaderTimestamp("<34>1 2003-10-11T22:14:15.003+07:00 host1 su - - - msg")); // NON-NLS
+	}
+
+	@Test
+	public void noHeaderTimestampTest() {
+		assertEquals(-1, SyslogUtils.getHeaderTimestamp("<34>1 - host1 su - - - message")); // NON-NLS
+		assertEquals(-1, SyslogUtils.getHeaderTimestamp("<34>Foo 11 22:14:15 host1 su: message")); // NON-NLS
+		assertEquals(-1, SyslogUtils.getHeaderTimestamp("<34 no header")); // NON-NLS
+		assertEquals(-1, SyslogUtils.getHeaderTimestamp("<34>Oct")); // NON-NLS
+		assertEquals(-1, SyslogUtils.getHeaderTimestamp("")); // NON-NLS
+		assertEquals(-1, SyslogUtils.getHeaderTimestamp(null));
+	}
+
+	@Test
+	public void facilityStringTest() {
+		// facility codes are priority / 8, e.g. <191> is local7.debug
+		assertEquals("kern", SyslogUtils.getFacilityString(0)); // NON-NLS
+		assertEquals("user", SyslogUtils.getFacilityString(1)); // NON-NLS
+		assertEquals("auth", SyslogUtils.getFacilityString(4)); // NON-NLS
+		assertEquals("local0", SyslogUtils.getFacilityString(16)); // NON-NLS
+		assertEquals("local7", SyslogUtils.getFacilityString(191 / 8)); // NON-NLS
+		assertEquals("UNKNOWN", SyslogUtils.getFacilityString(24)); // NON-NLS
+
+		assertEquals(1, SyslogStreamConstants.DEFAULT_FACILITY);
+		assertEquals("user", SyslogUtils.getFacilityString(SyslogStreamConstants.DEFAULT_FACILITY)); // NON-NLS
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2015-2023, JKOOL LLC.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures bytes allocated by current thread using {@link com.sun.management.ThreadMXBean} thread allocation
+ * counters.
+ *
+ * @version 1.0
+ */
+public final class ThreadAllocations {
+	private static final int WARMUP_ITERATIONS = 20000;
+
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+
+	private ThreadAllocations() {
+	}
+
+	/**
+	 * Checks if JVM supports thread allocation counters.
+	 *
+	 * @return {@code true} if thread allocation counters are supported, {@code false} - otherwise
+	 */
+	public static boolean isSupported() {
+		return THREAD_BEAN != null;
+	}
+
+	/**
+	 * Runs task repeatedly after warm-up and returns average count of bytes allocated by single task run.
+	 *
+	 * @param task
+	 *            task to measure
+	 * @param iterations
+	 *            count of measured task runs
+	 * @return average count of bytes allocated per task run
+	 */
+	public static long perRun(Runnable task, int iterations) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			task.run();
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < iterations; i++) {
+			task.run();
+		}
+		return (THREAD_BEAN.getThreadAllocatedBytes(threadId) - before) / iterations;
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		if (!threadBean.isThreadAllocatedMemorySupported()) {
+			return null;
+		}
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		return threadBean;
+	}
+}